@@ -1,12 +1,16 @@
 package org.example;
 
-import org.checkerframework.checker.units.qual.A;
+import org.example.algorithms.coloring.BiconnectedBlocksThreeColoring;
 import org.example.algorithms.coloring.PlanarThreeColoring;
-import org.example.algorithms.separator.PlanarConnectedSeparatorFindingAlgorithm;
+import org.example.algorithms.coloring.ThreeColoringSolver;
+import org.example.algorithms.coloring.TreeDecompositionThreeColoring;
+import org.example.algorithms.coloring.TrianglePropagationThreeColoring;
+import org.example.algorithms.separator.PlanarSeparatorFindingAlgorithm;
+import org.example.graph.CsrGraph;
+import org.example.graph.VertexIndex;
 import org.jgrapht.Graph;
 import org.jgrapht.alg.interfaces.VertexColoringAlgorithm;
 import org.jgrapht.alg.interfaces.VertexColoringAlgorithm.Coloring;
-import org.jgrapht.generate.CompleteGraphGenerator;
 import org.jgrapht.graph.DefaultEdge;
 import org.jgrapht.graph.SimpleGraph;
 import org.jgrapht.nio.graph6.Graph6Sparse6Importer;
@@ -14,13 +18,21 @@ import org.jgrapht.util.SupplierUtil;
 import picocli.CommandLine;
 import picocli.CommandLine.ArgGroup;
 import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
 import picocli.CommandLine.Option;
+import picocli.CommandLine.ParameterException;
 import picocli.CommandLine.Parameters;
+import picocli.CommandLine.ParseResult;
+import picocli.CommandLine.Spec;
 
 import java.io.File;
 import java.io.StringReader;
-import java.util.Optional;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
 
 public class Main {
 
@@ -31,6 +43,71 @@ public class Main {
         @ArgGroup(exclusive = true)
         private Args args;
 
+        @ArgGroup(exclusive = true)
+        private Engine engine = new Engine();
+
+        @Spec
+        private CommandSpec spec;
+
+        /**
+         * Colorings created by {@link #planarThreeColoring}, possibly from parallel block tasks
+         */
+        private final Queue<PlanarColoring> planarColorings = new ConcurrentLinkedQueue<>();
+
+        @Option(names = {"-s", "--solver"}, defaultValue = "BACKTRACKING",
+                description = "Base case solver: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE})")
+        private ThreeColoringSolver solver;
+
+        @Option(names = {"-p", "--parallel-depth"}, defaultValue = "0",
+                description = "Recursion depth up to which separated subsets are colored in parallel (default: ${DEFAULT-VALUE})")
+        private int parallelDepth;
+
+        @Option(names = {"-c", "--concurrent-separator-colorings"}, defaultValue = "1",
+                description = "Number of separator colorings tried concurrently on parallel recursion levels (default: ${DEFAULT-VALUE})")
+        private int concurrentSeparatorColorings;
+
+        @Option(names = {"--cache-size"}, defaultValue = "0",
+                description = "Number of cached subproblems, 0 disables the cache (default: ${DEFAULT-VALUE})")
+        private int cacheSize;
+
+        @Option(names = {"-k", "--low-degree-reduction"},
+                description = "Remove vertices of degree at most 2 before coloring and reinsert them afterwards")
+        private boolean lowDegreeReduction;
+
+        @Option(names = {"-l", "--fast-paths"},
+                description = "Decide bipartite graphs, triangulations and graphs with odd wheels in linear time")
+        private boolean fastPaths;
+
+        @Option(names = {"--planar-separator"},
+                description = "Split subgraphs with the Lipton-Tarjan planar separator instead of the simple one, "
+                        + "the graph is embedded once and the embedding is restricted to every subgraph")
+        private boolean planarSeparator;
+
+        /**
+         * Engines used instead of the separator recursion on the whole graph, at most one can be chosen
+         */
+        static class Engine {
+            @Option(names = {"-t", "--tree-decomposition"},
+                    description = "Solve with dynamic programming over a tree decomposition instead of separator "
+                            + "recursion, options of the recursion can't be combined with it")
+            private boolean treeDecomposition;
+
+            @Option(names = {"-b", "--blocks"},
+                    description = "Color biconnected blocks separately in parallel and glue their colorings")
+            private boolean blocks;
+
+            @Option(names = {"-r", "--triangle-propagation"},
+                    description = "Merge vertices forced by triangles sharing an edge and color only the quotient "
+                            + "graph")
+            private boolean trianglePropagation;
+        }
+
+        /**
+         * Separator recursion created for a graph of given size
+         */
+        private record PlanarColoring(int vertexCount, PlanarThreeColoring<Integer, ?> algorithm) {
+        }
+
         static class Args {
             @Option(names = {"-f"}, paramLabel = "File", description = "File with graph in graph6 format")
             private File file;
@@ -41,6 +118,73 @@ public class Main {
 
         @Override
         public File call() throws Exception {
+            rejectRecursionOptionsWithTreeDecomposition();
+            Graph<Integer, Integer> compactGraph = readGraph();
+            VertexColoringAlgorithm<Integer> algorithm;
+            if (engine.treeDecomposition) {
+                algorithm = new TreeDecompositionThreeColoring<>(compactGraph, Map.of());
+            } else if (engine.blocks) {
+                algorithm = new BiconnectedBlocksThreeColoring<>(compactGraph, this::planarThreeColoring);
+            } else if (engine.trianglePropagation) {
+                algorithm = new TrianglePropagationThreeColoring<>(compactGraph, this::planarThreeColoring,
+                        quotient -> solver.create(quotient, Map.of()));
+            } else {
+                algorithm = planarThreeColoring(compactGraph);
+            }
+            Coloring<Integer> threeColoring = algorithm.getColoring();
+            for (PlanarColoring planarColoring : planarColorings) {
+                if (planarColorings.size() > 1) {
+                    System.err.println("Subgraph with " + planarColoring.vertexCount() + " vertices:");
+                }
+                printStatistics(planarColoring.algorithm());
+            }
+            if (algorithm instanceof TrianglePropagationThreeColoring<?, ?> trianglePropagationThreeColoring) {
+                System.err.println(trianglePropagationThreeColoring);
+            }
+            if (threeColoring == null) {
+                System.err.println("Three coloring is not possible on a given graph");
+            } else {
+                System.out.println(threeColoring);
+            }
+            return null;
+        }
+
+        /**
+         * Options of the separator recursion would be silently ignored by the tree decomposition.
+         */
+        private void rejectRecursionOptionsWithTreeDecomposition() {
+            if (!engine.treeDecomposition) {
+                return;
+            }
+            ParseResult parseResult = spec.commandLine().getParseResult();
+            for (String option : List.of("--solver", "--parallel-depth", "--concurrent-separator-colorings",
+                    "--cache-size", "--low-degree-reduction", "--fast-paths", "--planar-separator")) {
+                if (parseResult.hasMatchedOption(option)) {
+                    throw new ParameterException(spec.commandLine(),
+                            "Error: " + option + " configures the separator recursion, it can't be combined with "
+                                    + "--tree-decomposition");
+                }
+            }
+        }
+
+        private static void printStatistics(PlanarThreeColoring<Integer, ?> planarThreeColoring) {
+            if (planarThreeColoring.getSubproblemCache() != null) {
+                System.err.println(planarThreeColoring.getSubproblemCache());
+            }
+            if (planarThreeColoring.getFastPathDecision() != null) {
+                System.err.println("Fast path decision: " + planarThreeColoring.getFastPathDecision());
+            }
+            if (planarThreeColoring.getLowDegreeReduction() != null) {
+                System.err.println(planarThreeColoring.getLowDegreeReduction());
+            }
+        }
+
+        /**
+         * Imports the graph6 graph and keeps only its compact copy, the imported graph can be collected on return.
+         * The importer numbers vertices {@code 0 .. n - 1}, so they keep their numbers in the compact graph without
+         * an index allocated per vertex and colorings need no translation.
+         */
+        private Graph<Integer, Integer> readGraph() {
             Graph<Integer, DefaultEdge> graph = new SimpleGraph<>(SupplierUtil.createIntegerSupplier(),
                     SupplierUtil.createDefaultEdgeSupplier(), false);
             Graph6Sparse6Importer<Integer, DefaultEdge> importer = new Graph6Sparse6Importer<>();
@@ -49,13 +193,27 @@ public class Main {
             } else {
                 importer.importGraph(graph, new StringReader(args.graphCode));
             }
-            Coloring<Integer> threeColoring = new PlanarThreeColoring<>(graph).getColoring();
-            if (threeColoring == null) {
-                System.err.println("Three coloring is not possible on a given graph");
-            } else {
-                System.out.println(threeColoring);
+            return CsrGraph.of(graph, VertexIndex.identity(graph.vertexSet().size())).asGraph();
+        }
+
+        private <E> PlanarThreeColoring<Integer, E> planarThreeColoring(Graph<Integer, E> graph) {
+            var algorithm = new PlanarThreeColoring<>(graph, solver)
+                    .withParallelRecursion(ForkJoinPool.commonPool(), parallelDepth)
+                    .withConcurrentSeparatorColorings(concurrentSeparatorColorings);
+            if (cacheSize > 0) {
+                algorithm.withSubproblemCache(cacheSize);
             }
-            return null;
+            if (lowDegreeReduction) {
+                algorithm.withLowDegreeReduction();
+            }
+            if (fastPaths) {
+                algorithm.withFastPaths();
+            }
+            if (planarSeparator) {
+                algorithm.withEmbeddedSeparatorFinding(PlanarSeparatorFindingAlgorithm::new);
+            }
+            planarColorings.add(new PlanarColoring(graph.vertexSet().size(), algorithm));
+            return algorithm;
         }
     }
 
@@ -0,0 +1,101 @@
+package org.example.algorithms.coloring;
+
+import org.jgrapht.Graph;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm;
+
+import java.util.*;
+import java.util.function.BooleanSupplier;
+
+import static org.example.algorithms.coloring.IndexedColoringProblem.UNCOLORED;
+import static org.example.algorithms.coloring.ThreeColoringUtils.NUMBER_OF_COLORS;
+import static org.example.algorithms.coloring.ThreeColoringUtils.emptyThreeColoring;
+
+/**
+ * Backtracking implementation of three coloring. <p>
+ * Vertices are colored one by one and every color is checked against already colored neighbors,
+ * so a conflicting partial assignment is abandoned immediately instead of being verified after all vertices are
+ * colored. The search runs on int indexed adjacency arrays built once from the source graph.
+ *
+ * @param <V> Vertex type
+ * @param <E> Edge type
+ */
+public class BacktrackingThreeColoring<V, E> implements VertexColoringAlgorithm<V> {
+    private static final long STOP_CHECK_INTERVAL_MASK = (1 << 10) - 1;
+
+    private final Graph<V, E> sourceGraph;
+    private final Map<V, Set<Integer>> restrictedColors;
+
+    public BacktrackingThreeColoring(Graph<V, E> sourceGraph, Map<V, Set<Integer>> restrictedColors) {
+        this.sourceGraph = sourceGraph;
+        this.restrictedColors = restrictedColors;
+    }
+
+    @Override
+    public Coloring<V> getColoring() {
+        if (sourceGraph.vertexSet().isEmpty()) {
+            return emptyThreeColoring();
+        }
+        IndexedColoringProblem<V> problem = IndexedColoringProblem.of(sourceGraph, restrictedColors);
+        if (problem.hasEmptyDomain()) {
+            return null;
+        }
+        int[] colors = new int[problem.size()];
+        Arrays.fill(colors, UNCOLORED);
+        boolean found = search(problem.offsets(), problem.neighbors(), problem.allowedColors(), colors, 0, () -> false);
+        return found ? problem.toColoring(colors) : null;
+    }
+
+    /**
+     * Colors vertices {@code firstVertex .. n - 1} in index order, vertices before {@code firstVertex} are already
+     * colored and are never changed. Complexity: O(3^n) in the worst case, every step costs O(deg) of the colored
+     * vertex
+     *
+     * @param colors  colors of vertices, {@link IndexedColoringProblem#UNCOLORED} from {@code firstVertex} onwards;
+     *                filled with a valid coloring if one is found
+     * @param stopped polled periodically, the search gives up when it returns true
+     * @return true if valid coloring was found
+     */
+    static boolean search(int[] offsets, int[] neighbors, int[] allowedColors, int[] colors, int firstVertex,
+                          BooleanSupplier stopped) {
+        int n = allowedColors.length;
+        int current = firstVertex;
+        long steps = 0;
+        while (current >= firstVertex) {
+            if (current == n) {
+                return true;
+            }
+            if ((++steps & STOP_CHECK_INTERVAL_MASK) == 0 && stopped.getAsBoolean()) {
+                return false;
+            }
+            int color = nextFreeColor(current, colors, offsets, neighbors, allowedColors[current]);
+            colors[current] = color;
+            if (color == UNCOLORED) {
+                current--;
+            } else {
+                current++;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the smallest color greater than the current color of the vertex that is allowed and not used by
+     * any colored neighbor, or {@link IndexedColoringProblem#UNCOLORED} if there is none.
+     */
+    static int nextFreeColor(int vertex, int[] colors, int[] offsets, int[] neighbors, int allowedMask) {
+        int usedMask = 0;
+        for (int i = offsets[vertex]; i < offsets[vertex + 1]; i++) {
+            int neighborColor = colors[neighbors[i]];
+            if (neighborColor != UNCOLORED) {
+                usedMask |= 1 << neighborColor;
+            }
+        }
+        int candidates = allowedMask & ~usedMask;
+        for (int color = colors[vertex] + 1; color < NUMBER_OF_COLORS; color++) {
+            if ((candidates & (1 << color)) != 0) {
+                return color;
+            }
+        }
+        return UNCOLORED;
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.algorithms.coloring;
+
+import org.jgrapht.Graph;
+import org.jgrapht.alg.connectivity.BiconnectivityInspector;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+import static org.example.algorithms.coloring.ThreeColoringUtils.NUMBER_OF_COLORS;
+
+/**
+ * Three coloring that solves every biconnected block of the graph separately. <p>
+ * A graph is three colorable exactly when all of its blocks are. Blocks are colored in parallel, then the block-cut
+ * tree is traversed from an arbitrary block of every connected component and each next block has two of its colors
+ * swapped, so that it agrees with the already colored block on their common cut vertex.
+ *
+ * @param <V> Vertex type
+ * @param <E> Edge type
+ */
+public class BiconnectedBlocksThreeColoring<V, E> implements VertexColoringAlgorithm<V> {
+    private final Graph<V, E> sourceGraph;
+    private final Function<Graph<V, E>, VertexColoringAlgorithm<V>> blockColoring;
+    private final ForkJoinPool pool;
+
+    public BiconnectedBlocksThreeColoring(Graph<V, E> sourceGraph) {
+        this(sourceGraph, PlanarThreeColoring::new);
+    }
+
+    public BiconnectedBlocksThreeColoring(Graph<V, E> sourceGraph,
+                                          Function<Graph<V, E>, VertexColoringAlgorithm<V>> blockColoring) {
+        this(sourceGraph, blockColoring, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param blockColoring algorithm coloring a single block
+     * @param pool          pool coloring blocks in parallel
+     */
+    public BiconnectedBlocksThreeColoring(Graph<V, E> sourceGraph,
+                                          Function<Graph<V, E>, VertexColoringAlgorithm<V>> blockColoring,
+                                          ForkJoinPool pool) {
+        this.sourceGraph = sourceGraph;
+        this.blockColoring = blockColoring;
+        this.pool = pool;
+    }
+
+    @Override
+    public Coloring<V> getColoring() {
+        var inspector = new BiconnectivityInspector<>(sourceGraph);
+        List<Graph<V, E>> blocks = new ArrayList<>(inspector.getBlocks());
+        Set<V> cutpoints = inspector.getCutpoints();
+        List<Coloring<V>> blockColorings = colorBlocks(blocks);
+        if (blockColorings == null) {
+            return null;
+        }
+        Map<Graph<V, E>, Coloring<V>> coloringOfBlock = new IdentityHashMap<>();
+        for (int i = 0; i < blocks.size(); i++) {
+            coloringOfBlock.put(blocks.get(i), blockColorings.get(i));
+        }
+        Map<V, Integer> colors = new HashMap<>();
+        Set<Graph<V, E>> visitedBlocks = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Graph<V, E>> queue = new ArrayDeque<>();
+        for (Graph<V, E> rootBlock : blocks) {
+            if (visitedBlocks.add(rootBlock)) {
+                colors.putAll(coloringOfBlock.get(rootBlock).getColors());
+                queue.add(rootBlock);
+            }
+            while (!queue.isEmpty()) {
+                Graph<V, E> block = queue.poll();
+                for (V vertex : block.vertexSet()) {
+                    if (!cutpoints.contains(vertex)) {
+                        continue;
+                    }
+                    for (Graph<V, E> nextBlock : inspector.getBlocks(vertex)) {
+                        if (visitedBlocks.add(nextBlock)) {
+                            glue(coloringOfBlock.get(nextBlock), vertex, colors);
+                            queue.add(nextBlock);
+                        }
+                    }
+                }
+            }
+        }
+        for (V vertex : sourceGraph.vertexSet()) {
+            colors.putIfAbsent(vertex, 0);
+        }
+        return new ColoringImpl<>(colors, NUMBER_OF_COLORS);
+    }
+
+    /**
+     * Colors blocks as parallel tasks. The first block that can't be colored completes the shared failure, which
+     * returns immediately regardless of the order of blocks. Tasks that haven't started yet skip their block, block
+     * colorings already running can't be interrupted and finish in the background with their results ignored.
+     *
+     * @return colorings in order of blocks or null if some block can't be colored
+     */
+    private List<Coloring<V>> colorBlocks(List<Graph<V, E>> blocks) {
+        CompletableFuture<Void> failure = new CompletableFuture<>();
+        List<CompletableFuture<Coloring<V>>> tasks = new ArrayList<>(blocks.size());
+        for (Graph<V, E> block : blocks) {
+            tasks.add(CompletableFuture.supplyAsync(() -> {
+                Coloring<V> coloring = failure.isDone() ? null : blockColoring.apply(block).getColoring();
+                if (coloring == null) {
+                    // completed before the task itself, so joining all tasks always sees the failure
+                    failure.complete(null);
+                }
+                return coloring;
+            }, pool));
+        }
+        CompletableFuture.anyOf(CompletableFuture.allOf(tasks.toArray(CompletableFuture<?>[]::new)), failure).join();
+        if (failure.isDone()) {
+            tasks.forEach(task -> task.cancel(false));
+            return null;
+        }
+        return tasks.stream().map(CompletableFuture::join).toList();
+    }
+
+    /**
+     * Copies block coloring with colors permuted so that the cut vertex keeps its already assigned color.
+     * Complexity: O(size of the block)
+     */
+    private void glue(Coloring<V> blockColoring, V cutVertex, Map<V, Integer> colors) {
+        int from = blockColoring.getColors().get(cutVertex);
+        int to = colors.get(cutVertex);
+        blockColoring.getColors().forEach((vertex, color) ->
+                colors.put(vertex, color == from ? to : color == to ? from : color));
+    }
+}
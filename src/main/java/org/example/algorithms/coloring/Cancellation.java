@@ -0,0 +1,38 @@
+package org.example.algorithms.coloring;
+
+/**
+ * Cooperative cancellation flag for recursive subtasks. A cancelled token cancels all tokens created from it
+ * with {@link #child()}.
+ */
+final class Cancellation {
+    private final Cancellation parent;
+    private volatile boolean cancelled;
+
+    private Cancellation(Cancellation parent) {
+        this.parent = parent;
+    }
+
+    static Cancellation root() {
+        return new Cancellation(null);
+    }
+
+    Cancellation child() {
+        return new Cancellation(this);
+    }
+
+    void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Complexity: O(depth of the token)
+     */
+    boolean isCancelled() {
+        for (Cancellation token = this; token != null; token = token.parent) {
+            if (token.cancelled) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,229 @@
+package org.example.algorithms.coloring;
+
+import org.jgrapht.Graph;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm.Coloring;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm.ColoringImpl;
+
+import java.util.*;
+
+import static org.example.algorithms.coloring.IndexedColoringProblem.ALL_COLORS_MASK;
+import static org.example.algorithms.coloring.IndexedColoringProblem.UNCOLORED;
+import static org.example.algorithms.coloring.ThreeColoringUtils.NUMBER_OF_COLORS;
+
+/**
+ * Partial coloring of the whole source graph shared by all recursion levels of {@link PlanarThreeColoring}. <p>
+ * Stores color of every vertex and a bit mask of colors forbidden by its colored neighbors. Every change is
+ * recorded on a trail, so a failed attempt is rolled back with {@link #undo(int)} in time proportional to the
+ * number of changes instead of rebuilding maps of restricted colors.
+ *
+ * @param <V> Vertex type
+ */
+final class ColoringAssignment<V> {
+    /**
+     * Restricted colors for every forbidden colors mask
+     */
+    private static final List<Set<Integer>> COLORS_OF_MASK = colorsOfMasks();
+
+    private final IndexedColoringProblem<V> graph;
+    private final int[] colors;
+    private final int[] forbiddenColors;
+    /**
+     * Pairs (vertex, previous forbidden colors mask), colored vertices are stored as {@code -vertex - 1}
+     */
+    private int[] trail = new int[16];
+    private int trailSize;
+
+    private ColoringAssignment(IndexedColoringProblem<V> graph, int[] colors, int[] forbiddenColors) {
+        this.graph = graph;
+        this.colors = colors;
+        this.forbiddenColors = forbiddenColors;
+    }
+
+    /**
+     * Complexity: O(n)
+     */
+    static <V> ColoringAssignment<V> uncolored(IndexedColoringProblem<V> graph) {
+        int[] colors = new int[graph.size()];
+        Arrays.fill(colors, UNCOLORED);
+        return new ColoringAssignment<>(graph, colors, new int[graph.size()]);
+    }
+
+    /**
+     * @return assignment sharing colors with this one but with its own trail. Can be used by another thread as long
+     * as both threads change disjoint sets of vertices that are not adjacent.
+     */
+    ColoringAssignment<V> fork() {
+        return new ColoringAssignment<>(graph, colors, forbiddenColors);
+    }
+
+    /**
+     * Complexity: O(n) of the graph of this assignment
+     *
+     * @return independent copy of the current colors with an empty trail
+     */
+    ColoringAssignment<V> copy() {
+        return new ColoringAssignment<>(graph, colors.clone(), forbiddenColors.clone());
+    }
+
+    /**
+     * Assignment of a subgraph whose vertices are all uncolored and whose uncolored neighbors outside are never
+     * colored while the subgraph is, colors forbidden by colored vertices outside the subgraph stay forbidden.
+     * Complexity: O(n + m) of the subgraph
+     *
+     * @return independent assignment of given subgraph with an empty trail
+     */
+    ColoringAssignment<V> restrictTo(Graph<V, ?> subgraph) {
+        var restricted = uncolored(IndexedColoringProblem.of(subgraph, Map.of()));
+        for (int index = 0; index < restricted.graph.size(); index++) {
+            restricted.forbiddenColors[index] = forbiddenColors[graph.index(restricted.graph.vertex(index))];
+        }
+        return restricted;
+    }
+
+    int mark() {
+        return trailSize;
+    }
+
+    /**
+     * Reverts all changes made after given {@link #mark()}.
+     * Complexity: O(number of reverted changes)
+     */
+    void undo(int mark) {
+        while (trailSize > mark) {
+            int previousMask = trail[--trailSize];
+            int vertex = trail[--trailSize];
+            if (vertex < 0) {
+                colors[-vertex - 1] = UNCOLORED;
+            } else {
+                forbiddenColors[vertex] = previousMask;
+            }
+        }
+    }
+
+    /**
+     * Moves changes recorded by a {@link #fork()} of this assignment to this trail, so that they are reverted
+     * by {@link #undo(int)} of this assignment.
+     */
+    void absorb(ColoringAssignment<V> forked) {
+        for (int i = 0; i < forked.trailSize; i += 2) {
+            push(forked.trail[i], forked.trail[i + 1]);
+        }
+        forked.trailSize = 0;
+    }
+
+    /**
+     * Colors vertex and forbids its color on uncolored neighbors.
+     * Complexity: O(deg(v))
+     *
+     * @return false if some uncolored neighbor has no color left
+     */
+    boolean assign(V vertex, int color) {
+        int index = graph.index(vertex);
+        int[] offsets = graph.offsets();
+        int[] neighbors = graph.neighbors();
+        int colorMask = 1 << color;
+        boolean consistent = true;
+        colors[index] = color;
+        push(-index - 1, 0);
+        for (int i = offsets[index]; i < offsets[index + 1]; i++) {
+            int neighbor = neighbors[i];
+            if (colors[neighbor] == UNCOLORED && (forbiddenColors[neighbor] & colorMask) == 0) {
+                push(neighbor, forbiddenColors[neighbor]);
+                forbiddenColors[neighbor] |= colorMask;
+                consistent &= forbiddenColors[neighbor] != ALL_COLORS_MASK;
+            }
+        }
+        return consistent;
+    }
+
+    /**
+     * Complexity: O(sum of degrees of colored vertices)
+     *
+     * @return false if some uncolored vertex has no color left, colors are then assigned only partially and the
+     * caller reverts them with {@link #undo(int)}
+     */
+    boolean assign(Coloring<V> coloring) {
+        boolean consistent = true;
+        for (Map.Entry<V, Integer> entry : coloring.getColors().entrySet()) {
+            consistent &= assign(entry.getKey(), entry.getValue());
+        }
+        return consistent;
+    }
+
+    /**
+     * Assigns whole coloring or nothing.
+     * Complexity: O(sum of degrees of colored vertices)
+     *
+     * @return false if the coloring is null or some uncolored vertex would have no color left, the assignment is
+     * then left unchanged
+     */
+    boolean assignOrUndo(Coloring<V> coloring) {
+        if (coloring == null) {
+            return false;
+        }
+        int mark = mark();
+        if (assign(coloring)) {
+            return true;
+        }
+        undo(mark);
+        return false;
+    }
+
+    /**
+     * Copies colors of given vertices from another assignment, possibly of a subgraph containing the vertices.
+     */
+    void assign(ColoringAssignment<V> other, Collection<V> vertices) {
+        for (V vertex : vertices) {
+            assign(vertex, other.colors[other.graph.index(vertex)]);
+        }
+    }
+
+    /**
+     * Complexity: O(|vertices|)
+     *
+     * @return colors forbidden by colored neighbors, only vertices with at least one forbidden color are included
+     */
+    Map<V, Set<Integer>> restrictedColors(Collection<V> vertices) {
+        Map<V, Set<Integer>> restrictedColors = new HashMap<>();
+        for (V vertex : vertices) {
+            int mask = forbiddenColors[graph.index(vertex)];
+            if (mask != 0) {
+                restrictedColors.put(vertex, COLORS_OF_MASK.get(mask));
+            }
+        }
+        return restrictedColors;
+    }
+
+    /**
+     * Complexity: O(|vertices|)
+     */
+    Coloring<V> toColoring(Collection<V> vertices) {
+        Map<V, Integer> coloring = new HashMap<>();
+        for (V vertex : vertices) {
+            coloring.put(vertex, colors[graph.index(vertex)]);
+        }
+        return new ColoringImpl<>(coloring, NUMBER_OF_COLORS);
+    }
+
+    private void push(int vertex, int previousMask) {
+        if (trailSize + 2 > trail.length) {
+            trail = Arrays.copyOf(trail, 2 * trail.length);
+        }
+        trail[trailSize++] = vertex;
+        trail[trailSize++] = previousMask;
+    }
+
+    private static List<Set<Integer>> colorsOfMasks() {
+        List<Set<Integer>> colorsOfMasks = new ArrayList<>();
+        for (int mask = 0; mask <= ALL_COLORS_MASK; mask++) {
+            Set<Integer> colors = new HashSet<>();
+            for (int color = 0; color < NUMBER_OF_COLORS; color++) {
+                if ((mask & (1 << color)) != 0) {
+                    colors.add(color);
+                }
+            }
+            colorsOfMasks.add(Set.copyOf(colors));
+        }
+        return List.copyOf(colorsOfMasks);
+    }
+}
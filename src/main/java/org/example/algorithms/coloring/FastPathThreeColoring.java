@@ -0,0 +1,351 @@
+package org.example.algorithms.coloring;
+
+import org.jgrapht.Graph;
+import org.jgrapht.Graphs;
+import org.jgrapht.alg.interfaces.PlanarityTestingAlgorithm;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm;
+import org.jgrapht.alg.planar.BoyerMyrvoldPlanarityInspector;
+
+import java.util.*;
+
+import static org.example.algorithms.coloring.IndexedColoringProblem.UNCOLORED;
+import static org.example.algorithms.coloring.ThreeColoringUtils.NUMBER_OF_COLORS;
+
+/**
+ * Linear time recognizers deciding easy instances before the exponential solvers, tried in this order:
+ * <ul>
+ *     <li>bipartite graphs are colored with two colors,</li>
+ *     <li>maximal planar graphs are three colorable exactly when every vertex has even degree (Heawood), the
+ *     coloring is propagated around vertices of the embedding,</li>
+ *     <li>a vertex whose neighborhood contains an odd cycle is a hub of an odd wheel (K4 is the wheel of a
+ *     triangle), so the graph is not three colorable.</li>
+ * </ul>
+ * {@link #getDecision()} tells which recognizer decided the instance, {@link #getColoring()} returns null for
+ * instances that are not colorable and for undecided ones.
+ *
+ * @param <V> Vertex type
+ * @param <E> Edge type
+ */
+public class FastPathThreeColoring<V, E> implements VertexColoringAlgorithm<V> {
+
+    public enum Decision {
+        BIPARTITE,
+        EULERIAN_TRIANGULATION,
+        NON_EULERIAN_TRIANGULATION,
+        ODD_WHEEL,
+        UNDECIDED
+    }
+
+    private final Graph<V, E> sourceGraph;
+    private final IndexedColoringProblem<V> problem;
+    private Decision decision;
+    private Coloring<V> coloring;
+    private List<V> oddWheel = List.of();
+
+    public FastPathThreeColoring(Graph<V, E> sourceGraph) {
+        this.sourceGraph = sourceGraph;
+        this.problem = IndexedColoringProblem.of(sourceGraph, Map.of());
+    }
+
+    @Override
+    public Coloring<V> getColoring() {
+        decide();
+        return coloring;
+    }
+
+    public Decision getDecision() {
+        decide();
+        return decision;
+    }
+
+    /**
+     * @return hub of the odd wheel followed by its odd rim cycle if the decision is {@link Decision#ODD_WHEEL},
+     * otherwise empty list
+     */
+    public List<V> getOddWheel() {
+        decide();
+        return oddWheel;
+    }
+
+    private void decide() {
+        if (decision != null) {
+            return;
+        }
+        int[] colors = twoColoring();
+        if (colors != null) {
+            decide(Decision.BIPARTITE, colors);
+            return;
+        }
+        var embedding = maximalPlanarEmbedding();
+        if (embedding != null) {
+            if (hasOddDegree()) {
+                decide(Decision.NON_EULERIAN_TRIANGULATION, null);
+                return;
+            }
+            colors = triangulationColoring(embedding);
+            if (colors != null) {
+                decide(Decision.EULERIAN_TRIANGULATION, colors);
+                return;
+            }
+        }
+        int[] wheel = findOddWheel();
+        if (wheel != null) {
+            oddWheel = Arrays.stream(wheel).mapToObj(problem::vertex).toList();
+            decide(Decision.ODD_WHEEL, null);
+            return;
+        }
+        decide(Decision.UNDECIDED, null);
+    }
+
+    private void decide(Decision decision, int[] colors) {
+        this.decision = decision;
+        this.coloring = colors == null ? null : problem.toColoring(colors);
+    }
+
+    /**
+     * Complexity: O(n + m)
+     *
+     * @return coloring with colors 0 and 1 or null if the graph has an odd cycle
+     */
+    private int[] twoColoring() {
+        int[] offsets = problem.offsets();
+        int[] neighbors = problem.neighbors();
+        int[] colors = new int[problem.size()];
+        Arrays.fill(colors, UNCOLORED);
+        int[] queue = new int[problem.size()];
+        for (int start = 0; start < problem.size(); start++) {
+            if (colors[start] != UNCOLORED) {
+                continue;
+            }
+            colors[start] = 0;
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = start;
+            while (head < tail) {
+                int v = queue[head++];
+                for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                    int u = neighbors[i];
+                    if (colors[u] == UNCOLORED) {
+                        colors[u] = 1 - colors[v];
+                        queue[tail++] = u;
+                    } else if (colors[u] == colors[v]) {
+                        return null;
+                    }
+                }
+            }
+        }
+        return colors;
+    }
+
+    /**
+     * Simple planar graph with at least 3 vertices is maximal exactly when it has 3n - 6 edges.
+     * Complexity: O(n)
+     *
+     * @return embedding of the graph or null if it is not maximal planar
+     */
+    private PlanarityTestingAlgorithm.Embedding<V, E> maximalPlanarEmbedding() {
+        int n = problem.size();
+        if (n < 3 || problem.neighbors().length / 2 != 3 * n - 6) {
+            return null;
+        }
+        var planarityTest = new BoyerMyrvoldPlanarityInspector<>(sourceGraph);
+        return planarityTest.isPlanar() ? planarityTest.getEmbedding() : null;
+    }
+
+    private boolean hasOddDegree() {
+        int[] offsets = problem.offsets();
+        for (int v = 0; v < problem.size(); v++) {
+            if ((offsets[v + 1] - offsets[v]) % 2 == 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * In a triangulation consecutive neighbors around a vertex are adjacent, so once a vertex and one of its
+     * neighbors are colored, the remaining neighbors alternate between the two other colors. Even degrees make the
+     * alternation consistent around every vertex.
+     * Complexity: O(n)
+     *
+     * @return coloring or null if the propagation met a conflict
+     */
+    private int[] triangulationColoring(PlanarityTestingAlgorithm.Embedding<V, E> embedding) {
+        int[] colors = new int[problem.size()];
+        Arrays.fill(colors, UNCOLORED);
+        int[] queue = new int[problem.size()];
+        int head = 0;
+        int tail = 0;
+        colors[0] = 0;
+        queue[tail++] = 0;
+        boolean first = true;
+        while (head < tail) {
+            int v = queue[head++];
+            V vertex = problem.vertex(v);
+            List<E> rotation = embedding.getEdgesAround(vertex);
+            int[] around = new int[rotation.size()];
+            int coloredPosition = -1;
+            for (int i = 0; i < around.length; i++) {
+                around[i] = problem.index(Graphs.getOppositeVertex(sourceGraph, rotation.get(i), vertex));
+                if (colors[around[i]] != UNCOLORED) {
+                    coloredPosition = i;
+                }
+            }
+            if (first) {
+                colors[around[0]] = 1;
+                coloredPosition = 0;
+                first = false;
+            }
+            int even = colors[around[coloredPosition]];
+            int odd = NUMBER_OF_COLORS - colors[v] - even;
+            for (int j = 0; j < around.length; j++) {
+                int u = around[(coloredPosition + j) % around.length];
+                int color = j % 2 == 0 ? even : odd;
+                if (colors[u] == UNCOLORED) {
+                    colors[u] = color;
+                    queue[tail++] = u;
+                } else if (colors[u] != color) {
+                    return null;
+                }
+            }
+        }
+        return colors;
+    }
+
+    /**
+     * Lists triangles with {@link Triangles} and merges the neighborhood of every vertex with a parity union-find
+     * with union by size.
+     * Joining two neighbors that already have the same parity closes an odd cycle.
+     * Complexity: O(n) for planar graphs
+     *
+     * @return hub followed by an odd cycle of its neighbors or null if there is no odd wheel
+     */
+    private int[] findOddWheel() {
+        int n = problem.size();
+        int[] linkCounts = new int[n + 1];
+        List<int[]> triangles = new ArrayList<>();
+        Triangles.forEach(problem, (a, b, c, edgeAB, edgeBC, edgeAC) -> {
+            triangles.add(new int[]{a, b, c});
+            linkCounts[a + 1]++;
+            linkCounts[b + 1]++;
+            linkCounts[c + 1]++;
+        });
+        for (int v = 0; v < n; v++) {
+            linkCounts[v + 1] += linkCounts[v];
+        }
+        // edges of the neighborhood of v are links[2 * linkCounts[v]] .. links[2 * linkCounts[v + 1] - 1] as pairs
+        int[] links = new int[2 * linkCounts[n]];
+        int[] positions = Arrays.copyOf(linkCounts, n);
+        for (int[] triangle : triangles) {
+            for (int k = 0; k < 3; k++) {
+                int hub = triangle[k];
+                links[2 * positions[hub]] = triangle[(k + 1) % 3];
+                links[2 * positions[hub] + 1] = triangle[(k + 2) % 3];
+                positions[hub]++;
+            }
+        }
+        int[] parents = new int[n];
+        int[] parities = new int[n];
+        int[] sizes = new int[n];
+        int[] marks = new int[n];
+        Arrays.fill(marks, -1);
+        for (int hub = 0; hub < n; hub++) {
+            for (int i = linkCounts[hub]; i < linkCounts[hub + 1]; i++) {
+                int a = links[2 * i];
+                int b = links[2 * i + 1];
+                for (int x : new int[]{a, b}) {
+                    if (marks[x] != hub) {
+                        marks[x] = hub;
+                        parents[x] = x;
+                        parities[x] = 0;
+                        sizes[x] = 1;
+                    }
+                }
+                int rootA = find(a, parents, parities);
+                int rootB = find(b, parents, parities);
+                if (rootA != rootB) {
+                    if (sizes[rootA] > sizes[rootB]) {
+                        int root = rootA;
+                        rootA = rootB;
+                        rootB = root;
+                    }
+                    parents[rootA] = rootB;
+                    parities[rootA] = parities[a] ^ parities[b] ^ 1;
+                    sizes[rootB] += sizes[rootA];
+                } else if (parities[a] == parities[b]) {
+                    return oddWheel(hub, Arrays.copyOfRange(links, 2 * linkCounts[hub], 2 * linkCounts[hub + 1]), a);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds root with path compression, parity of every vertex on the path becomes its parity relative to the root.
+     * The first pass finds the root and the parity of x, the second one points the path at the root.
+     */
+    private static int find(int x, int[] parents, int[] parities) {
+        int root = x;
+        int parity = 0;
+        while (parents[root] != root) {
+            parity ^= parities[root];
+            root = parents[root];
+        }
+        while (parents[x] != root && parents[x] != x) {
+            int parent = parents[x];
+            int parentParity = parity ^ parities[x];
+            parities[x] = parity;
+            parents[x] = root;
+            x = parent;
+            parity = parentParity;
+        }
+        return root;
+    }
+
+    /**
+     * Finds odd cycle in the neighborhood of the hub by breadth first search from a vertex of a non bipartite
+     * component.
+     *
+     * @param links edges of the neighborhood as pairs
+     */
+    private static int[] oddWheel(int hub, int[] links, int start) {
+        Map<Integer, List<Integer>> adjacency = new HashMap<>();
+        for (int i = 0; i < links.length; i += 2) {
+            adjacency.computeIfAbsent(links[i], key -> new ArrayList<>()).add(links[i + 1]);
+            adjacency.computeIfAbsent(links[i + 1], key -> new ArrayList<>()).add(links[i]);
+        }
+        Map<Integer, Integer> depths = new HashMap<>(Map.of(start, 0));
+        Map<Integer, Integer> parents = new HashMap<>();
+        Deque<Integer> queue = new ArrayDeque<>(List.of(start));
+        while (!queue.isEmpty()) {
+            int v = queue.poll();
+            for (int u : adjacency.get(v)) {
+                if (!depths.containsKey(u)) {
+                    depths.put(u, depths.get(v) + 1);
+                    parents.put(u, v);
+                    queue.add(u);
+                } else if (depths.get(u).equals(depths.get(v))) {
+                    List<Integer> pathV = new ArrayList<>(List.of(v));
+                    List<Integer> pathU = new ArrayList<>(List.of(u));
+                    while (!pathV.get(pathV.size() - 1).equals(pathU.get(pathU.size() - 1))) {
+                        pathV.add(parents.get(pathV.get(pathV.size() - 1)));
+                        pathU.add(parents.get(pathU.get(pathU.size() - 1)));
+                    }
+                    pathU.remove(pathU.size() - 1);
+                    Collections.reverse(pathU);
+                    int[] wheel = new int[1 + pathV.size() + pathU.size()];
+                    wheel[0] = hub;
+                    int size = 1;
+                    for (int x : pathV) {
+                        wheel[size++] = x;
+                    }
+                    for (int x : pathU) {
+                        wheel[size++] = x;
+                    }
+                    return wheel;
+                }
+            }
+        }
+        throw new IllegalStateException("Neighborhood of vertex " + hub + " has no odd cycle");
+    }
+}
@@ -0,0 +1,146 @@
+package org.example.algorithms.coloring;
+
+import org.jgrapht.Graph;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+
+import static org.example.algorithms.coloring.IndexedColoringProblem.UNCOLORED;
+import static org.example.algorithms.coloring.ThreeColoringUtils.NUMBER_OF_COLORS;
+import static org.example.algorithms.coloring.ThreeColoringUtils.emptyThreeColoring;
+
+/**
+ * Three coloring with forward checking and DSATUR vertex ordering. <p>
+ * Every vertex keeps a domain of colors that are still possible. The next vertex to color is the uncolored one
+ * with the smallest domain (ties broken by the number of uncolored neighbors), the chosen color is removed from
+ * the domains of its neighbors and the search backtracks as soon as any domain becomes empty.
+ * Domain changes are recorded on a trail and undone on backtracking.
+ *
+ * @param <V> Vertex type
+ * @param <E> Edge type
+ */
+public class ForwardCheckingThreeColoring<V, E> implements VertexColoringAlgorithm<V> {
+    private final Graph<V, E> sourceGraph;
+    private final Map<V, Set<Integer>> restrictedColors;
+
+    private int[] offsets;
+    private int[] neighbors;
+    private int[] domains;
+    private int[] colors;
+    private int[] trail;
+    private int trailSize;
+
+    public ForwardCheckingThreeColoring(Graph<V, E> sourceGraph, Map<V, Set<Integer>> restrictedColors) {
+        this.sourceGraph = sourceGraph;
+        this.restrictedColors = restrictedColors;
+    }
+
+    @Override
+    public Coloring<V> getColoring() {
+        if (sourceGraph.vertexSet().isEmpty()) {
+            return emptyThreeColoring();
+        }
+        IndexedColoringProblem<V> problem = IndexedColoringProblem.of(sourceGraph, restrictedColors);
+        if (problem.hasEmptyDomain()) {
+            return null;
+        }
+        offsets = problem.offsets();
+        neighbors = problem.neighbors();
+        domains = problem.allowedColors().clone();
+        colors = new int[problem.size()];
+        Arrays.fill(colors, UNCOLORED);
+        // every neighbor of every colored vertex can lose at most one color per assignment
+        trail = new int[2 * (neighbors.length + problem.size())];
+        trailSize = 0;
+        return search(problem.size()) ? problem.toColoring(colors) : null;
+    }
+
+    private boolean search(int uncoloredCount) {
+        if (uncoloredCount == 0) {
+            return true;
+        }
+        int vertex = mostConstrainedVertex();
+        int domain = domains[vertex];
+        for (int color = 0; color < NUMBER_OF_COLORS; color++) {
+            if ((domain & (1 << color)) == 0) {
+                continue;
+            }
+            int trailMark = trailSize;
+            colors[vertex] = color;
+            if (removeColorFromNeighbors(vertex, color) && search(uncoloredCount - 1)) {
+                return true;
+            }
+            undoTrail(trailMark);
+            colors[vertex] = UNCOLORED;
+        }
+        return false;
+    }
+
+    /**
+     * Complexity: O(deg(vertex))
+     *
+     * @return false if domain of some neighbor became empty
+     */
+    private boolean removeColorFromNeighbors(int vertex, int color) {
+        int colorMask = 1 << color;
+        boolean consistent = true;
+        for (int i = offsets[vertex]; i < offsets[vertex + 1]; i++) {
+            int neighbor = neighbors[i];
+            if (colors[neighbor] != UNCOLORED || (domains[neighbor] & colorMask) == 0) {
+                continue;
+            }
+            trail[trailSize++] = neighbor;
+            trail[trailSize++] = domains[neighbor];
+            domains[neighbor] &= ~colorMask;
+            if (domains[neighbor] == 0) {
+                consistent = false;
+            }
+        }
+        return consistent;
+    }
+
+    private void undoTrail(int trailMark) {
+        while (trailSize > trailMark) {
+            int oldDomain = trail[--trailSize];
+            int vertex = trail[--trailSize];
+            domains[vertex] = oldDomain;
+        }
+    }
+
+    /**
+     * Complexity: O(n + m)
+     */
+    private int mostConstrainedVertex() {
+        int best = UNCOLORED;
+        int bestDomainSize = Integer.MAX_VALUE;
+        int bestDegree = -1;
+        for (int vertex = 0; vertex < colors.length; vertex++) {
+            if (colors[vertex] != UNCOLORED) {
+                continue;
+            }
+            int domainSize = Integer.bitCount(domains[vertex]);
+            if (domainSize > bestDomainSize) {
+                continue;
+            }
+            int degree = uncoloredDegree(vertex);
+            if (domainSize < bestDomainSize || degree > bestDegree) {
+                best = vertex;
+                bestDomainSize = domainSize;
+                bestDegree = degree;
+            }
+        }
+        return best;
+    }
+
+    private int uncoloredDegree(int vertex) {
+        int degree = 0;
+        for (int i = offsets[vertex]; i < offsets[vertex + 1]; i++) {
+            if (colors[neighbors[i]] == UNCOLORED) {
+                degree++;
+            }
+        }
+        return degree;
+    }
+}
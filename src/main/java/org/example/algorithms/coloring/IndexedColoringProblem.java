@@ -0,0 +1,128 @@
+package org.example.algorithms.coloring;
+
+import org.example.graph.CsrGraph;
+import org.example.graph.CsrGraphView;
+import org.example.graph.InducedSubgraphView;
+import org.example.graph.VertexIndex;
+import org.jgrapht.Graph;
+import org.jgrapht.Graphs;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm.Coloring;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm.ColoringImpl;
+
+import java.util.*;
+
+import static org.example.algorithms.coloring.ThreeColoringUtils.NUMBER_OF_COLORS;
+
+/**
+ * Graph and restricted colors translated to int indices, shared by the base case solvers. <p>
+ * Adjacency is stored as offsets and neighbors arrays: neighbors of vertex {@code i} are
+ * {@code neighbors[offsets[i]] .. neighbors[offsets[i + 1] - 1]}. Allowed colors are stored as bit masks.
+ * Adjacency of a {@link CsrGraphView} is used directly without copying, an {@link InducedSubgraphView} is indexed by
+ * positions of its members without a map allocated per vertex.
+ *
+ * @param <V> Vertex type
+ */
+final class IndexedColoringProblem<V> {
+    static final int ALL_COLORS_MASK = (1 << NUMBER_OF_COLORS) - 1;
+    static final int UNCOLORED = -1;
+
+    private final VertexIndex<V> vertices;
+    private final int[] offsets;
+    private final int[] neighbors;
+    private final int[] allowedColors;
+
+    private IndexedColoringProblem(VertexIndex<V> vertices, int[] offsets, int[] neighbors, int[] allowedColors) {
+        this.vertices = vertices;
+        this.offsets = offsets;
+        this.neighbors = neighbors;
+        this.allowedColors = allowedColors;
+    }
+
+    /**
+     * Complexity: O(n + m)
+     */
+    @SuppressWarnings("unchecked")
+    static <V, E> IndexedColoringProblem<V> of(Graph<V, E> graph, Map<V, Set<Integer>> restrictedColors) {
+        if (graph instanceof CsrGraphView view) {
+            return (IndexedColoringProblem<V>) of(view.csrGraph(), (Map<Integer, Set<Integer>>) restrictedColors);
+        }
+        VertexIndex<V> vertices = graph instanceof InducedSubgraphView<V, E> view ? view.vertexIndex()
+                : VertexIndex.of(graph.vertexSet());
+        int[] offsets = new int[vertices.size() + 1];
+        int[] allowedColors = new int[vertices.size()];
+        for (int i = 0; i < vertices.size(); i++) {
+            V vertex = vertices.vertex(i);
+            offsets[i + 1] = offsets[i] + graph.degreeOf(vertex);
+            allowedColors[i] = allowedColorsMask(restrictedColors.getOrDefault(vertex, Set.of()));
+        }
+        int[] neighbors = new int[offsets[vertices.size()]];
+        for (int i = 0; i < vertices.size(); i++) {
+            V vertex = vertices.vertex(i);
+            int position = offsets[i];
+            for (E edge : graph.edgesOf(vertex)) {
+                neighbors[position++] = vertices.indexOf(Graphs.getOppositeVertex(graph, edge, vertex));
+            }
+        }
+        return new IndexedColoringProblem<>(vertices, offsets, neighbors, allowedColors);
+    }
+
+    /**
+     * Complexity: O(n + |restrictedColors|)
+     */
+    static IndexedColoringProblem<Integer> of(CsrGraph graph, Map<Integer, Set<Integer>> restrictedColors) {
+        int[] allowedColors = new int[graph.vertexCount()];
+        Arrays.fill(allowedColors, ALL_COLORS_MASK);
+        restrictedColors.forEach((vertex, colors) -> allowedColors[vertex] = allowedColorsMask(colors));
+        return new IndexedColoringProblem<>(VertexIndex.identity(graph.vertexCount()), graph.offsets(),
+                graph.neighbors(), allowedColors);
+    }
+
+    static int allowedColorsMask(Set<Integer> restrictedColors) {
+        int mask = ALL_COLORS_MASK;
+        for (int color : restrictedColors) {
+            if (color >= 0 && color < NUMBER_OF_COLORS) {
+                mask &= ~(1 << color);
+            }
+        }
+        return mask;
+    }
+
+    int index(V vertex) {
+        return vertices.indexOf(vertex);
+    }
+
+    V vertex(int index) {
+        return vertices.vertex(index);
+    }
+
+    int size() {
+        return vertices.size();
+    }
+
+    int[] offsets() {
+        return offsets;
+    }
+
+    int[] neighbors() {
+        return neighbors;
+    }
+
+    int[] allowedColors() {
+        return allowedColors;
+    }
+
+    /**
+     * @return true if some vertex has all colors restricted
+     */
+    boolean hasEmptyDomain() {
+        return Arrays.stream(allowedColors).anyMatch(mask -> mask == 0);
+    }
+
+    Coloring<V> toColoring(int[] colors) {
+        Map<V, Integer> coloring = new HashMap<>();
+        for (int i = 0; i < vertices.size(); i++) {
+            coloring.put(vertices.vertex(i), colors[i]);
+        }
+        return new ColoringImpl<>(coloring, NUMBER_OF_COLORS);
+    }
+}
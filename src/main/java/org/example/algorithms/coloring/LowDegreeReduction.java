@@ -0,0 +1,127 @@
+package org.example.algorithms.coloring;
+
+import org.example.graph.InducedSubgraphView;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm.Coloring;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.example.algorithms.coloring.IndexedColoringProblem.ALL_COLORS_MASK;
+import static org.example.algorithms.coloring.IndexedColoringProblem.UNCOLORED;
+import static org.example.algorithms.coloring.ThreeColoringUtils.NUMBER_OF_COLORS;
+
+/**
+ * Removes vertices of degree at most 2 without restricted colors, as long as there are any. <p>
+ * A removed vertex has at most two neighbors left when it is removed, so once the remaining kernel is colored,
+ * removed vertices can be reinserted in reverse order and each of them still has a free color.
+ * Complexity: O(n + m)
+ *
+ * @param <V> Vertex type
+ * @param <E> Edge type
+ */
+public class LowDegreeReduction<V, E> {
+    private static final int MAX_REMOVED_DEGREE = NUMBER_OF_COLORS - 1;
+
+    private final Graph<V, E> sourceGraph;
+    private final IndexedColoringProblem<V> problem;
+    private final int[] removalOrder;
+    private final boolean[] removed;
+
+    public LowDegreeReduction(Graph<V, E> sourceGraph, Map<V, Set<Integer>> restrictedColors) {
+        this.sourceGraph = sourceGraph;
+        this.problem = IndexedColoringProblem.of(sourceGraph, restrictedColors);
+        this.removed = new boolean[problem.size()];
+        this.removalOrder = peel();
+    }
+
+    private int[] peel() {
+        int[] offsets = problem.offsets();
+        int[] neighbors = problem.neighbors();
+        int[] allowedColors = problem.allowedColors();
+        int[] degrees = new int[problem.size()];
+        boolean[] queued = new boolean[problem.size()];
+        int[] queue = new int[problem.size()];
+        int queueSize = 0;
+        for (int v = 0; v < problem.size(); v++) {
+            degrees[v] = offsets[v + 1] - offsets[v];
+            if (degrees[v] <= MAX_REMOVED_DEGREE && allowedColors[v] == ALL_COLORS_MASK) {
+                queue[queueSize++] = v;
+                queued[v] = true;
+            }
+        }
+        int[] order = new int[problem.size()];
+        int removedCount = 0;
+        while (queueSize > 0) {
+            int v = queue[--queueSize];
+            removed[v] = true;
+            order[removedCount++] = v;
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                int neighbor = neighbors[i];
+                if (!removed[neighbor] && --degrees[neighbor] <= MAX_REMOVED_DEGREE && !queued[neighbor]
+                        && allowedColors[neighbor] == ALL_COLORS_MASK) {
+                    queue[queueSize++] = neighbor;
+                    queued[neighbor] = true;
+                }
+            }
+        }
+        return Arrays.copyOf(order, removedCount);
+    }
+
+    /**
+     * @return subgraph induced by vertices that were not removed
+     */
+    public Graph<V, E> getKernel() {
+        List<V> kernelVertices = new ArrayList<>(getKernelSize());
+        for (int v = 0; v < problem.size(); v++) {
+            if (!removed[v]) {
+                kernelVertices.add(problem.vertex(v));
+            }
+        }
+        return InducedSubgraphView.of(sourceGraph, kernelVertices);
+    }
+
+    public int getKernelSize() {
+        return problem.size() - removalOrder.length;
+    }
+
+    public int getRemovedVertexCount() {
+        return removalOrder.length;
+    }
+
+    /**
+     * Reinserts removed vertices in reverse order of removal, each with the smallest color not used by its
+     * already colored neighbors.
+     * Complexity: O(n + m)
+     *
+     * @param kernelColoring coloring of {@link #getKernel()}
+     * @return coloring of the whole graph
+     */
+    public Coloring<V> extend(Coloring<V> kernelColoring) {
+        int[] offsets = problem.offsets();
+        int[] neighbors = problem.neighbors();
+        int[] colors = new int[problem.size()];
+        Arrays.fill(colors, UNCOLORED);
+        kernelColoring.getColors().forEach((vertex, color) -> colors[problem.index(vertex)] = color);
+        for (int i = removalOrder.length - 1; i >= 0; i--) {
+            int v = removalOrder[i];
+            int usedColors = 0;
+            for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                if (colors[neighbors[j]] != UNCOLORED) {
+                    usedColors |= 1 << colors[neighbors[j]];
+                }
+            }
+            colors[v] = Integer.numberOfTrailingZeros(~usedColors);
+        }
+        return problem.toColoring(colors);
+    }
+
+    @Override
+    public String toString() {
+        return "LowDegreeReduction[vertices=" + problem.size() + ", removed=" + getRemovedVertexCount() +
+                ", kernel=" + getKernelSize() + ']';
+    }
+}
@@ -0,0 +1,125 @@
+package org.example.algorithms.coloring;
+
+import org.jgrapht.Graph;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.example.algorithms.coloring.IndexedColoringProblem.UNCOLORED;
+import static org.example.algorithms.coloring.ThreeColoringUtils.NUMBER_OF_COLORS;
+import static org.example.algorithms.coloring.ThreeColoringUtils.emptyThreeColoring;
+
+/**
+ * Parallel version of {@link BacktrackingThreeColoring}. <p>
+ * Top levels of the search tree are split into {@link ForkJoinPool} tasks, one task per valid color of the
+ * vertex at given depth, and idle workers steal remaining subtrees. Below the split depth every task runs the
+ * sequential search. The first task that finds a valid coloring publishes it and all other tasks stop.
+ *
+ * @param <V> Vertex type
+ * @param <E> Edge type
+ */
+public class ParallelBacktrackingThreeColoring<V, E> implements VertexColoringAlgorithm<V> {
+    /**
+     * Number of tasks per worker thread the split depth aims for, so that stealing can balance uneven subtrees
+     */
+    private static final int TASKS_PER_THREAD = 8;
+
+    private final Graph<V, E> sourceGraph;
+    private final Map<V, Set<Integer>> restrictedColors;
+    private final ForkJoinPool pool;
+    private final int splitDepth;
+
+    public ParallelBacktrackingThreeColoring(Graph<V, E> sourceGraph, Map<V, Set<Integer>> restrictedColors) {
+        this(sourceGraph, restrictedColors, ForkJoinPool.commonPool());
+    }
+
+    public ParallelBacktrackingThreeColoring(Graph<V, E> sourceGraph, Map<V, Set<Integer>> restrictedColors,
+                                             ForkJoinPool pool) {
+        this(sourceGraph, restrictedColors, pool, defaultSplitDepth(pool.getParallelism()));
+    }
+
+    public ParallelBacktrackingThreeColoring(Graph<V, E> sourceGraph, Map<V, Set<Integer>> restrictedColors,
+                                             ForkJoinPool pool, int splitDepth) {
+        this.sourceGraph = sourceGraph;
+        this.restrictedColors = restrictedColors;
+        this.pool = pool;
+        this.splitDepth = splitDepth;
+    }
+
+    @Override
+    public Coloring<V> getColoring() {
+        if (sourceGraph.vertexSet().isEmpty()) {
+            return emptyThreeColoring();
+        }
+        IndexedColoringProblem<V> problem = IndexedColoringProblem.of(sourceGraph, restrictedColors);
+        if (problem.hasEmptyDomain()) {
+            return null;
+        }
+        AtomicReference<int[]> solution = new AtomicReference<>();
+        int[] colors = new int[problem.size()];
+        Arrays.fill(colors, UNCOLORED);
+        pool.invoke(new SearchTask(problem, solution, colors, 0));
+        return solution.get() == null ? null : problem.toColoring(solution.get());
+    }
+
+    /**
+     * @return smallest depth for which the number of leaves of the full ternary tree is at least
+     * {@link #TASKS_PER_THREAD} times parallelism
+     */
+    private static int defaultSplitDepth(int parallelism) {
+        int depth = 0;
+        for (long tasks = 1; tasks < (long) TASKS_PER_THREAD * parallelism; tasks *= NUMBER_OF_COLORS) {
+            depth++;
+        }
+        return depth;
+    }
+
+    private class SearchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final IndexedColoringProblem<V> problem;
+        private final AtomicReference<int[]> solution;
+        private final int[] colors;
+        private final int depth;
+
+        SearchTask(IndexedColoringProblem<V> problem, AtomicReference<int[]> solution, int[] colors, int depth) {
+            this.problem = problem;
+            this.solution = solution;
+            this.colors = colors;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            if (solution.get() != null) {
+                return;
+            }
+            if (depth >= splitDepth || depth == problem.size()) {
+                boolean found = BacktrackingThreeColoring.search(problem.offsets(), problem.neighbors(),
+                        problem.allowedColors(), colors, depth, () -> solution.get() != null);
+                if (found) {
+                    solution.compareAndSet(null, colors);
+                }
+                return;
+            }
+            List<SearchTask> subtasks = new ArrayList<>(NUMBER_OF_COLORS);
+            int[] childColors = colors.clone();
+            int color = BacktrackingThreeColoring.nextFreeColor(depth, childColors, problem.offsets(),
+                    problem.neighbors(), problem.allowedColors()[depth]);
+            while (color != UNCOLORED) {
+                childColors[depth] = color;
+                subtasks.add(new SearchTask(problem, solution, childColors.clone(), depth + 1));
+                color = BacktrackingThreeColoring.nextFreeColor(depth, childColors, problem.offsets(),
+                        problem.neighbors(), problem.allowedColors()[depth]);
+            }
+            invokeAll(subtasks);
+        }
+    }
+}
@@ -1,91 +1,431 @@
 package org.example.algorithms.coloring;
 
+import org.example.algorithms.planar.RestrictedEmbedding;
 import org.example.algorithms.separator.SeparatorFindingAlgorithm;
 import org.example.algorithms.separator.SimpleSeparatorFindingAlgorithm;
+import org.example.graph.InducedSubgraphView;
 import org.jgrapht.Graph;
 import org.jgrapht.Graphs;
+import org.jgrapht.alg.interfaces.PlanarityTestingAlgorithm;
 import org.jgrapht.alg.interfaces.VertexColoringAlgorithm;
-import org.jgrapht.alg.util.Pair;
+import org.jgrapht.alg.planar.BoyerMyrvoldPlanarityInspector;
 
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 import static java.util.Collections.unmodifiableMap;
-import static java.util.stream.Collectors.*;
-import static org.example.algorithms.coloring.ThreeColoringUtils.subgraph;
-import static org.example.algorithms.coloring.ThreeColoringUtils.sumOfColorings;
 
 public class PlanarThreeColoring<V, E> implements VertexColoringAlgorithm<V> {
 
     private final Graph<V, E> sourceGraph;
     private final int sourceGraphSize;
+    private final ThreeColoringSolver baseCaseSolver;
+    private ForkJoinPool pool;
+    private int parallelDepthLimit;
+    private int concurrentSeparatorColorings = 1;
+    private SubproblemCache<V> subproblemCache;
+    private boolean reduceLowDegreeVertices;
+    private LowDegreeReduction<V, E> lowDegreeReduction;
+    private boolean tryFastPaths;
+    private FastPathThreeColoring<V, E> fastPaths;
+    private Function<Graph<V, E>, SeparatorFindingAlgorithm<V>> separatorFinding = SimpleSeparatorFindingAlgorithm::new;
+    private Function<PlanarityTestingAlgorithm.Embedding<V, E>, SeparatorFindingAlgorithm<V>> embeddedSeparatorFinding;
+    private PlanarityTestingAlgorithm.Embedding<V, E> embedding;
 
     @Override
     public Coloring<V> getColoring() {
-        return threeColoringForPlanarGraphAndColoredNeighbors(sourceGraph, new HashMap<>());
+        if (tryFastPaths) {
+            fastPaths = new FastPathThreeColoring<>(sourceGraph);
+            if (fastPaths.getDecision() != FastPathThreeColoring.Decision.UNDECIDED) {
+                return fastPaths.getColoring();
+            }
+        }
+        if (reduceLowDegreeVertices) {
+            lowDegreeReduction = new LowDegreeReduction<>(sourceGraph, Map.of());
+            var kernelColoring = colorGraph(lowDegreeReduction.getKernel());
+            return kernelColoring == null ? null : lowDegreeReduction.extend(kernelColoring);
+        }
+        return colorGraph(sourceGraph);
+    }
+
+    private Coloring<V> colorGraph(Graph<V, E> graph) {
+        var assignment = ColoringAssignment.uncolored(IndexedColoringProblem.of(graph, Map.of()));
+        var graphView = InducedSubgraphView.of(graph);
+        if (embeddedSeparatorFinding != null) {
+            var planarityTest = new BoyerMyrvoldPlanarityInspector<>(graph);
+            if (!planarityTest.isPlanar()) {
+                throw new IllegalStateException("Graph is not planar");
+            }
+            embedding = planarityTest.getEmbedding();
+        }
+        boolean colored;
+        if (pool != null && parallelDepthLimit > 0) {
+            colored = pool.invoke(new SubgraphColoringTask(new Subset<>(graphView, Set.of()), assignment, 0,
+                    Cancellation.root()));
+        } else {
+            colored = threeColoringForPlanarGraphAndColoredNeighbors(graphView, assignment, 0, Cancellation.root());
+        }
+        return colored ? assignment.toColoring(graph.vertexSet()) : null;
     }
 
     public PlanarThreeColoring(Graph<V, E> sourceGraph) {
+        this(sourceGraph, ThreeColoringSolver.BACKTRACKING);
+    }
+
+    public PlanarThreeColoring(Graph<V, E> sourceGraph, ThreeColoringSolver baseCaseSolver) {
         this.sourceGraph = sourceGraph;
         this.sourceGraphSize = sourceGraph.vertexSet().size();
+        this.baseCaseSolver = baseCaseSolver;
+    }
+
+    /**
+     * Solves the two subsets separated by a colored separator as parallel fork/join subtasks. As soon as one
+     * subset turns out not to be colorable, the other one is cancelled.
+     *
+     * @param pool       pool running the subtasks
+     * @param depthLimit recursion depth up to which subsets are forked, deeper levels run sequentially
+     */
+    public PlanarThreeColoring<V, E> withParallelRecursion(ForkJoinPool pool, int depthLimit) {
+        this.pool = pool;
+        this.parallelDepthLimit = depthLimit;
+        return this;
     }
 
-    private Coloring<V> threeColoringForPlanarGraphAndColoredNeighbors(Graph<V, E> graph, Map<V, Set<Integer>> restrictedColors) {
+    /**
+     * Tries up to given number of separator colorings concurrently on recursion levels that run in parallel
+     * (see {@link #withParallelRecursion(ForkJoinPool, int)}). Candidates run as tasks of the same pool, so nested
+     * levels wait for each other by work stealing and never use more threads than the pool parallelism.
+     *
+     * @param maxConcurrentColorings number of candidate separator colorings forked at once
+     */
+    public PlanarThreeColoring<V, E> withConcurrentSeparatorColorings(int maxConcurrentColorings) {
+        this.concurrentSeparatorColorings = maxConcurrentColorings;
+        return this;
+    }
+
+    /**
+     * Caches results of subsets solved for different separator colorings. A subset that was already solved
+     * with the same restricted colors of vertices adjacent to the separator is not solved again, this includes
+     * subsets that turned out not to be colorable.
+     *
+     * @param capacity maximal number of cached subproblems, least recently used ones are evicted first
+     */
+    public PlanarThreeColoring<V, E> withSubproblemCache(int capacity) {
+        this.subproblemCache = new SubproblemCache<>(capacity);
+        return this;
+    }
+
+    /**
+     * Removes vertices of degree at most 2 before coloring and colors them after the rest of the graph is colored,
+     * see {@link LowDegreeReduction}.
+     */
+    public PlanarThreeColoring<V, E> withLowDegreeReduction() {
+        this.reduceLowDegreeVertices = true;
+        return this;
+    }
+
+    /**
+     * Tries linear time recognizers of {@link FastPathThreeColoring} before the separator recursion, instances they
+     * decide are not recursed into.
+     */
+    public PlanarThreeColoring<V, E> withFastPaths() {
+        this.tryFastPaths = true;
+        return this;
+    }
+
+    /**
+     * Replaces the algorithm splitting subgraphs in the recursion, by default
+     * {@link SimpleSeparatorFindingAlgorithm} is used.
+     *
+     * @param separatorFinding creates separator of given subgraph
+     */
+    public PlanarThreeColoring<V, E> withSeparatorFinding(
+            Function<Graph<V, E>, SeparatorFindingAlgorithm<V>> separatorFinding) {
+        this.separatorFinding = separatorFinding;
+        this.embeddedSeparatorFinding = null;
+        return this;
+    }
+
+    /**
+     * Replaces the algorithm splitting subgraphs in the recursion by one using their planar embedding. The graph
+     * is embedded once before the recursion and every subgraph gets the embedding restricted to it, so the
+     * planarity test doesn't run again on any level.
+     *
+     * @param separatorFinding creates separator of the subgraph of given embedding
+     */
+    public PlanarThreeColoring<V, E> withEmbeddedSeparatorFinding(
+            Function<PlanarityTestingAlgorithm.Embedding<V, E>, SeparatorFindingAlgorithm<V>> separatorFinding) {
+        this.embeddedSeparatorFinding = separatorFinding;
+        return this;
+    }
+
+    /**
+     * @return recognizer that decided the last {@link #getColoring()} call,
+     * {@link FastPathThreeColoring.Decision#UNDECIDED} if the recursion was needed or null if fast paths are not
+     * enabled by {@link #withFastPaths()}
+     */
+    public FastPathThreeColoring.Decision getFastPathDecision() {
+        return fastPaths == null ? null : fastPaths.getDecision();
+    }
+
+    /**
+     * @return reduction done by the last {@link #getColoring()} call if enabled by
+     * {@link #withLowDegreeReduction()}, otherwise null
+     */
+    public LowDegreeReduction<V, E> getLowDegreeReduction() {
+        return lowDegreeReduction;
+    }
+
+    /**
+     * @return cache enabled by {@link #withSubproblemCache(int)} or null
+     */
+    public SubproblemCache<V> getSubproblemCache() {
+        return subproblemCache;
+    }
+
+    /**
+     * Colors given graph extending colors already present in the assignment. On failure the assignment is left
+     * as it was before the call.
+     *
+     * @return true if the graph was colored
+     */
+    private boolean threeColoringForPlanarGraphAndColoredNeighbors(InducedSubgraphView<V, E> graph,
+                                                                   ColoringAssignment<V> assignment,
+                                                                   int depth, Cancellation cancellation) {
+        if (cancellation.isCancelled()) {
+            return false;
+        }
         if (graph.vertexSet().size() <= Math.sqrt(sourceGraphSize)) {
-            return new ThreeColoringForGraphAndColoredNeighbors<>(graph, unmodifiableMap(restrictedColors)).getColoring();
+            var coloring = baseCaseSolver.create(graph,
+                    unmodifiableMap(assignment.restrictedColors(graph.vertexSet()))).getColoring();
+            return assignment.assignOrUndo(coloring);
         }
-        // TODO: Implement PlanarSeparatorFindingAlgorithm and replace
-        SeparatorFindingAlgorithm<V> separatorFindingAlgorithm = new SimpleSeparatorFindingAlgorithm<>(graph);
+        SeparatorFindingAlgorithm<V> separatorFindingAlgorithm = embeddedSeparatorFinding != null
+                ? embeddedSeparatorFinding.apply(new RestrictedEmbedding<>(embedding, graph))
+                : separatorFinding.apply(graph);
         Set<V> separator = separatorFindingAlgorithm.getSparator();
         Set<V> subsetA = separatorFindingAlgorithm.getSubsetA();
-        Set<V> subsetB = separatorFindingAlgorithm.getSubsetB();
-        Graph<V, E> graphInducedBySeparator = subgraph(graph, separator);
+        var partition = graph.partition(separator, subsetA);
+        Graph<V, E> graphInducedBySeparator = partition.separator();
 
         var threeColoringAlgorithm = new ThreeColoringForGraphAndColoredNeighbors<>(graphInducedBySeparator,
-                unmodifiableMap(restrictedColors));
-        List<Coloring<V>> validSeparatorColorings = threeColoringAlgorithm.getListOfValidColorings();
-        if (validSeparatorColorings.isEmpty()) {
-            return null;
-        }
-        Graph<V, E> graphInducedBySubsetA = subgraph(graph, subsetA);
-        Graph<V, E> graphInducedBySubsetB = subgraph(graph, subsetB);
-        for (Coloring<V> separatorColoring : validSeparatorColorings) {
-            var currentlyRestrictedColors = generateRestrictedColors(separatorColoring);
-            var mergedRestrictedColors = mergeRestrictedColors(restrictedColors, currentlyRestrictedColors);
-            // TODO: idea: introduce map: vertex -> color
-            // and update these this map when returning coloring
-            var subsetAColoring = threeColoringForPlanarGraphAndColoredNeighbors(graphInducedBySubsetA,
-                    mergedRestrictedColors);
-            var subsetBColoring = threeColoringForPlanarGraphAndColoredNeighbors(graphInducedBySubsetB,
-                    mergedRestrictedColors);
-            if (subsetAColoring != null && subsetBColoring != null) {
-                return sumOfColorings(separatorColoring, subsetAColoring, subsetBColoring);
+                unmodifiableMap(assignment.restrictedColors(separator)));
+        Iterator<Coloring<V>> validSeparatorColorings = threeColoringAlgorithm.iterator();
+        if (!validSeparatorColorings.hasNext()) {
+            return false;
+        }
+        var graphInducedBySubsetA = new Subset<>(partition.subsetA(),
+                separatorNeighbors(graph, separator, partition.subsetA().vertexSet()));
+        var graphInducedBySubsetB = new Subset<>(partition.subsetB(),
+                separatorNeighbors(graph, separator, partition.subsetB().vertexSet()));
+        if (depth < parallelDepthLimit && concurrentSeparatorColorings > 1) {
+            return colorWithConcurrentSeparatorColorings(validSeparatorColorings, graph, graphInducedBySubsetA,
+                    graphInducedBySubsetB, assignment, depth, cancellation);
+        }
+        while (validSeparatorColorings.hasNext() && !cancellation.isCancelled()) {
+            if (colorWithSeparatorColoring(validSeparatorColorings.next(), graphInducedBySubsetA,
+                    graphInducedBySubsetB, assignment, depth, cancellation)) {
+                return true;
             }
         }
-        return null;
+        return false;
+    }
+
+    /**
+     * Forks up to {@link #concurrentSeparatorColorings} candidate separator colorings at a time, each on its own
+     * copy of the assignment restricted to the graph, so a fork costs O(n) of the graph instead of the source
+     * graph. The first candidate that extends to both subsets wins, cancels the remaining ones and its colors of
+     * the graph are copied to the assignment.
+     */
+    private boolean colorWithConcurrentSeparatorColorings(Iterator<Coloring<V>> validSeparatorColorings,
+                                                          Graph<V, E> graph, Subset<V, E> graphA,
+                                                          Subset<V, E> graphB, ColoringAssignment<V> assignment,
+                                                          int depth, Cancellation cancellation) {
+        Cancellation candidates = cancellation.child();
+        AtomicReference<ColoringAssignment<V>> winner = new AtomicReference<>();
+        var graphAssignment = assignment.restrictTo(graph);
+        while (validSeparatorColorings.hasNext() && !candidates.isCancelled()) {
+            List<SeparatorColoringTask> window = new ArrayList<>(concurrentSeparatorColorings);
+            while (window.size() < concurrentSeparatorColorings && validSeparatorColorings.hasNext()) {
+                var task = new SeparatorColoringTask(validSeparatorColorings.next(), graphA, graphB,
+                        graphAssignment.copy(), depth, candidates, winner);
+                task.fork();
+                window.add(task);
+            }
+            for (int i = window.size() - 1; i >= 0; i--) {
+                window.get(i).join();
+            }
+            if (winner.get() != null) {
+                assignment.assign(winner.get(), graph.vertexSet());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if given separator coloring was extended to both subsets, otherwise the assignment is left
+     * unchanged
+     */
+    private boolean colorWithSeparatorColoring(Coloring<V> separatorColoring, Subset<V, E> graphA,
+                                               Subset<V, E> graphB, ColoringAssignment<V> assignment,
+                                               int depth, Cancellation cancellation) {
+        int mark = assignment.mark();
+        boolean colored = assignment.assign(separatorColoring) && (depth < parallelDepthLimit
+                ? colorSubsetsInParallel(graphA, graphB, assignment, depth, cancellation)
+                : colorSubsets(graphA, graphB, assignment, depth, cancellation));
+        if (!colored) {
+            assignment.undo(mark);
+        }
+        return colored;
     }
 
     /**
-     * Complexity: O(n), iterates over edges connected to colored vertices (planar graphs have O(n) edges)
+     * @return true if both subsets were colored
      */
-    private Map<V, Set<Integer>> generateRestrictedColors(Coloring<V> coloring) {
-        return coloring.getColors().entrySet().stream()
-                .flatMap(vColorEntry -> sourceGraph.edgesOf(vColorEntry.getKey())
-                        .stream().map(edge -> new Pair<>(
-                                Graphs.getOppositeVertex(sourceGraph, edge, vColorEntry.getKey()),
-                                vColorEntry.getValue()))
-                ).distinct()
-                .collect(groupingBy(Pair::getFirst, mapping(Pair::getSecond, toSet())));
+    private boolean colorSubsets(Subset<V, E> graphA, Subset<V, E> graphB, ColoringAssignment<V> assignment,
+                                 int depth, Cancellation cancellation) {
+        return colorSubset(graphA, assignment, depth + 1, cancellation)
+                && colorSubset(graphB, assignment, depth + 1, cancellation);
+    }
+
+    /**
+     * Forks coloring of subset B and colors subset A in the current thread. Both subtasks share a cancellation
+     * token that is cancelled by whichever of them fails first. Subsets are not adjacent, so both of them write
+     * to the same assignment, subset B records its changes on a forked trail.
+     */
+    private boolean colorSubsetsInParallel(Subset<V, E> graphA, Subset<V, E> graphB,
+                                           ColoringAssignment<V> assignment, int depth, Cancellation cancellation) {
+        Cancellation siblings = cancellation.child();
+        var subsetBAssignment = assignment.fork();
+        var subsetBTask = new SubgraphColoringTask(graphB, subsetBAssignment, depth + 1, siblings);
+        subsetBTask.fork();
+        boolean subsetAColored = colorSubset(graphA, assignment, depth + 1, siblings);
+        if (!subsetAColored) {
+            siblings.cancel();
+        }
+        boolean subsetBColored = subsetBTask.join();
+        if (subsetAColored && subsetBColored) {
+            assignment.absorb(subsetBAssignment);
+        } else {
+            subsetBAssignment.undo(0);
+        }
+        return subsetAColored && subsetBColored;
+    }
+
+    /**
+     * Colors subset using {@link #subproblemCache} if enabled. Results of cancelled subproblems are not cached,
+     * as they don't mean that the subset can't be colored.
+     */
+    private boolean colorSubset(Subset<V, E> subset, ColoringAssignment<V> assignment, int depth,
+                                Cancellation cancellation) {
+        if (subproblemCache == null) {
+            return threeColoringForPlanarGraphAndColoredNeighbors(subset.graph(), assignment, depth, cancellation);
+        }
+        var boundaryRestrictedColors = assignment.restrictedColors(subset.separatorNeighbors());
+        var cached = subproblemCache.get(subset.graph(), boundaryRestrictedColors);
+        if (cached != null) {
+            return cached.isPresent() && assignment.assignOrUndo(cached.get());
+        }
+        boolean colored = threeColoringForPlanarGraphAndColoredNeighbors(subset.graph(), assignment, depth,
+                cancellation);
+        if (colored) {
+            subproblemCache.put(subset.graph(), boundaryRestrictedColors,
+                    assignment.toColoring(subset.graph().vertexSet()));
+        } else if (!cancellation.isCancelled()) {
+            subproblemCache.put(subset.graph(), boundaryRestrictedColors, null);
+        }
+        return colored;
     }
 
     /**
+     * Restricted colors of a subset change only on vertices adjacent to the separator, other restrictions are
+     * fixed by earlier recursion levels. Computed only when {@link #subproblemCache} is enabled.
      * Complexity: O(n)
      */
-    private Map<V, Set<Integer>> mergeRestrictedColors(Map<V, Set<Integer>> c1,Map<V, Set<Integer>>c2) {
-        return Stream.of(c1, c2)
-                .flatMap(vSetMap -> vSetMap.entrySet().stream())
-                .collect(groupingBy(Map.Entry::getKey, mapping(Map.Entry::getValue,
-                        Collectors.flatMapping(Collection::stream, toSet()))));
+    private Set<V> separatorNeighbors(Graph<V, E> graph, Set<V> separator, Set<V> subset) {
+        if (subproblemCache == null) {
+            return Set.of();
+        }
+        Set<V> neighbors = new HashSet<>();
+        for (V v : separator) {
+            for (V neighbor : Graphs.neighborListOf(graph, v)) {
+                if (subset.contains(neighbor)) {
+                    neighbors.add(neighbor);
+                }
+            }
+        }
+        return neighbors;
+    }
+
+    /**
+     * Subgraph induced by a separated subset together with its vertices adjacent to the separator
+     */
+    private record Subset<V, E>(InducedSubgraphView<V, E> graph, Set<V> separatorNeighbors) {
+    }
+
+    private class SubgraphColoringTask extends RecursiveTask<Boolean> {
+        private static final long serialVersionUID = 1L;
+
+        private final Subset<V, E> subset;
+        private final ColoringAssignment<V> assignment;
+        private final int depth;
+        private final Cancellation cancellation;
+
+        SubgraphColoringTask(Subset<V, E> subset, ColoringAssignment<V> assignment, int depth,
+                             Cancellation cancellation) {
+            this.subset = subset;
+            this.assignment = assignment;
+            this.depth = depth;
+            this.cancellation = cancellation;
+        }
+
+        @Override
+        protected Boolean compute() {
+            boolean colored = colorSubset(subset, assignment, depth, cancellation);
+            if (!colored) {
+                cancellation.cancel();
+            }
+            return colored;
+        }
+    }
+
+    private class SeparatorColoringTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Coloring<V> separatorColoring;
+        private final Subset<V, E> graphA;
+        private final Subset<V, E> graphB;
+        private final ColoringAssignment<V> assignment;
+        private final int depth;
+        private final Cancellation candidates;
+        private final AtomicReference<ColoringAssignment<V>> winner;
+
+        SeparatorColoringTask(Coloring<V> separatorColoring, Subset<V, E> graphA, Subset<V, E> graphB,
+                              ColoringAssignment<V> assignment, int depth, Cancellation candidates,
+                              AtomicReference<ColoringAssignment<V>> winner) {
+            this.separatorColoring = separatorColoring;
+            this.graphA = graphA;
+            this.graphB = graphB;
+            this.assignment = assignment;
+            this.depth = depth;
+            this.candidates = candidates;
+            this.winner = winner;
+        }
+
+        @Override
+        protected void compute() {
+            if (candidates.isCancelled()) {
+                return;
+            }
+            if (colorWithSeparatorColoring(separatorColoring, graphA, graphB, assignment, depth, candidates)
+                    && winner.compareAndSet(null, assignment)) {
+                candidates.cancel();
+            }
+        }
     }
 }
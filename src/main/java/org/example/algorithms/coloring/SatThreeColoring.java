@@ -0,0 +1,91 @@
+package org.example.algorithms.coloring;
+
+import org.example.algorithms.sat.CdclSolver;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.example.algorithms.coloring.ThreeColoringUtils.NUMBER_OF_COLORS;
+import static org.example.algorithms.coloring.ThreeColoringUtils.emptyThreeColoring;
+
+/**
+ * Three coloring encoded as CNF and solved with {@link CdclSolver}. <p>
+ * Variable {@code x(v, c)} states that vertex {@code v} has color {@code c}. Every vertex gets at least one of its
+ * allowed colors and at most one color, restricted colors become negative unit clauses and every edge forbids
+ * equal colors on its endpoints.
+ *
+ * @param <V> Vertex type
+ * @param <E> Edge type
+ */
+public class SatThreeColoring<V, E> implements VertexColoringAlgorithm<V> {
+    private final Graph<V, E> sourceGraph;
+    private final Map<V, Set<Integer>> restrictedColors;
+
+    public SatThreeColoring(Graph<V, E> sourceGraph, Map<V, Set<Integer>> restrictedColors) {
+        this.sourceGraph = sourceGraph;
+        this.restrictedColors = restrictedColors;
+    }
+
+    @Override
+    public Coloring<V> getColoring() {
+        if (sourceGraph.vertexSet().isEmpty()) {
+            return emptyThreeColoring();
+        }
+        IndexedColoringProblem<V> problem = IndexedColoringProblem.of(sourceGraph, restrictedColors);
+        if (problem.hasEmptyDomain()) {
+            return null;
+        }
+        CdclSolver solver = new CdclSolver(NUMBER_OF_COLORS * problem.size());
+        encode(problem, solver);
+        if (!solver.solve()) {
+            return null;
+        }
+        int[] colors = new int[problem.size()];
+        for (int vertex = 0; vertex < problem.size(); vertex++) {
+            for (int color = 0; color < NUMBER_OF_COLORS; color++) {
+                if (solver.value(variable(vertex, color))) {
+                    colors[vertex] = color;
+                }
+            }
+        }
+        return problem.toColoring(colors);
+    }
+
+    /**
+     * Complexity: O(n + m) clauses
+     */
+    private static void encode(IndexedColoringProblem<?> problem, CdclSolver solver) {
+        int[] offsets = problem.offsets();
+        int[] neighbors = problem.neighbors();
+        int[] allowedColors = problem.allowedColors();
+        for (int vertex = 0; vertex < problem.size(); vertex++) {
+            int[] atLeastOne = new int[Integer.bitCount(allowedColors[vertex])];
+            int size = 0;
+            for (int color = 0; color < NUMBER_OF_COLORS; color++) {
+                if ((allowedColors[vertex] & (1 << color)) != 0) {
+                    atLeastOne[size++] = variable(vertex, color);
+                } else {
+                    solver.addClause(-variable(vertex, color));
+                }
+                for (int otherColor = color + 1; otherColor < NUMBER_OF_COLORS; otherColor++) {
+                    solver.addClause(-variable(vertex, color), -variable(vertex, otherColor));
+                }
+            }
+            solver.addClause(atLeastOne);
+            for (int i = offsets[vertex]; i < offsets[vertex + 1]; i++) {
+                int neighbor = neighbors[i];
+                if (neighbor > vertex) {
+                    for (int color = 0; color < NUMBER_OF_COLORS; color++) {
+                        solver.addClause(-variable(vertex, color), -variable(neighbor, color));
+                    }
+                }
+            }
+        }
+    }
+
+    private static int variable(int vertex, int color) {
+        return NUMBER_OF_COLORS * vertex + color + 1;
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.algorithms.coloring;
+
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm.Coloring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of solved subproblems of {@link PlanarThreeColoring} with least recently used eviction. <p>
+ * A subproblem is identified by the subgraph instance and by restricted colors of its boundary vertices, i.e.
+ * vertices adjacent to vertices outside the subgraph. Only boundary vertices can be restricted by colored
+ * separators, so two subproblems with equal keys have equal answers. Subproblems without a coloring are
+ * stored as nogoods.
+ *
+ * @param <V> Vertex type
+ */
+public class SubproblemCache<V> {
+    private final Map<Key<V>, Optional<Coloring<V>>> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong nogoodHits = new AtomicLong();
+
+    public SubproblemCache(int capacity) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key<V>, Optional<Coloring<V>>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * @return null if subproblem is not cached, empty optional for nogood, otherwise coloring of the subgraph
+     */
+    Optional<Coloring<V>> get(Object subgraph, Map<V, Set<Integer>> boundaryRestrictedColors) {
+        Optional<Coloring<V>> result;
+        synchronized (entries) {
+            result = entries.get(new Key<>(subgraph, boundaryRestrictedColors));
+        }
+        if (result == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+            if (result.isEmpty()) {
+                nogoodHits.incrementAndGet();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param coloring coloring of the subgraph or null if the subgraph can't be colored
+     */
+    void put(Object subgraph, Map<V, Set<Integer>> boundaryRestrictedColors, Coloring<V> coloring) {
+        synchronized (entries) {
+            entries.put(new Key<>(subgraph, boundaryRestrictedColors), Optional.ofNullable(coloring));
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return number of hits that skipped a subproblem known to have no coloring
+     */
+    public long getNogoodHits() {
+        return nogoodHits.get();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SubproblemCache[hits=" + getHits() + ", misses=" + getMisses() + ", nogoodHits=" + getNogoodHits() +
+                ", size=" + size() + ']';
+    }
+
+    /**
+     * Subgraph is compared by identity, restricted colors by value
+     */
+    private record Key<V>(Object subgraph, Map<V, Set<Integer>> boundaryRestrictedColors) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key<?> key && subgraph == key.subgraph &&
+                    boundaryRestrictedColors.equals(key.boundaryRestrictedColors);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(subgraph) + boundaryRestrictedColors.hashCode();
+        }
+    }
+}
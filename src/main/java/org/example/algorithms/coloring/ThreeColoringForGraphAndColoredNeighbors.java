@@ -1,22 +1,28 @@
 package org.example.algorithms.coloring;
 
 import org.jgrapht.Graph;
-import org.jgrapht.Graphs;
 import org.jgrapht.alg.interfaces.VertexColoringAlgorithm;
-import org.jgrapht.alg.util.Pair;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm.Coloring;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static java.util.stream.Collectors.*;
+import static org.example.algorithms.coloring.IndexedColoringProblem.UNCOLORED;
 import static org.example.algorithms.coloring.ThreeColoringUtils.*;
 
 /**
- * Brute force implementation of three coloring
+ * Enumerates all valid three colorings of a graph whose vertices may have restricted colors. <p>
+ * Colorings are produced by backtracking, every color is checked against already colored neighbors with
+ * {@link BacktrackingThreeColoring#nextFreeColor}, so a conflicting partial assignment is abandoned immediately
+ * instead of being completed and verified against all edges.
+ *
  * @param <V> Vertex type
  * @param <E> Edge type
  */
-public class ThreeColoringForGraphAndColoredNeighbors<V, E> implements VertexColoringAlgorithm<V> {
+public class ThreeColoringForGraphAndColoredNeighbors<V, E> implements VertexColoringAlgorithm<V>, Iterable<Coloring<V>> {
     private final Graph<V, E> sourceGraph;
     private final Map<V, Set<Integer>> restrictedColors;
 
@@ -27,95 +33,82 @@ public class ThreeColoringForGraphAndColoredNeighbors<V, E> implements VertexCol
 
     @Override
     public Coloring<V> getColoring() {
-        List<Coloring<V>> validColorings = getListOfValidColorings();
-        if (validColorings.isEmpty()) {
-            return null;
-        }
-        return validColorings.get(0);
+        return validColorings().findFirst().orElse(null);
     }
 
     public List<Coloring<V>> getListOfValidColorings() {
-        boolean coloringImpossible = restrictedColors.values().stream()
-                .anyMatch(restrictedColors -> restrictedColors.size() == NUMBER_OF_COLORS);
-        if (coloringImpossible){
-            return List.of();
-        }
-        if (sourceGraph.vertexSet().isEmpty()) {
-            return List.of(emptyThreeColoring());
-        }
-        List<Coloring<V>> validColorings = new ArrayList<>();
-        Stack<VertexWithColor<V, Integer>> colorsToVerify = new Stack<>();
-        LinkedList<V> verticesList = new LinkedList<>(sourceGraph.vertexSet());
-        Map<V, Integer> coloredVertices = new HashMap<>();
-
-        V firstVertex = verticesList.get(0);
-        allowedColors(firstVertex).forEach(color -> colorsToVerify.push(new VertexWithColor<>(firstVertex, color)));
-        var iterator = verticesList.listIterator();
-        iterator.next();
-        while (!colorsToVerify.isEmpty()) {
-            VertexWithColor<V, Integer> currentVertexWithColor = colorsToVerify.pop();
-            resetIteratorAfterElementBackwards(iterator, currentVertexWithColor.getVertex());
-            coloredVertices.put(currentVertexWithColor.getVertex(), currentVertexWithColor.getColor());
-            fillAllColorsTillTheEnd(colorsToVerify, coloredVertices, iterator);
-            if (verifyColoring(coloredVertices)) {
-                Coloring<V> validColoring = new ColoringImpl<>(toImmutableMap(coloredVertices), NUMBER_OF_COLORS);
-                validColorings.add(validColoring);
-            }
-        }
-        return validColorings;
+        return validColorings().collect(toList());
     }
 
-    private boolean verifyColoring(Map<V, Integer> coloredVertices) {
-        return sourceGraph.edgeSet().stream()
-                .noneMatch(e -> coloredVertices.get(sourceGraph.getEdgeSource(e))
-                        .equals(coloredVertices.get(sourceGraph.getEdgeTarget(e))));
+    /**
+     * Lazily enumerates valid colorings. Each coloring is produced on demand, so memory is bounded by
+     * the search depth instead of the number of valid colorings.
+     */
+    public Stream<Coloring<V>> validColorings() {
+        return StreamSupport.stream(spliterator(), false);
     }
 
-    private static <V> void resetIteratorAfterElementBackwards(ListIterator<V> iterator, V elementResetTo) {
-        while (iterator.hasPrevious()) {
-            V currentElement = iterator.previous();
-            if (currentElement.equals(elementResetTo)) {
-                iterator.next();
-                return;
-            }
-        }
-        throw new IllegalStateException("Element: " + elementResetTo + " not found.");
-    }
-
-    private void fillAllColorsTillTheEnd(Stack<VertexWithColor<V, Integer>> colorsToVerify,
-                                                    Map<V, Integer> coloredVertices, ListIterator<V> iterator) {
-        while (iterator.hasNext()) {
-            V currentVertex = iterator.next();
-            coloredVertices.put(currentVertex, allowedColors(currentVertex).get(0));
-            allowedColors(currentVertex).stream()
-                    .skip(1)
-                    .forEach(color -> colorsToVerify.push(new VertexWithColor<>(currentVertex, color)));
-        }
+    @Override
+    public Iterator<Coloring<V>> iterator() {
+        return Spliterators.iterator(spliterator());
     }
 
-    private List<Integer> allowedColors(V vertex) {
-        Set<Integer> disallowedColors = restrictedColors.getOrDefault(vertex, Set.of());
-        return Stream.of(0, 1, 2).filter(color -> !disallowedColors.contains(color)).collect(toList());
+    @Override
+    public Spliterator<Coloring<V>> spliterator() {
+        return new ValidColoringsSpliterator();
     }
 
-    private static class VertexWithColor<A, B> extends Pair<A, B> {
+    private class ValidColoringsSpliterator extends Spliterators.AbstractSpliterator<Coloring<V>> {
+        private IndexedColoringProblem<V> problem;
+        private int[] colors;
+        private int current;
+        private boolean emptyColoringPending;
+
+        ValidColoringsSpliterator() {
+            super(Long.MAX_VALUE, Spliterator.NONNULL | Spliterator.DISTINCT);
+            if (sourceGraph.vertexSet().isEmpty()) {
+                emptyColoringPending = restrictedColors.values().stream()
+                        .noneMatch(colors -> colors.size() == NUMBER_OF_COLORS);
+                current = UNCOLORED;
+                return;
+            }
+            problem = IndexedColoringProblem.of(sourceGraph, restrictedColors);
+            colors = new int[problem.size()];
+            Arrays.fill(colors, UNCOLORED);
+            current = problem.hasEmptyDomain() ? UNCOLORED : 0;
+        }
 
         /**
-         * Create a new pair
-         *
-         * @param a the first element
-         * @param b the second element
+         * Resumes the search from the last vertex of the previously produced coloring. Complexity: O(3^n) in the
+         * worst case for all colorings, every step costs O(deg) of the colored vertex
          */
-        public VertexWithColor(A a, B b) {
-            super(a, b);
-        }
-
-        public A getVertex() {
-            return first;
-        }
-
-        public B getColor() {
-            return second;
+        @Override
+        public boolean tryAdvance(Consumer<? super Coloring<V>> action) {
+            if (emptyColoringPending) {
+                emptyColoringPending = false;
+                action.accept(emptyThreeColoring());
+                return true;
+            }
+            if (current < 0) {
+                return false;
+            }
+            int[] offsets = problem.offsets();
+            int[] neighbors = problem.neighbors();
+            int[] allowedColors = problem.allowedColors();
+            while (current >= 0) {
+                int color = BacktrackingThreeColoring.nextFreeColor(current, colors, offsets, neighbors,
+                        allowedColors[current]);
+                colors[current] = color;
+                if (color == UNCOLORED) {
+                    current--;
+                } else if (current == colors.length - 1) {
+                    action.accept(problem.toColoring(colors));
+                    return true;
+                } else {
+                    current++;
+                }
+            }
+            return false;
         }
     }
 }
@@ -0,0 +1,51 @@
+package org.example.algorithms.coloring;
+
+import org.jgrapht.Graph;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Solvers available for base cases of {@link PlanarThreeColoring}.
+ */
+public enum ThreeColoringSolver {
+    BRUTE_FORCE {
+        @Override
+        public <V, E> VertexColoringAlgorithm<V> create(Graph<V, E> graph, Map<V, Set<Integer>> restrictedColors) {
+            return new ThreeColoringForGraphAndColoredNeighbors<>(graph, restrictedColors);
+        }
+    },
+    BACKTRACKING {
+        @Override
+        public <V, E> VertexColoringAlgorithm<V> create(Graph<V, E> graph, Map<V, Set<Integer>> restrictedColors) {
+            return new BacktrackingThreeColoring<>(graph, restrictedColors);
+        }
+    },
+    PARALLEL_BACKTRACKING {
+        @Override
+        public <V, E> VertexColoringAlgorithm<V> create(Graph<V, E> graph, Map<V, Set<Integer>> restrictedColors) {
+            return new ParallelBacktrackingThreeColoring<>(graph, restrictedColors);
+        }
+    },
+    FORWARD_CHECKING {
+        @Override
+        public <V, E> VertexColoringAlgorithm<V> create(Graph<V, E> graph, Map<V, Set<Integer>> restrictedColors) {
+            return new ForwardCheckingThreeColoring<>(graph, restrictedColors);
+        }
+    },
+    SAT {
+        @Override
+        public <V, E> VertexColoringAlgorithm<V> create(Graph<V, E> graph, Map<V, Set<Integer>> restrictedColors) {
+            return new SatThreeColoring<>(graph, restrictedColors);
+        }
+    },
+    TREE_DECOMPOSITION {
+        @Override
+        public <V, E> VertexColoringAlgorithm<V> create(Graph<V, E> graph, Map<V, Set<Integer>> restrictedColors) {
+            return new TreeDecompositionThreeColoring<>(graph, restrictedColors);
+        }
+    };
+
+    public abstract <V, E> VertexColoringAlgorithm<V> create(Graph<V, E> graph, Map<V, Set<Integer>> restrictedColors);
+}
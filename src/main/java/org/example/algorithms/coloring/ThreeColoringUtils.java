@@ -1,5 +1,6 @@
 package org.example.algorithms.coloring;
 
+import org.example.graph.InducedSubgraphView;
 import org.jgrapht.Graph;
 import org.jgrapht.Graphs;
 import org.jgrapht.alg.interfaces.VertexColoringAlgorithm.Coloring;
@@ -39,17 +40,21 @@ public class ThreeColoringUtils {
         return map.entrySet().stream().collect(toMap(Map.Entry::getKey, Map.Entry::getValue));
     }
 
+    /**
+     * Copies subgraph induced by given vertices. Subgraphs that are only read should use
+     * {@link InducedSubgraphView} instead.
+     * Complexity: O(sum of degrees of subgraph vertices)
+     */
     public static <V, E> Graph<V, E> subgraph(Graph<V, E> graph, Set<V> subgraphVertices) {
-        if (graph.edgeSet().isEmpty()) {
-            return graph;
-        }
         Graph<V, E> subgraph = new SimpleGraph<>(null, graph.getEdgeSupplier(), false);
         Graphs.addAllVertices(subgraph, subgraphVertices);
-        Set<E> inducedEdges = graph.edgeSet().stream()
-                .filter(e -> subgraphVertices.contains(graph.getEdgeSource(e)) &&
-                        subgraphVertices.contains(graph.getEdgeTarget(e)))
-                .collect(toSet());
-        Graphs.addAllEdges(subgraph, graph, inducedEdges);
+        for (V vertex : subgraphVertices) {
+            for (E edge : graph.edgesOf(vertex)) {
+                if (vertex.equals(graph.getEdgeSource(edge)) && subgraphVertices.contains(graph.getEdgeTarget(edge))) {
+                    subgraph.addEdge(graph.getEdgeSource(edge), graph.getEdgeTarget(edge), edge);
+                }
+            }
+        }
 
         return subgraph;
     }
@@ -0,0 +1,434 @@
+package org.example.algorithms.coloring;
+
+import org.example.algorithms.planar.RestrictedEmbedding;
+import org.example.algorithms.separator.PlanarSeparatorFindingAlgorithm;
+import org.example.algorithms.separator.SeparatorFindingAlgorithm;
+import org.example.algorithms.separator.SimpleSeparatorFindingAlgorithm;
+import org.example.graph.InducedSubgraphView;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm;
+import org.jgrapht.alg.planar.BoyerMyrvoldPlanarityInspector;
+
+import java.util.*;
+import java.util.function.Function;
+
+import static org.example.algorithms.coloring.IndexedColoringProblem.UNCOLORED;
+import static org.example.algorithms.coloring.ThreeColoringUtils.NUMBER_OF_COLORS;
+
+/**
+ * Three coloring by dynamic programming over a tree decomposition built from recursive separators. <p>
+ * Every node of the decomposition owns the vertices of a separator of its subgraph (leaves own their whole
+ * subgraph) and has one child per separated subset. Boundary of a node are the vertices outside its subgraph
+ * adjacent to it, all of them are owned by ancestors, and its bag is the boundary together with its own
+ * vertices. For every coloring of the boundary, encoded in base 3, the node stores one bit telling if the coloring
+ * extends to the subgraph of the node. Tables are computed bottom-up by backtracking over proper colorings of the
+ * bag only, and a node frees the tables of its subtree once its own table is built. A witness coloring is read
+ * top-down, tables of children are computed again right before colors of their parent are chosen, so a node at
+ * depth d is computed d + 1 times but only tables along one path of the tree are kept. <p>
+ * Node whose boundary is larger than {@link #MAX_BOUNDARY_SIZE} gets no table, whenever its parent asks about a
+ * coloring of its boundary, its own vertices are colored again by the separator recursion down to the nodes with
+ * tables. By default planar graphs are split by the Lipton-Tarjan separator of their embedding restricted to every
+ * subgraph, other graphs by {@link SimpleSeparatorFindingAlgorithm}.
+ * Complexity: O(n * d * 3^w) time, where w is the largest bag size and d the depth of the decomposition, if no
+ * boundary exceeds {@link #MAX_BOUNDARY_SIZE}
+ *
+ * @param <V> Vertex type
+ * @param <E> Edge type
+ */
+public class TreeDecompositionThreeColoring<V, E> implements VertexColoringAlgorithm<V> {
+    /**
+     * Largest boundary that gets a table, 3^12 bits take 64 kB, nodes with larger boundaries are recursed into
+     */
+    public static final int MAX_BOUNDARY_SIZE = 12;
+    private static final int DEFAULT_LEAF_SIZE = 4;
+
+    private final IndexedColoringProblem<V> problem;
+    private final Node root;
+    /**
+     * Position of a vertex in the bag of the node being processed, -1 for other vertices
+     */
+    private final int[] bagPositions;
+
+    public TreeDecompositionThreeColoring(Graph<V, E> sourceGraph, Map<V, Set<Integer>> restrictedColors) {
+        this(sourceGraph, restrictedColors, defaultSeparatorFinding(sourceGraph), DEFAULT_LEAF_SIZE);
+    }
+
+    /**
+     * Embeds the graph once, subgraphs of the decomposition get the embedding restricted to them.
+     */
+    private static <V, E> Function<Graph<V, E>, SeparatorFindingAlgorithm<V>> defaultSeparatorFinding(
+            Graph<V, E> sourceGraph) {
+        var planarityTest = new BoyerMyrvoldPlanarityInspector<>(sourceGraph);
+        if (!planarityTest.isPlanar()) {
+            return SimpleSeparatorFindingAlgorithm::new;
+        }
+        var embedding = planarityTest.getEmbedding();
+        return graph -> new PlanarSeparatorFindingAlgorithm<>(new RestrictedEmbedding<>(embedding, graph));
+    }
+
+    /**
+     * @param separatorFinding separator algorithm used to split subgraphs of the decomposition
+     * @param leafSize         subgraphs up to this size become leaves of the decomposition
+     */
+    public TreeDecompositionThreeColoring(Graph<V, E> sourceGraph, Map<V, Set<Integer>> restrictedColors,
+                                          Function<Graph<V, E>, SeparatorFindingAlgorithm<V>> separatorFinding,
+                                          int leafSize) {
+        this.problem = IndexedColoringProblem.of(sourceGraph, restrictedColors);
+        this.bagPositions = new int[problem.size()];
+        Arrays.fill(bagPositions, -1);
+        this.root = problem.size() == 0 ? null
+                : decompose(InducedSubgraphView.of(sourceGraph), separatorFinding, leafSize);
+    }
+
+    /**
+     * Decision query.
+     *
+     * @return true if the graph has a coloring respecting restricted colors
+     */
+    public boolean isColorable() {
+        return getColoring() != null;
+    }
+
+    @Override
+    public Coloring<V> getColoring() {
+        return getColoring(Map.of());
+    }
+
+    /**
+     * Precoloring query, reuses the decomposition and recomputes only the tables.
+     *
+     * @param precoloring colors fixed for some vertices on top of restricted colors
+     * @return coloring extending given precoloring or null if there is none
+     */
+    public Coloring<V> getColoring(Map<V, Integer> precoloring) {
+        int[] allowedColors = problem.allowedColors().clone();
+        precoloring.forEach((vertex, color) -> allowedColors[problem.index(vertex)] &= 1 << color);
+        if (root == null) {
+            return problem.toColoring(new int[0]);
+        }
+        if (Arrays.stream(allowedColors).anyMatch(mask -> mask == 0)) {
+            return null;
+        }
+        int[] colors = new int[problem.size()];
+        Arrays.fill(colors, UNCOLORED);
+        if (!readWitness(root, allowedColors, colors)) {
+            return null;
+        }
+        return problem.toColoring(colors);
+    }
+
+    /**
+     * @return largest bag of the decomposition, a node enumerates at most 3 to this power colorings
+     */
+    public int getWidth() {
+        return root == null ? 0 : width(root);
+    }
+
+    private Node decompose(InducedSubgraphView<V, E> graph,
+                           Function<Graph<V, E>, SeparatorFindingAlgorithm<V>> separatorFinding, int leafSize) {
+        int[] boundary = boundary(graph);
+        if (graph.vertexSet().size() > leafSize) {
+            SeparatorFindingAlgorithm<V> separatorFindingAlgorithm = separatorFinding.apply(graph);
+            var partition = graph.partition(separatorFindingAlgorithm.getSparator(),
+                    separatorFindingAlgorithm.getSubsetA());
+            int subsetASize = partition.subsetA().vertexSet().size();
+            int subsetBSize = partition.subsetB().vertexSet().size();
+            if (subsetASize < graph.vertexSet().size() && subsetBSize < graph.vertexSet().size()) {
+                List<Node> children = new ArrayList<>(2);
+                if (subsetASize > 0) {
+                    children.add(decompose(partition.subsetA(), separatorFinding, leafSize));
+                }
+                if (subsetBSize > 0) {
+                    children.add(decompose(partition.subsetB(), separatorFinding, leafSize));
+                }
+                return new Node(boundary, ordered(indices(partition.separator().vertexSet()), children),
+                        children.toArray(Node[]::new));
+            }
+        }
+        return new Node(boundary, indices(graph.vertexSet()), new Node[0]);
+    }
+
+    /**
+     * Complexity: O(sum of degrees of vertices of the subgraph)
+     */
+    private int[] boundary(InducedSubgraphView<V, E> graph) {
+        Set<Integer> boundary = new LinkedHashSet<>();
+        int[] offsets = problem.offsets();
+        int[] neighbors = problem.neighbors();
+        for (V vertex : graph.vertexSet()) {
+            int index = problem.index(vertex);
+            for (int i = offsets[index]; i < offsets[index + 1]; i++) {
+                if (!graph.containsVertex(problem.vertex(neighbors[i]))) {
+                    boundary.add(neighbors[i]);
+                }
+            }
+        }
+        return boundary.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Orders own vertices of a node so that boundaries of children, smallest first, are colored as early as
+     * possible, which lets {@link #extend} check the children and cut off colorings sooner.
+     */
+    private static int[] ordered(int[] vertices, List<Node> children) {
+        Set<Integer> own = new HashSet<>();
+        for (int vertex : vertices) {
+            own.add(vertex);
+        }
+        Set<Integer> order = new LinkedHashSet<>();
+        children.stream()
+                .sorted(Comparator.comparingInt(child -> child.boundary.length))
+                .forEach(child -> Arrays.stream(child.boundary).filter(own::contains).forEach(order::add));
+        order.addAll(own);
+        return order.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private int[] indices(Set<V> vertices) {
+        return vertices.stream().mapToInt(problem::index).toArray();
+    }
+
+    /**
+     * Computes the table of the node from tables of its children and frees the tables below it. Node with a
+     * boundary too large for a table keeps tables of its children, they answer the recursion into the node.
+     * Complexity: O(3^|bag|) per node of the subtree
+     */
+    private void computeTable(Node node, int[] allowedColors) {
+        for (Node child : node.children) {
+            computeTable(child, allowedColors);
+        }
+        if (node.boundary.length > MAX_BOUNDARY_SIZE) {
+            return;
+        }
+        node.table = new BitSet(power(node.boundary.length));
+        enterBag(node);
+        fillTable(node, 0, 0, new int[node.bagSize()], allowedColors);
+        leaveBag(node);
+        for (Node child : node.children) {
+            freeTables(child);
+        }
+    }
+
+    /**
+     * Colors the boundary from given position on by backtracking, skipping colorings with a monochromatic edge or
+     * a restricted color, which are never asked about by the parent, and sets bits of those extending to the node.
+     *
+     * @param code base 3 code of colors of the boundary before given position
+     */
+    private void fillTable(Node node, int position, int code, int[] bagColors, int[] allowedColors) {
+        if (position == node.boundary.length) {
+            if (extend(node, 0, bagColors, allowedColors)) {
+                node.table.set(code);
+            }
+            return;
+        }
+        int index = node.boundary[position];
+        for (int color = 0; color < NUMBER_OF_COLORS; color++) {
+            if ((allowedColors[index] & (1 << color)) != 0 && !conflicts(index, color, position, bagColors)) {
+                bagColors[position] = color;
+                fillTable(node, position + 1, code + color * power(position), bagColors, allowedColors);
+            }
+        }
+    }
+
+    /**
+     * Frees the table of the node and, if it has none, tables of the children it was recursed into through.
+     */
+    private void freeTables(Node node) {
+        if (node.table != null) {
+            node.table = null;
+            return;
+        }
+        for (Node child : node.children) {
+            freeTables(child);
+        }
+    }
+
+    /**
+     * Colors own vertices of the node starting from given one, with boundary colors already in the bag. A child is
+     * checked as soon as its whole boundary is colored, so colorings it rejects are cut off early.
+     *
+     * @return true if colors of own vertices are consistent with the tables of all children
+     */
+    private boolean extend(Node node, int vertex, int[] bagColors, int[] allowedColors) {
+        for (int i = 0; i < node.children.length; i++) {
+            if (node.childReadyAt[i] == vertex && !extendsToChild(node, i, bagColors, allowedColors)) {
+                return false;
+            }
+        }
+        if (vertex == node.vertices.length) {
+            return true;
+        }
+        int position = node.boundary.length + vertex;
+        int index = node.vertices[vertex];
+        for (int color = 0; color < NUMBER_OF_COLORS; color++) {
+            if ((allowedColors[index] & (1 << color)) != 0 && !conflicts(index, color, position, bagColors)) {
+                bagColors[position] = color;
+                if (extend(node, vertex + 1, bagColors, allowedColors)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the table of the child or, if it has none, colors the child by recursion with the bag of the child
+     * entered in place of the bag of the node.
+     *
+     * @return true if colors of the boundary of given child extend to its subgraph
+     */
+    private boolean extendsToChild(Node node, int child, int[] bagColors, int[] allowedColors) {
+        Node childNode = node.children[child];
+        int[] positions = node.childBoundaryPositions[child];
+        if (childNode.table != null) {
+            return childNode.table.get(encode(bagColors, positions));
+        }
+        int[] childBagColors = new int[childNode.bagSize()];
+        for (int i = 0; i < positions.length; i++) {
+            childBagColors[i] = bagColors[positions[i]];
+        }
+        leaveBag(node);
+        enterBag(childNode);
+        boolean extended = extend(childNode, 0, childBagColors, allowedColors);
+        leaveBag(childNode);
+        enterBag(node);
+        return extended;
+    }
+
+    /**
+     * @return true if a neighbor placed in the bag before given position has given color
+     */
+    private boolean conflicts(int index, int color, int position, int[] bagColors) {
+        int[] offsets = problem.offsets();
+        int[] neighbors = problem.neighbors();
+        for (int i = offsets[index]; i < offsets[index + 1]; i++) {
+            int neighborPosition = bagPositions[neighbors[i]];
+            if (neighborPosition >= 0 && neighborPosition < position && bagColors[neighborPosition] == color) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Computes tables of the children, colors own vertices of the node consistently with boundary colors already
+     * chosen by ancestors and frees the tables again before continuing in children.
+     *
+     * @return false if boundary colors don't extend to the node, which only happens at the root
+     */
+    private boolean readWitness(Node node, int[] allowedColors, int[] colors) {
+        for (Node child : node.children) {
+            computeTable(child, allowedColors);
+        }
+        int[] bagColors = new int[node.bagSize()];
+        for (int i = 0; i < node.boundary.length; i++) {
+            bagColors[i] = colors[node.boundary[i]];
+        }
+        enterBag(node);
+        boolean extended = extend(node, 0, bagColors, allowedColors);
+        leaveBag(node);
+        for (Node child : node.children) {
+            freeTables(child);
+        }
+        if (!extended) {
+            return false;
+        }
+        for (int i = 0; i < node.vertices.length; i++) {
+            colors[node.vertices[i]] = bagColors[node.boundary.length + i];
+        }
+        for (Node child : node.children) {
+            if (!readWitness(child, allowedColors, colors)) {
+                throw new IllegalStateException("Table of the node doesn't match colors of its boundary");
+            }
+        }
+        return true;
+    }
+
+    private void enterBag(Node node) {
+        for (int i = 0; i < node.boundary.length; i++) {
+            bagPositions[node.boundary[i]] = i;
+        }
+        for (int i = 0; i < node.vertices.length; i++) {
+            bagPositions[node.vertices[i]] = node.boundary.length + i;
+        }
+    }
+
+    private void leaveBag(Node node) {
+        for (int index : node.boundary) {
+            bagPositions[index] = -1;
+        }
+        for (int index : node.vertices) {
+            bagPositions[index] = -1;
+        }
+    }
+
+    private int width(Node node) {
+        int width = node.bagSize();
+        for (Node child : node.children) {
+            width = Math.max(width, width(child));
+        }
+        return width;
+    }
+
+    private static int power(int exponent) {
+        int power = 1;
+        for (int i = 0; i < exponent; i++) {
+            power *= NUMBER_OF_COLORS;
+        }
+        return power;
+    }
+
+    /**
+     * @return base 3 code of colors at given positions, first position is the least significant digit
+     */
+    private static int encode(int[] colors, int[] positions) {
+        int code = 0;
+        for (int i = positions.length - 1; i >= 0; i--) {
+            code = NUMBER_OF_COLORS * code + colors[positions[i]];
+        }
+        return code;
+    }
+
+    private static final class Node {
+        private final int[] boundary;
+        private final int[] vertices;
+        private final Node[] children;
+        /**
+         * Positions of boundary vertices of every child in the bag of this node
+         */
+        private final int[][] childBoundaryPositions;
+        /**
+         * Number of own vertices colored when the boundary of every child becomes fully colored
+         */
+        private final int[] childReadyAt;
+        /**
+         * Null if the boundary is too large for a table or the table is not needed at the moment
+         */
+        private BitSet table;
+
+        Node(int[] boundary, int[] vertices, Node[] children) {
+            this.boundary = boundary;
+            this.vertices = vertices;
+            this.children = children;
+            this.childBoundaryPositions = new int[children.length][];
+            this.childReadyAt = new int[children.length];
+            Map<Integer, Integer> bagPositions = new HashMap<>();
+            for (int i = 0; i < boundary.length; i++) {
+                bagPositions.put(boundary[i], i);
+            }
+            for (int i = 0; i < vertices.length; i++) {
+                bagPositions.put(vertices[i], boundary.length + i);
+            }
+            for (int i = 0; i < children.length; i++) {
+                childBoundaryPositions[i] = Arrays.stream(children[i].boundary).map(bagPositions::get).toArray();
+                for (int position : childBoundaryPositions[i]) {
+                    childReadyAt[i] = Math.max(childReadyAt[i], position - boundary.length + 1);
+                }
+            }
+        }
+
+        int bagSize() {
+            return boundary.length + vertices.length;
+        }
+    }
+}
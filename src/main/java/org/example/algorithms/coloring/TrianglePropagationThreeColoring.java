@@ -0,0 +1,188 @@
+package org.example.algorithms.coloring;
+
+import org.example.algorithms.planar.EmbeddingToEmbeddingWithFacesConverter;
+import org.example.algorithms.planar.EmbeddingWithFaces;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm;
+import org.jgrapht.alg.planar.BoyerMyrvoldPlanarityInspector;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.SimpleGraph;
+import org.jgrapht.util.SupplierUtil;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Three coloring that propagates colors forced by triangles sharing an edge and solves only the remaining
+ * quotient graph. <p>
+ * Vertices of a triangle have three different colors, so two triangles sharing an edge have the same color on
+ * their third vertices. Triangles are the triangular faces of {@link EmbeddingWithFaces}, third vertices of faces
+ * sharing an edge are merged with a union-find, which contracts every connected component of such faces into three
+ * vertices. An edge inside a merged class is an immediate conflict, otherwise the quotient graph of the classes has
+ * the same colorings as the source graph. <p>
+ * Merging vertices of different faces may make the quotient graph non planar. Planar quotient is colored by the
+ * residual algorithm, otherwise by the fallback algorithm which doesn't assume planarity. Non planar source graph
+ * has no faces, it is passed to the fallback algorithm as a whole.
+ * Complexity: O(n) for planar graphs besides the residual coloring
+ *
+ * @param <V> Vertex type
+ * @param <E> Edge type
+ */
+public class TrianglePropagationThreeColoring<V, E> implements VertexColoringAlgorithm<V> {
+    private final IndexedColoringProblem<V> problem;
+    private final Function<Graph<V, DefaultEdge>, VertexColoringAlgorithm<V>> residualColoring;
+    private final Function<Graph<V, DefaultEdge>, VertexColoringAlgorithm<V>> fallbackColoring;
+    private final int[] parents;
+    private final Graph<V, DefaultEdge> quotient;
+    private final boolean planarQuotient;
+
+    public TrianglePropagationThreeColoring(Graph<V, E> sourceGraph) {
+        this(sourceGraph, PlanarThreeColoring::new);
+    }
+
+    /**
+     * @param residualColoring algorithm coloring the planar quotient graph
+     */
+    public TrianglePropagationThreeColoring(
+            Graph<V, E> sourceGraph, Function<Graph<V, DefaultEdge>, VertexColoringAlgorithm<V>> residualColoring) {
+        this(sourceGraph, residualColoring, graph -> ThreeColoringSolver.FORWARD_CHECKING.create(graph, Map.of()));
+    }
+
+    /**
+     * @param residualColoring algorithm coloring the planar quotient graph
+     * @param fallbackColoring algorithm coloring the quotient graph if it is not planar
+     */
+    public TrianglePropagationThreeColoring(
+            Graph<V, E> sourceGraph, Function<Graph<V, DefaultEdge>, VertexColoringAlgorithm<V>> residualColoring,
+            Function<Graph<V, DefaultEdge>, VertexColoringAlgorithm<V>> fallbackColoring) {
+        this.problem = IndexedColoringProblem.of(sourceGraph, Map.of());
+        this.residualColoring = residualColoring;
+        this.fallbackColoring = fallbackColoring;
+        this.parents = new int[problem.size()];
+        Arrays.setAll(parents, v -> v);
+        var planarityTest = new BoyerMyrvoldPlanarityInspector<>(sourceGraph);
+        if (planarityTest.isPlanar()) {
+            propagate(EmbeddingToEmbeddingWithFacesConverter.convert(planarityTest.getEmbedding()));
+        }
+        this.quotient = hasConflict() ? null : quotient();
+        this.planarQuotient = quotient != null && new BoyerMyrvoldPlanarityInspector<>(quotient).isPlanar();
+    }
+
+    /**
+     * Every face of length 3 in a simple graph is a triangle.
+     */
+    private void propagate(EmbeddingWithFaces<V, E> faces) {
+        var halfEdges = faces.getHalfEdges();
+        int[] thirdVertices = new int[halfEdges.halfEdgeCount() / 2];
+        Arrays.fill(thirdVertices, -1);
+        for (var face : faces.getFaces()) {
+            var edges = face.edges();
+            if (edges.size() != 3) {
+                continue;
+            }
+            for (int i = 0; i < 3; i++) {
+                var node = edges.get(i);
+                int edge = halfEdges.halfEdge(node.edge(), node.v()) >> 1;
+                merge(thirdVertices, edge, problem.index(edges.get((i + 2) % 3).v()));
+            }
+        }
+    }
+
+    /**
+     * Merges given vertex with the third vertex of the first triangle seen on the edge.
+     */
+    private void merge(int[] thirdVertices, int edge, int thirdVertex) {
+        if (thirdVertices[edge] == -1) {
+            thirdVertices[edge] = thirdVertex;
+        } else {
+            parents[find(thirdVertices[edge])] = find(thirdVertex);
+        }
+    }
+
+    private int find(int v) {
+        while (parents[v] != v) {
+            parents[v] = parents[parents[v]];
+            v = parents[v];
+        }
+        return v;
+    }
+
+    /**
+     * @return true if the graph has an edge between two vertices forced to have the same color
+     */
+    public boolean hasConflict() {
+        int[] offsets = problem.offsets();
+        int[] neighbors = problem.neighbors();
+        for (int v = 0; v < problem.size(); v++) {
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                if (find(v) == find(neighbors[i])) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Every class is represented by the vertex at its root.
+     * Complexity: O(n + m)
+     */
+    private Graph<V, DefaultEdge> quotient() {
+        Graph<V, DefaultEdge> quotient = new SimpleGraph<>(null, SupplierUtil.createDefaultEdgeSupplier(), false);
+        int[] offsets = problem.offsets();
+        int[] neighbors = problem.neighbors();
+        for (int v = 0; v < problem.size(); v++) {
+            quotient.addVertex(problem.vertex(find(v)));
+        }
+        for (int v = 0; v < problem.size(); v++) {
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                if (v < neighbors[i]) {
+                    quotient.addEdge(problem.vertex(find(v)), problem.vertex(find(neighbors[i])));
+                }
+            }
+        }
+        return quotient;
+    }
+
+    /**
+     * @return graph of merged classes passed to the residual algorithm or null if there is a conflict
+     */
+    public Graph<V, DefaultEdge> getQuotient() {
+        return quotient;
+    }
+
+    /**
+     * @return true if the quotient graph is colored by the residual algorithm, false if by the fallback one
+     */
+    public boolean isQuotientPlanar() {
+        return planarQuotient;
+    }
+
+    public int getMergedVertexCount() {
+        return quotient == null ? 0 : problem.size() - quotient.vertexSet().size();
+    }
+
+    @Override
+    public Coloring<V> getColoring() {
+        if (quotient == null) {
+            return null;
+        }
+        Coloring<V> quotientColoring = (planarQuotient ? residualColoring : fallbackColoring).apply(quotient)
+                .getColoring();
+        if (quotientColoring == null) {
+            return null;
+        }
+        int[] colors = new int[problem.size()];
+        for (int v = 0; v < problem.size(); v++) {
+            colors[v] = quotientColoring.getColors().get(problem.vertex(find(v)));
+        }
+        return problem.toColoring(colors);
+    }
+
+    @Override
+    public String toString() {
+        return "TrianglePropagationThreeColoring[vertices=" + problem.size() + ", conflict=" + (quotient == null) +
+                ", merged=" + getMergedVertexCount() + ", planarQuotient=" + planarQuotient + ']';
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.algorithms.coloring;
+
+import java.util.Arrays;
+
+/**
+ * Lists triangles along edges oriented from the endpoint of lower degree to the one of higher degree, ties broken
+ * by index. Outgoing edges are copied once into their own adjacency arrays and only those are intersected, every
+ * vertex has few outgoing edges in sparse graphs, so listing takes O(m * arboricity) time, which is O(n) for planar
+ * graphs. Edges are identified by their position in {@link IndexedColoringProblem#neighbors()}
+ * adjacency of their lower endpoint, so every edge has one identifier.
+ */
+final class Triangles {
+
+    @FunctionalInterface
+    interface TriangleConsumer {
+        /**
+         * @param edgeAB identifier of the edge between a and b, similarly for the others
+         */
+        void accept(int a, int b, int c, int edgeAB, int edgeBC, int edgeAC);
+    }
+
+    private Triangles() {
+    }
+
+    static void forEach(IndexedColoringProblem<?> problem, TriangleConsumer consumer) {
+        int[] offsets = problem.offsets();
+        int[] neighbors = problem.neighbors();
+        int[] outOffsets = new int[problem.size() + 1];
+        for (int v = 0; v < problem.size(); v++) {
+            outOffsets[v + 1] = outOffsets[v];
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                if (isOriented(offsets, v, neighbors[i])) {
+                    outOffsets[v + 1]++;
+                }
+            }
+        }
+        int[] outNeighbors = new int[outOffsets[problem.size()]];
+        int[] outEdges = new int[outNeighbors.length];
+        for (int v = 0, k = 0; v < problem.size(); v++) {
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                if (isOriented(offsets, v, neighbors[i])) {
+                    outNeighbors[k] = neighbors[i];
+                    outEdges[k++] = i;
+                }
+            }
+        }
+
+        int[] marks = new int[problem.size()];
+        int[] markedEdges = new int[problem.size()];
+        Arrays.fill(marks, -1);
+        for (int a = 0; a < problem.size(); a++) {
+            for (int i = outOffsets[a]; i < outOffsets[a + 1]; i++) {
+                marks[outNeighbors[i]] = a;
+                markedEdges[outNeighbors[i]] = outEdges[i];
+            }
+            for (int i = outOffsets[a]; i < outOffsets[a + 1]; i++) {
+                int b = outNeighbors[i];
+                for (int j = outOffsets[b]; j < outOffsets[b + 1]; j++) {
+                    int c = outNeighbors[j];
+                    if (marks[c] == a) {
+                        consumer.accept(a, b, c, outEdges[i], outEdges[j], markedEdges[c]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true if the edge between given vertices is oriented from v to u
+     */
+    private static boolean isOriented(int[] offsets, int v, int u) {
+        int degreeV = offsets[v + 1] - offsets[v];
+        int degreeU = offsets[u + 1] - offsets[u];
+        return degreeU > degreeV || degreeU == degreeV && u > v;
+    }
+}
@@ -1,17 +1,31 @@
 package org.example.algorithms.planar;
 
 import org.jgrapht.Graph;
-import org.jgrapht.util.DoublyLinkedList;
 
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+/**
+ * Faces of a plane graph, every face is the cycle of directed edges (nodes) walking around it. View over a
+ * {@link HalfEdgeEmbedding}, so faces incident to an edge or a vertex are found without any search. Faces are taken
+ * when the view is created, a new view has to be created after faces are split.
+ *
+ * @param <V> Vertex type
+ * @param <E> Edge type
+ */
 public class EmbeddingWithFaces<V, E> {
+    private final HalfEdgeEmbedding<V, E> halfEdges;
     private final List<Face<V, E>> faces;
-    private final Graph<V, E> graph;
 
-    public EmbeddingWithFaces(List<Face<V, E>> faces, Graph<V, E> graph) {
-        this.faces = faces;
-        this.graph = graph;
+    public EmbeddingWithFaces(HalfEdgeEmbedding<V, E> halfEdges) {
+        this.halfEdges = halfEdges;
+        List<Face<V, E>> faceViews = new ArrayList<>(halfEdges.faceCount());
+        for (int f = 0; f < halfEdges.faceCount(); f++) {
+            faceViews.add(new Face<>(halfEdges, f));
+        }
+        this.faces = Collections.unmodifiableList(faceViews);
     }
 
     public List<Face<V, E>> getFaces() {
@@ -19,20 +33,90 @@ public class EmbeddingWithFaces<V, E> {
     }
 
     public Graph<V, E> getGraph() {
-        return graph;
+        return halfEdges.getGraph();
+    }
+
+    public HalfEdgeEmbedding<V, E> getHalfEdges() {
+        return halfEdges;
+    }
+
+    /**
+     * Complexity: O(1)
+     *
+     * @return face containing given directed edge
+     */
+    public Face<V, E> getFace(Node<V, E> node) {
+        return faces.get(halfEdges.face(halfEdges.halfEdge(node.edge(), node.v())));
+    }
+
+    /**
+     * @return face containing the edge directed from its source to its target
+     */
+    public Face<V, E> getLeftFace(E edge) {
+        return faces.get(halfEdges.face(halfEdges.halfEdge(edge, getGraph().getEdgeSource(edge))));
+    }
+
+    /**
+     * @return face containing the edge directed from its target to its source
+     */
+    public Face<V, E> getRightFace(E edge) {
+        return faces.get(halfEdges.face(halfEdges.halfEdge(edge, getGraph().getEdgeTarget(edge))));
+    }
+
+    /**
+     * Complexity: O(degree of the vertex)
+     *
+     * @return faces having given vertex on their boundary in order of its rotation, a face passing through the
+     * vertex multiple times is listed more than once
+     */
+    public List<Face<V, E>> getFacesAround(V vertex) {
+        int first = halfEdges.outgoing(vertex);
+        if (first < 0) {
+            return List.of();
+        }
+        List<Face<V, E>> vertexFaces = new ArrayList<>();
+        int h = first;
+        do {
+            vertexFaces.add(faces.get(halfEdges.face(h)));
+            h = halfEdges.rotationNext(h);
+        } while (h != first);
+        return vertexFaces;
     }
 
     public static final class Face<V, E> {
-        private final DoublyLinkedList<Node<V, E>> edges;
+        private final int id;
+        private final List<Node<V, E>> edges;
 
-        public Face(DoublyLinkedList<Node<V, E>> edges) {
-            this.edges = edges;
+        private Face(HalfEdgeEmbedding<V, E> halfEdges, int id) {
+            this.id = id;
+            this.edges = new AbstractList<>() {
+                @Override
+                public Node<V, E> get(int index) {
+                    int h = halfEdges.faceHalfEdge(id, index);
+                    return new Node<>(halfEdges.origin(h), halfEdges.target(h), halfEdges.edge(h));
+                }
+
+                @Override
+                public int size() {
+                    return halfEdges.faceSize(id);
+                }
+            };
         }
 
-        public DoublyLinkedList<Node<V, E>> edges() {
+        /**
+         * @return directed edges in order of the walk around the face
+         */
+        public List<Node<V, E>> edges() {
             return edges;
         }
 
+        /**
+         * @return index of the face in {@link HalfEdgeEmbedding}
+         */
+        public int id() {
+            return id;
+        }
+
         @Override
         public String toString() {
             return "Face[" +
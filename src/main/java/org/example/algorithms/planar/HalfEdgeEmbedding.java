@@ -0,0 +1,265 @@
+package org.example.algorithms.planar;
+
+import org.example.graph.VertexIndex;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.interfaces.PlanarityTestingAlgorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Doubly connected edge list of a combinatorial embedding stored in int arrays. <p>
+ * Edge i is split into half-edge 2i directed from its source to its target and half-edge 2i + 1 directed back, so
+ * the twin of a half-edge is {@code h ^ 1} and needs no array. The half-edge following the one entering vertex v
+ * around a face leaves v along the next edge in the rotation of v, so rotations are read from the face walks.
+ * Half-edges of every face are also stored consecutively in order of the face walk. <p>
+ * Faces are split in place by {@link #splitFace(int, int, Object)}, faces are labeled again on the next query.
+ * Complexity: O(n + m) to build
+ *
+ * @param <V> Vertex type
+ * @param <E> Edge type
+ */
+public class HalfEdgeEmbedding<V, E> implements PlanarityTestingAlgorithm.Embedding<V, E> {
+    private static final int NONE = -1;
+
+    private final Graph<V, E> graph;
+    private final VertexIndex<V> vertices;
+    private final List<E> edges;
+    private final Map<E, Integer> edgeIndices;
+    private int[] origins;
+    private int[] nexts;
+    private int[] prevs;
+    /**
+     * some half-edge leaving the vertex or NONE for isolated vertices
+     */
+    private final int[] outgoing;
+    private int[] faces;
+    private int[] faceOffsets;
+    private int[] faceHalfEdges;
+    private boolean facesLabeled;
+
+    private HalfEdgeEmbedding(Graph<V, E> graph, VertexIndex<V> vertices, List<E> edges, Map<E, Integer> edgeIndices,
+                              int[] origins, int[] nexts, int[] outgoing) {
+        this.graph = graph;
+        this.vertices = vertices;
+        this.edges = edges;
+        this.edgeIndices = edgeIndices;
+        this.origins = origins;
+        this.nexts = nexts;
+        this.outgoing = outgoing;
+        this.prevs = new int[nexts.length];
+        for (int h = 0; h < nexts.length; h++) {
+            prevs[nexts[h]] = h;
+        }
+    }
+
+    /**
+     * Complexity: O(n + m)
+     */
+    private void labelFaces() {
+        if (facesLabeled) {
+            return;
+        }
+        int halfEdgeCount = halfEdgeCount();
+        faces = new int[halfEdgeCount];
+        Arrays.fill(faces, NONE);
+        faceHalfEdges = new int[halfEdgeCount];
+        int[] offsets = new int[halfEdgeCount + 1];
+        int faceCount = 0;
+        int position = 0;
+        for (int start = 0; start < halfEdgeCount; start++) {
+            if (faces[start] != NONE) {
+                continue;
+            }
+            for (int h = start; faces[h] == NONE; h = nexts[h]) {
+                faces[h] = faceCount;
+                faceHalfEdges[position++] = h;
+            }
+            offsets[++faceCount] = position;
+        }
+        faceOffsets = Arrays.copyOf(offsets, faceCount + 1);
+        facesLabeled = true;
+    }
+
+    /**
+     * Complexity: O(n + m)
+     */
+    public static <V, E> HalfEdgeEmbedding<V, E> of(PlanarityTestingAlgorithm.Embedding<V, E> embedding) {
+        return of(embedding, embedding.getGraph());
+    }
+
+    /**
+     * Complexity: O(n + m)
+     *
+     * @param graph graph with the same vertices and edges as the embedded one, edges passed to
+     *              {@link #splitFace(int, int, Object)} are read from it, for example an overlay of the embedded graph
+     */
+    public static <V, E> HalfEdgeEmbedding<V, E> of(PlanarityTestingAlgorithm.Embedding<V, ? extends E> embedding,
+                                                    Graph<V, E> graph) {
+        VertexIndex<V> vertices = VertexIndex.of(graph.vertexSet());
+        List<E> edges = new ArrayList<>(graph.edgeSet());
+        Map<E, Integer> edgeIndices = new HashMap<>(2 * edges.size());
+        for (int i = 0; i < edges.size(); i++) {
+            edgeIndices.put(edges.get(i), i);
+        }
+        int[] origins = new int[2 * edges.size()];
+        int[] nexts = new int[2 * edges.size()];
+        int[] outgoing = new int[vertices.size()];
+        for (int v = 0; v < vertices.size(); v++) {
+            V vertex = vertices.vertex(v);
+            List<? extends E> rotation = embedding.getEdgesAround(vertex);
+            outgoing[v] = rotation.isEmpty() ? NONE : leaving(graph, edgeIndices, vertex, rotation.get(0));
+            for (int j = 0; j < rotation.size(); j++) {
+                int out = leaving(graph, edgeIndices, vertex, rotation.get(j));
+                int nextOut = leaving(graph, edgeIndices, vertex, rotation.get((j + 1) % rotation.size()));
+                origins[out] = v;
+                nexts[out ^ 1] = nextOut;
+            }
+        }
+        return new HalfEdgeEmbedding<>(graph, vertices, edges, edgeIndices, origins, nexts, outgoing);
+    }
+
+    private static <V, E> int leaving(Graph<V, E> graph, Map<E, Integer> edgeIndices, V vertex, E edge) {
+        int i = edgeIndices.get(edge);
+        return vertex.equals(graph.getEdgeSource(edge)) ? 2 * i : 2 * i + 1;
+    }
+
+    @Override
+    public Graph<V, E> getGraph() {
+        return graph;
+    }
+
+    /**
+     * Complexity: O(degree of the vertex)
+     */
+    @Override
+    public List<E> getEdgesAround(V vertex) {
+        int first = outgoing(vertex);
+        if (first == NONE) {
+            return List.of();
+        }
+        List<E> rotation = new ArrayList<>();
+        int h = first;
+        do {
+            rotation.add(edge(h));
+            h = rotationNext(h);
+        } while (h != first);
+        return rotation;
+    }
+
+    public int halfEdgeCount() {
+        return 2 * edges.size();
+    }
+
+    public int faceCount() {
+        labelFaces();
+        return faceOffsets.length - 1;
+    }
+
+    public int twin(int halfEdge) {
+        return halfEdge ^ 1;
+    }
+
+    /**
+     * @return next half-edge of the face
+     */
+    public int next(int halfEdge) {
+        return nexts[halfEdge];
+    }
+
+    public int prev(int halfEdge) {
+        return prevs[halfEdge];
+    }
+
+    public int face(int halfEdge) {
+        labelFaces();
+        return faces[halfEdge];
+    }
+
+    public V origin(int halfEdge) {
+        return vertices.vertex(origins[halfEdge]);
+    }
+
+    public V target(int halfEdge) {
+        return vertices.vertex(origins[halfEdge ^ 1]);
+    }
+
+    public E edge(int halfEdge) {
+        return edges.get(halfEdge >> 1);
+    }
+
+    /**
+     * @return half-edge of given edge leaving given endpoint
+     */
+    public int halfEdge(E edge, V origin) {
+        return leaving(graph, edgeIndices, origin, edge);
+    }
+
+    /**
+     * @return first half-edge of the rotation of the vertex or -1 if the vertex has no edges
+     */
+    public int outgoing(V vertex) {
+        return outgoing[vertices.indexOf(vertex)];
+    }
+
+    /**
+     * @return half-edge leaving the origin of given half-edge along the next edge of its rotation
+     */
+    public int rotationNext(int halfEdge) {
+        return nexts[halfEdge ^ 1];
+    }
+
+    public int faceSize(int face) {
+        labelFaces();
+        return faceOffsets[face + 1] - faceOffsets[face];
+    }
+
+    /**
+     * @return i-th half-edge of the face walk
+     */
+    public int faceHalfEdge(int face, int i) {
+        labelFaces();
+        return faceHalfEdges[faceOffsets[face] + i];
+    }
+
+    /**
+     * Adds an edge between the targets of two half-edges of the same face, so that the face is split in two. The
+     * edge leaving the target of the first half-edge follows it, the twin follows the second half-edge. Labels of
+     * faces obtained earlier are no longer valid.
+     * Complexity: O(1) amortized
+     *
+     * @param edge edge of the graph between the two targets, already added to the graph
+     * @return half-edge of the new edge leaving the target of the first half-edge
+     */
+    public int splitFace(int enteringFirst, int enteringSecond, E edge) {
+        int i = edges.size();
+        edges.add(edge);
+        edgeIndices.put(edge, i);
+        if (origins.length < 2 * edges.size()) {
+            int capacity = Math.max(2 * origins.length, 2 * edges.size());
+            origins = Arrays.copyOf(origins, capacity);
+            nexts = Arrays.copyOf(nexts, capacity);
+            prevs = Arrays.copyOf(prevs, capacity);
+        }
+        int first = origins[enteringFirst ^ 1];
+        int second = origins[enteringSecond ^ 1];
+        int forward = vertices.vertex(first).equals(graph.getEdgeSource(edge)) ? 2 * i : 2 * i + 1;
+        int backward = forward ^ 1;
+        origins[forward] = first;
+        origins[backward] = second;
+        link(backward, nexts[enteringFirst]);
+        link(forward, nexts[enteringSecond]);
+        link(enteringFirst, forward);
+        link(enteringSecond, backward);
+        facesLabeled = false;
+        return forward;
+    }
+
+    private void link(int halfEdge, int next) {
+        nexts[halfEdge] = next;
+        prevs[next] = halfEdge;
+    }
+}
@@ -1,99 +1,77 @@
 package org.example.algorithms.planar;
 
+import org.example.graph.OverlayGraph;
 import org.jgrapht.Graph;
 import org.jgrapht.alg.interfaces.PlanarityTestingAlgorithm;
 
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
-
-import static java.util.stream.Collectors.*;
-import static org.example.algorithms.coloring.ThreeColoringUtils.vertexNeighbors;
-
 /**
  * https://ti.inf.ethz.ch/ew/courses/Geo20/lecture/gca20-2.pdf
  * Theorem 2.30. For a given connected plane graph G = (V, E) on n vertices one can
- * compute in O(n) time and space a maximal plane graph G1 = (V, E1) with E ⊆ E1
+ * compute in O(n) time and space a maximal plane graph G1 = (V, E1) with E ⊆ E1 <p>
+ * Every face is triangulated by cutting off ears of its boundary walk. An ear a, b, c is cut off by the edge a - c
+ * when a and c are different and not adjacent yet, so no multiple edges are created. Edges added inside one face
+ * never cross edges added inside another one. <p>
+ * Added edges split faces of the {@link HalfEdgeEmbedding} in place, so the triangulation is embedded without
+ * running the planarity test again. <p>
+ * Embedded graph is not modified, added edges go to an {@link OverlayGraph} of it, created with the edge supplier
+ * of the embedded graph. If the embedded graph is an overlay already, edges are added to it.
  *
  * @param <V>
  * @param <E>
  */
 public class PlanarTriangulationAlgorithm<V, E> {
-    private EmbeddingWithFaces<V, E> embedding;
-    private final Graph<V, E> sourceGraph;
+    private final HalfEdgeEmbedding<V, E> halfEdges;
+    private final OverlayGraph<V, E> overlay;
 
     public PlanarTriangulationAlgorithm(PlanarityTestingAlgorithm.Embedding<V, E> embedding) {
-        this.embedding = EmbeddingToEmbeddingWithFacesConverter.convert(embedding);
-        this.sourceGraph = embedding.getGraph();
+        Graph<V, E> graph = embedding.getGraph();
+        this.overlay = graph instanceof OverlayGraph<V, E> overlayGraph ? overlayGraph
+                : new OverlayGraph<>(graph, graph.getEdgeSupplier());
+        this.halfEdges = HalfEdgeEmbedding.of(embedding, overlay);
     }
 
-    public PlanarTriangulationAlgorithm(EmbeddingWithFaces<V, E> embedding) {
-        this.embedding = embedding;
-        this.sourceGraph = embedding.getGraph();
-    }
-
-    private void makeEachFaceACycle() {
-        List<EmbeddingWithFaces.Face<V, E>> faces = embedding.getFaces();
-        for (var face : faces) {
-            Set<V> verticesTraversed = new HashSet<>();
-            var edgeIterator = face.edges().listIterator();
-            while (edgeIterator.hasNext()) {
-                var edge = edgeIterator.next();
-                if (verticesTraversed.contains(edge.v())) {
-                    var prevEdge = edgeIterator.previous();
-                    edgeIterator.next();
-                    sourceGraph.addEdge(prevEdge.v(), edge.target());
-                }
-                verticesTraversed.add(edge.v());
-            }
+    /**
+     * Adds edges to the overlay until every face is a triangle.
+     * Complexity: O(n + m)
+     *
+     * @return embedding of the triangulated graph, its graph is the overlay
+     */
+    public EmbeddingWithFaces<V, E> triangulate() {
+        int faceCount = halfEdges.faceCount();
+        int[] faceStarts = new int[faceCount];
+        int[] faceSizes = new int[faceCount];
+        for (int f = 0; f < faceCount; f++) {
+            faceStarts[f] = halfEdges.faceHalfEdge(f, 0);
+            faceSizes[f] = halfEdges.faceSize(f);
         }
-        embedding = EmbeddingToEmbeddingWithFacesConverter.buildEmbeddingFromGraph(sourceGraph);
+        for (int f = 0; f < faceCount; f++) {
+            cutOffEars(faceStarts[f], faceSizes[f]);
+        }
+        return new EmbeddingWithFaces<>(halfEdges);
     }
 
-    public EmbeddingWithFaces<V, E> triangulate() {
-        makeEachFaceACycle();
-       var vertexToFaces =  embedding.getFaces().stream()
-                .collect(groupingBy(face -> face.edges().getFirst().v(), mapping(face -> face, toSet())));
-        for (V vertex : vertexToFaces.keySet()) {
-            Set<V> vertexNeighbors = vertexNeighbors(sourceGraph, vertex);
-            for (var face : vertexToFaces.get(vertex)) {
-                var neighborsOnTheCycle = face.edges().stream()
-                        .skip(1)
-                        .dropWhile(node -> !vertexNeighbors.contains(node.target()))
-                        .limit(2)
-                        .toList();
-                if (!neighborsOnTheCycle.get(1).target().equals(vertex)) {
-                    var neighbor = neighborsOnTheCycle.get(0);
-                    var nneighbor = neighborsOnTheCycle.get(1);
-                    var e1 = face.edges().stream().findFirst().orElseThrow();
-                    // bi-star triangulation
-                    face.edges().stream()
-                            .skip(1)
-                            .takeWhile(node -> !node.equals(neighbor))
-                            .map(EmbeddingWithFaces.Node::target)
-                            .forEach(v -> {
-                                sourceGraph.addEdge(nneighbor.target(), v);
-                            });
-                    face.edges().stream()
-                            .dropWhile(node -> !node.equals(neighbor))
-                            .map(EmbeddingWithFaces.Node::target)
-                            .forEach(v -> {
-                                if (!v.equals(e1.v()) && !v.equals(neighbor.target())) {
-                                    sourceGraph.addEdge(v, e1.target());
-                                }
-                            });
-                } else {
-                    // no risk of double edges star triangulation
-                    face.edges().stream()
-                            .skip(1)
-                            .limit(face.edges().size() - 3)
-                            .map(EmbeddingWithFaces.Node::target)
-                            .forEach(v -> {
-                                sourceGraph.addEdge(vertex, v);
-                            });
+    /**
+     * @param start half-edge of the face
+     * @param size  length of the boundary walk of the face, a vertex may appear on it multiple times
+     */
+    private void cutOffEars(int start, int size) {
+        int current = start;
+        int failedAttempts = 0;
+        while (size > 3) {
+            int next = halfEdges.next(current);
+            V first = halfEdges.origin(current);
+            V last = halfEdges.target(next);
+            if (!first.equals(last) && !overlay.containsEdge(first, last)) {
+                E edge = overlay.addEdge(first, last);
+                current = halfEdges.splitFace(halfEdges.prev(current), next, edge);
+                size--;
+                failedAttempts = 0;
+            } else {
+                current = next;
+                if (++failedAttempts > size) {
+                    throw new IllegalStateException("Face of " + first + " has no ear to cut off");
                 }
             }
         }
-        return EmbeddingToEmbeddingWithFacesConverter.buildEmbeddingFromGraph(sourceGraph);
     }
 }
@@ -0,0 +1,49 @@
+package org.example.algorithms.planar;
+
+import org.jgrapht.Graph;
+import org.jgrapht.alg.interfaces.PlanarityTestingAlgorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Embedding of a subgraph obtained from an embedding of the whole graph by leaving out edges missing in the
+ * subgraph from every rotation. Removing edges and vertices from a plane graph keeps it plane, so the restriction
+ * is valid without running the planarity test on the subgraph. Restrictions of restrictions read rotations of the
+ * same root embedding.
+ *
+ * @param <V> Vertex type
+ * @param <E> Edge type
+ */
+public class RestrictedEmbedding<V, E> implements PlanarityTestingAlgorithm.Embedding<V, E> {
+    private final PlanarityTestingAlgorithm.Embedding<V, E> root;
+    private final Graph<V, E> subgraph;
+
+    /**
+     * @param embedding embedding of a graph containing given subgraph
+     * @param subgraph  subgraph sharing vertices and edges with the embedded graph
+     */
+    public RestrictedEmbedding(PlanarityTestingAlgorithm.Embedding<V, E> embedding, Graph<V, E> subgraph) {
+        this.root = embedding instanceof RestrictedEmbedding<V, E> restricted ? restricted.root : embedding;
+        this.subgraph = subgraph;
+    }
+
+    @Override
+    public Graph<V, E> getGraph() {
+        return subgraph;
+    }
+
+    /**
+     * Complexity: O(degree of the vertex in the root embedding)
+     */
+    @Override
+    public List<E> getEdgesAround(V vertex) {
+        List<E> rotation = new ArrayList<>();
+        for (E edge : root.getEdgesAround(vertex)) {
+            if (subgraph.containsEdge(edge)) {
+                rotation.add(edge);
+            }
+        }
+        return rotation;
+    }
+}
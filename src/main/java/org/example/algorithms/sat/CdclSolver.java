@@ -0,0 +1,372 @@
+package org.example.algorithms.sat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Conflict driven clause learning SAT solver. <p>
+ * Clauses are given with DIMACS conventions: variables are numbered from 1 and a negative number denotes a negated
+ * variable. The solver uses two watched literals for unit propagation, learns first unique implication point
+ * clauses with non-chronological backjumping, picks decisions by VSIDS activity with phase saving and restarts
+ * according to the Luby sequence.
+ */
+public final class CdclSolver {
+    private static final int UNDEFINED = -1;
+    private static final int NO_REASON = -1;
+    private static final int RESTART_BASE = 100;
+    private static final double ACTIVITY_DECAY = 0.95;
+    private static final double ACTIVITY_LIMIT = 1e100;
+
+    private final int variableCount;
+    private final List<int[]> clauses = new ArrayList<>();
+    private final IntList[] watches;
+
+    /**
+     * Value of every variable: {@link #UNDEFINED}, 0 for false, 1 for true
+     */
+    private final int[] values;
+    private final int[] levels;
+    private final int[] reasons;
+    private final boolean[] savedPhases;
+    private final boolean[] seen;
+    private final double[] activities;
+    private final VariableHeap heap;
+
+    private final int[] trail;
+    private int trailSize;
+    private int propagationHead;
+    private final IntList trailLimits = new IntList();
+
+    private double activityIncrement = 1;
+    private boolean inconsistent;
+    private long conflicts;
+
+    public CdclSolver(int variableCount) {
+        this.variableCount = variableCount;
+        this.watches = new IntList[2 * variableCount];
+        for (int i = 0; i < watches.length; i++) {
+            watches[i] = new IntList();
+        }
+        this.values = new int[variableCount];
+        Arrays.fill(values, UNDEFINED);
+        this.levels = new int[variableCount];
+        this.reasons = new int[variableCount];
+        this.savedPhases = new boolean[variableCount];
+        this.seen = new boolean[variableCount];
+        this.activities = new double[variableCount];
+        this.trail = new int[variableCount];
+        this.heap = new VariableHeap(activities);
+        for (int variable = 0; variable < variableCount; variable++) {
+            heap.insert(variable);
+        }
+    }
+
+    /**
+     * Adds clause before solving. Duplicate literals are removed and tautologies are ignored.
+     */
+    public void addClause(int... dimacsLiterals) {
+        if (decisionLevel() != 0) {
+            throw new IllegalStateException("Clauses can only be added before solving");
+        }
+        if (inconsistent) {
+            return;
+        }
+        int[] clause = Arrays.stream(dimacsLiterals).map(this::toLiteral).sorted().distinct().toArray();
+        int size = 0;
+        for (int i = 0; i < clause.length; i++) {
+            int literal = clause[i];
+            if (i + 1 < clause.length && clause[i + 1] == negate(literal)) {
+                return;
+            }
+            int value = literalValue(literal);
+            if (value == 1) {
+                return;
+            }
+            if (value == UNDEFINED) {
+                clause[size++] = literal;
+            }
+        }
+        if (size == 0) {
+            inconsistent = true;
+        } else if (size == 1) {
+            enqueue(clause[0], NO_REASON);
+            inconsistent = propagate() != NO_REASON;
+        } else {
+            attachClause(Arrays.copyOf(clause, size));
+        }
+    }
+
+    /**
+     * @return true if clauses are satisfiable, the model is then available through {@link #value(int)}
+     */
+    public boolean solve() {
+        if (inconsistent) {
+            return false;
+        }
+        for (int restart = 0; ; restart++) {
+            int result = search(RESTART_BASE * luby(restart));
+            if (result != UNDEFINED) {
+                return result == 1;
+            }
+        }
+    }
+
+    /**
+     * @param dimacsVariable variable numbered from 1
+     * @return value of the variable in the model found by {@link #solve()}
+     */
+    public boolean value(int dimacsVariable) {
+        return values[dimacsVariable - 1] == 1;
+    }
+
+    public long getConflicts() {
+        return conflicts;
+    }
+
+    /**
+     * @return 1 if satisfiable, 0 if unsatisfiable, {@link #UNDEFINED} if conflict budget was exhausted
+     */
+    private int search(long conflictBudget) {
+        long conflictsAtStart = conflicts;
+        while (true) {
+            int conflict = propagate();
+            if (conflict != NO_REASON) {
+                conflicts++;
+                if (decisionLevel() == 0) {
+                    inconsistent = true;
+                    return 0;
+                }
+                IntList learnt = new IntList();
+                int backjumpLevel = analyze(conflict, learnt);
+                cancelUntil(backjumpLevel);
+                if (learnt.size() == 1) {
+                    enqueue(learnt.get(0), NO_REASON);
+                } else {
+                    int clauseIndex = attachClause(learnt.toArray());
+                    enqueue(learnt.get(0), clauseIndex);
+                }
+                decayActivities();
+            } else {
+                if (conflicts - conflictsAtStart >= conflictBudget) {
+                    cancelUntil(0);
+                    return UNDEFINED;
+                }
+                int variable = pickBranchVariable();
+                if (variable == UNDEFINED) {
+                    return 1;
+                }
+                trailLimits.add(trailSize);
+                enqueue(savedPhases[variable] ? 2 * variable : 2 * variable + 1, NO_REASON);
+            }
+        }
+    }
+
+    /**
+     * Two watched literals propagation. Complexity: amortized O(total size of visited watch lists)
+     *
+     * @return index of conflicting clause or {@link #NO_REASON}
+     */
+    private int propagate() {
+        while (propagationHead < trailSize) {
+            int falseLiteral = negate(trail[propagationHead++]);
+            IntList watchList = watches[falseLiteral];
+            int kept = 0;
+            int i = 0;
+            while (i < watchList.size()) {
+                int clauseIndex = watchList.get(i++);
+                int[] clause = clauses.get(clauseIndex);
+                if (clause[0] == falseLiteral) {
+                    clause[0] = clause[1];
+                    clause[1] = falseLiteral;
+                }
+                if (literalValue(clause[0]) == 1) {
+                    watchList.set(kept++, clauseIndex);
+                    continue;
+                }
+                boolean moved = false;
+                for (int k = 2; k < clause.length; k++) {
+                    if (literalValue(clause[k]) != 0) {
+                        clause[1] = clause[k];
+                        clause[k] = falseLiteral;
+                        watches[clause[1]].add(clauseIndex);
+                        moved = true;
+                        break;
+                    }
+                }
+                if (moved) {
+                    continue;
+                }
+                watchList.set(kept++, clauseIndex);
+                if (literalValue(clause[0]) == 0) {
+                    while (i < watchList.size()) {
+                        watchList.set(kept++, watchList.get(i++));
+                    }
+                    watchList.truncate(kept);
+                    propagationHead = trailSize;
+                    return clauseIndex;
+                }
+                enqueue(clause[0], clauseIndex);
+            }
+            watchList.truncate(kept);
+        }
+        return NO_REASON;
+    }
+
+    /**
+     * First unique implication point conflict analysis. The asserting literal is stored at position 0 of the
+     * learnt clause and a literal from the backjump level at position 1.
+     *
+     * @return backjump level
+     */
+    private int analyze(int conflict, IntList learnt) {
+        learnt.add(UNDEFINED);
+        int pathCount = 0;
+        int literal = UNDEFINED;
+        int index = trailSize - 1;
+        int clauseIndex = conflict;
+        do {
+            int[] clause = clauses.get(clauseIndex);
+            for (int j = literal == UNDEFINED ? 0 : 1; j < clause.length; j++) {
+                int variable = clause[j] >> 1;
+                if (seen[variable] || levels[variable] == 0) {
+                    continue;
+                }
+                seen[variable] = true;
+                bumpActivity(variable);
+                if (levels[variable] == decisionLevel()) {
+                    pathCount++;
+                } else {
+                    learnt.add(clause[j]);
+                }
+            }
+            while (!seen[trail[index] >> 1]) {
+                index--;
+            }
+            literal = trail[index--];
+            clauseIndex = reasons[literal >> 1];
+            seen[literal >> 1] = false;
+            pathCount--;
+        } while (pathCount > 0);
+        learnt.set(0, negate(literal));
+
+        int backjumpLevel = 0;
+        for (int i = 1; i < learnt.size(); i++) {
+            int variable = learnt.get(i) >> 1;
+            seen[variable] = false;
+            if (levels[variable] > backjumpLevel) {
+                backjumpLevel = levels[variable];
+                int swapped = learnt.get(1);
+                learnt.set(1, learnt.get(i));
+                learnt.set(i, swapped);
+            }
+        }
+        return backjumpLevel;
+    }
+
+    private void cancelUntil(int level) {
+        if (decisionLevel() <= level) {
+            return;
+        }
+        int limit = trailLimits.get(level);
+        for (int i = trailSize - 1; i >= limit; i--) {
+            int variable = trail[i] >> 1;
+            savedPhases[variable] = values[variable] == 1;
+            values[variable] = UNDEFINED;
+            reasons[variable] = NO_REASON;
+            if (!heap.contains(variable)) {
+                heap.insert(variable);
+            }
+        }
+        trailSize = limit;
+        propagationHead = limit;
+        trailLimits.truncate(level);
+    }
+
+    private int pickBranchVariable() {
+        while (!heap.isEmpty()) {
+            int variable = heap.removeMax();
+            if (values[variable] == UNDEFINED) {
+                return variable;
+            }
+        }
+        return UNDEFINED;
+    }
+
+    private int attachClause(int[] clause) {
+        int clauseIndex = clauses.size();
+        clauses.add(clause);
+        watches[clause[0]].add(clauseIndex);
+        watches[clause[1]].add(clauseIndex);
+        return clauseIndex;
+    }
+
+    private void enqueue(int literal, int reason) {
+        int variable = literal >> 1;
+        values[variable] = (literal & 1) == 0 ? 1 : 0;
+        levels[variable] = decisionLevel();
+        reasons[variable] = reason;
+        trail[trailSize++] = literal;
+    }
+
+    private void bumpActivity(int variable) {
+        activities[variable] += activityIncrement;
+        if (activities[variable] > ACTIVITY_LIMIT) {
+            for (int i = 0; i < variableCount; i++) {
+                activities[i] /= ACTIVITY_LIMIT;
+            }
+            activityIncrement /= ACTIVITY_LIMIT;
+        }
+        if (heap.contains(variable)) {
+            heap.increased(variable);
+        }
+    }
+
+    private void decayActivities() {
+        activityIncrement /= ACTIVITY_DECAY;
+    }
+
+    private int decisionLevel() {
+        return trailLimits.size();
+    }
+
+    /**
+     * @return 1 if literal is true, 0 if false, {@link #UNDEFINED} if unassigned
+     */
+    private int literalValue(int literal) {
+        int value = values[literal >> 1];
+        return value == UNDEFINED ? UNDEFINED : value ^ (literal & 1);
+    }
+
+    private int toLiteral(int dimacsLiteral) {
+        int variable = Math.abs(dimacsLiteral) - 1;
+        if (dimacsLiteral == 0 || variable >= variableCount) {
+            throw new IllegalArgumentException("Invalid literal: " + dimacsLiteral);
+        }
+        return dimacsLiteral > 0 ? 2 * variable : 2 * variable + 1;
+    }
+
+    private static int negate(int literal) {
+        return literal ^ 1;
+    }
+
+    /**
+     * Complexity: O(log index)
+     *
+     * @return element of the Luby sequence 1, 1, 2, 1, 1, 2, 4, 1, ... at given index starting from 0
+     */
+    static int luby(int index) {
+        int size = 1;
+        int sequence = 0;
+        while (size < index + 1) {
+            sequence++;
+            size = 2 * size + 1;
+        }
+        while (size - 1 != index) {
+            size = (size - 1) >> 1;
+            sequence--;
+            index = index % size;
+        }
+        return 1 << sequence;
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.algorithms.sat;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive ints.
+ */
+final class IntList {
+    private int[] elements = new int[4];
+    private int size;
+
+    void add(int element) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, 2 * elements.length);
+        }
+        elements[size++] = element;
+    }
+
+    int get(int index) {
+        return elements[index];
+    }
+
+    void set(int index, int element) {
+        elements[index] = element;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void truncate(int newSize) {
+        size = newSize;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+}
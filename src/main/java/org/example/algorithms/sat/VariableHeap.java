@@ -0,0 +1,86 @@
+package org.example.algorithms.sat;
+
+import java.util.Arrays;
+
+/**
+ * Binary max heap of variables ordered by activity. Positions of variables are tracked,
+ * so membership checks are O(1) and an activity increase is restored in O(log n).
+ */
+final class VariableHeap {
+    private final double[] activities;
+    private final int[] heap;
+    private final int[] positions;
+    private int size;
+
+    VariableHeap(double[] activities) {
+        this.activities = activities;
+        this.heap = new int[activities.length];
+        this.positions = new int[activities.length];
+        Arrays.fill(positions, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean contains(int variable) {
+        return positions[variable] >= 0;
+    }
+
+    void insert(int variable) {
+        heap[size] = variable;
+        positions[variable] = size;
+        siftUp(size++);
+    }
+
+    void increased(int variable) {
+        siftUp(positions[variable]);
+    }
+
+    int removeMax() {
+        int max = heap[0];
+        positions[max] = -1;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            positions[heap[0]] = 0;
+            siftDown(0);
+        }
+        return max;
+    }
+
+    private void siftUp(int position) {
+        int variable = heap[position];
+        while (position > 0) {
+            int parentPosition = (position - 1) / 2;
+            int parent = heap[parentPosition];
+            if (activities[parent] >= activities[variable]) {
+                break;
+            }
+            heap[position] = parent;
+            positions[parent] = position;
+            position = parentPosition;
+        }
+        heap[position] = variable;
+        positions[variable] = position;
+    }
+
+    private void siftDown(int position) {
+        int variable = heap[position];
+        while (2 * position + 1 < size) {
+            int childPosition = 2 * position + 1;
+            if (childPosition + 1 < size && activities[heap[childPosition + 1]] > activities[heap[childPosition]]) {
+                childPosition++;
+            }
+            int child = heap[childPosition];
+            if (activities[child] <= activities[variable]) {
+                break;
+            }
+            heap[position] = child;
+            positions[child] = position;
+            position = childPosition;
+        }
+        heap[position] = variable;
+        positions[variable] = position;
+    }
+}
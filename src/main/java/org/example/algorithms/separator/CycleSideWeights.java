@@ -0,0 +1,151 @@
+package org.example.algorithms.separator;
+
+import org.jgrapht.Graph;
+import org.jgrapht.Graphs;
+import org.jgrapht.alg.interfaces.PlanarityTestingAlgorithm;
+import org.jgrapht.alg.util.Pair;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Numbers of vertices on both sides of fundamental cycles of a spanning tree of an embedded graph. <p>
+ * Every vertex not on the cycle belongs to a subtree hanging from the cycle, subtrees of tree edges leaving a cycle
+ * vertex between the two cycle edges in its rotation lie on the same side. A tree edge to a child weighs the size of
+ * the child subtree, a tree edge to the parent weighs the number of vertices outside of the vertex subtree. Weights
+ * around every vertex are kept as prefix sums and the sides of an inner cycle vertex depend only on its two tree
+ * neighbors on the cycle, so they are summed along paths to the root as well.
+ * Complexity: O(n + m) to build, O(log n) per cycle
+ *
+ * @param <V> Vertex type
+ * @param <E> Edge type
+ */
+class CycleSideWeights<V, E> {
+    private final Graph<V, E> graph;
+    private final SpanningTreeIndex<V> tree;
+    /**
+     * weights of edges around vertex v before position j are at rotationPrefixSums[rotationOffsets[v] + v + j]
+     */
+    private final int[] rotationOffsets;
+    private final int[] rotationPrefixSums;
+    private final Map<E, Integer> positionsAtSource;
+    private final Map<E, Integer> positionsAtTarget;
+    /**
+     * side 1 and side 2 weights of inner vertices of the path from the root down to the vertex, when the cycle
+     * goes up along the path
+     */
+    private final int[] pathSide1;
+    private final int[] pathSide2;
+
+    /**
+     * @param tree      spanning tree of the graph of the embedding
+     * @param embedding embedding of the graph
+     */
+    CycleSideWeights(SpanningTreeIndex<V> tree, PlanarityTestingAlgorithm.Embedding<V, E> embedding) {
+        this.graph = embedding.getGraph();
+        this.tree = tree;
+        int n = tree.size();
+        this.rotationOffsets = new int[n + 1];
+        this.rotationPrefixSums = new int[n + 2 * graph.edgeSet().size()];
+        this.positionsAtSource = new HashMap<>(2 * graph.edgeSet().size());
+        this.positionsAtTarget = new HashMap<>(2 * graph.edgeSet().size());
+        for (int v = 0; v < n; v++) {
+            V vertex = tree.vertex(v);
+            List<E> rotation = embedding.getEdgesAround(vertex);
+            rotationOffsets[v + 1] = rotationOffsets[v] + rotation.size();
+            int base = rotationOffsets[v] + v;
+            for (int j = 0; j < rotation.size(); j++) {
+                E edge = rotation.get(j);
+                (vertex.equals(graph.getEdgeSource(edge)) ? positionsAtSource : positionsAtTarget).put(edge, j);
+                rotationPrefixSums[base + j + 1] = rotationPrefixSums[base + j]
+                        + weight(vertex, Graphs.getOppositeVertex(graph, edge, vertex));
+            }
+        }
+        this.pathSide1 = new int[n];
+        this.pathSide2 = new int[n];
+        for (int c = 0; c < n; c++) {
+            V child = tree.vertex(c);
+            V vertex = tree.parent(child);
+            if (vertex == null || tree.parent(vertex) == null) {
+                continue;
+            }
+            V parent = tree.parent(vertex);
+            int v = tree.indexOf(vertex);
+            pathSide1[c] = pathSide1[v] + weightBetween(vertex, child, parent);
+            pathSide2[c] = pathSide2[v] + weightBetween(vertex, parent, child);
+        }
+    }
+
+    /**
+     * Side 1 follows the edge to the previous vertex of the cycle around every cycle vertex, side 2 follows the
+     * edge to the next one.
+     *
+     * @param first first vertex of the cycle
+     * @param last  last vertex of the cycle, the cycle is the tree path between first and last closed by the edge
+     *              between them
+     * @return sums of weights of edges leaving the cycle on side 1 and side 2
+     */
+    Pair<Integer, Integer> sides(V first, V last) {
+        V commonAncestor = tree.lowestCommonAncestor(first, last);
+        int childDepth = tree.depth(commonAncestor) + 1;
+        V firstBranch = first.equals(commonAncestor) ? null : tree.ancestorAtDepth(first, childDepth);
+        V lastBranch = last.equals(commonAncestor) ? null : tree.ancestorAtDepth(last, childDepth);
+        int side1 = 0;
+        int side2 = 0;
+        if (firstBranch != null) {
+            int f = tree.indexOf(first);
+            int b = tree.indexOf(firstBranch);
+            side1 += pathSide1[f] - pathSide1[b];
+            side2 += pathSide2[f] - pathSide2[b];
+        }
+        if (lastBranch != null) {
+            int l = tree.indexOf(last);
+            int b = tree.indexOf(lastBranch);
+            side1 += pathSide2[l] - pathSide2[b];
+            side2 += pathSide1[l] - pathSide1[b];
+        }
+        V afterFirst = firstBranch == null ? lastBranch : tree.parent(first);
+        V beforeLast = lastBranch == null ? firstBranch : tree.parent(last);
+        side1 += weightBetween(first, last, afterFirst);
+        side2 += weightBetween(first, afterFirst, last);
+        side1 += weightBetween(last, beforeLast, first);
+        side2 += weightBetween(last, first, beforeLast);
+        if (firstBranch != null && lastBranch != null) {
+            side1 += weightBetween(commonAncestor, firstBranch, lastBranch);
+            side2 += weightBetween(commonAncestor, lastBranch, firstBranch);
+        }
+        return Pair.of(side1, side2);
+    }
+
+    /**
+     * @return sum of weights of edges strictly between the edges to the two neighbors in the rotation of the vertex
+     */
+    private int weightBetween(V vertex, V from, V to) {
+        int v = tree.indexOf(vertex);
+        int base = rotationOffsets[v] + v;
+        int degree = rotationOffsets[v + 1] - rotationOffsets[v];
+        int fromPosition = position(vertex, from);
+        int toPosition = position(vertex, to);
+        if (fromPosition < toPosition) {
+            return rotationPrefixSums[base + toPosition] - rotationPrefixSums[base + fromPosition + 1];
+        }
+        return rotationPrefixSums[base + degree] - rotationPrefixSums[base + fromPosition + 1]
+                + rotationPrefixSums[base + toPosition];
+    }
+
+    private int position(V vertex, V neighbor) {
+        E edge = graph.getEdge(vertex, neighbor);
+        return vertex.equals(graph.getEdgeSource(edge)) ? positionsAtSource.get(edge) : positionsAtTarget.get(edge);
+    }
+
+    private int weight(V vertex, V neighbor) {
+        if (vertex.equals(tree.parent(neighbor))) {
+            return tree.subtreeSize(neighbor);
+        }
+        if (neighbor.equals(tree.parent(vertex))) {
+            return tree.size() - tree.subtreeSize(vertex);
+        }
+        return 0;
+    }
+}
@@ -2,6 +2,8 @@ package org.example.algorithms.separator;
 
 import org.example.algorithms.planar.EmbeddingWithFaces;
 import org.example.algorithms.planar.PlanarTriangulationAlgorithm;
+import org.example.graph.InducedSubgraphView;
+import org.example.graph.OverlayGraph;
 import org.jgrapht.Graph;
 import org.jgrapht.Graphs;
 import org.jgrapht.alg.interfaces.PlanarityTestingAlgorithm;
@@ -10,14 +12,29 @@ import org.jgrapht.alg.util.Pair;
 import org.jgrapht.graph.SimpleGraph;
 import org.jheaps.annotations.VisibleForTesting;
 
-import java.util.Set;
 import java.util.*;
-import java.util.stream.Collectors;
-
-import static org.example.algorithms.coloring.ThreeColoringUtils.subgraph;
 
+/**
+ * Lipton-Tarjan separator of a connected planar graph, neither of the subsets has more than 2n/3 vertices and the
+ * separator has O(sqrt(n)) vertices. <p>
+ * Simple stage: levels of a breadth first search tree are used when a single level or two levels around the level
+ * splitting the vertices in halves are small enough. Otherwise levels above the lower of the two levels are
+ * contracted into the root, levels starting from the upper one are removed and the remaining graph is triangulated.
+ * Complex stage: every non tree edge of the triangulation closes a cycle of the spanning tree of length at most twice
+ * its depth. Starting from any of them, while the heavier side of the cycle has more than 2/3 of the vertices, the
+ * cycle is replaced by a cycle closed by an edge of the triangle inside of it. The separator consists of the
+ * cycle and the two levels.
+ * Source graph is only read. The graph of the complex stage is an {@link OverlayGraph} of the subgraph induced by
+ * the kept vertices, edges to the contracted root and edges of the triangulation are added to the overlay. Embedding
+ * of the triangulated graph is derived from the embedding of the source graph, given one the planarity test
+ * doesn't run at all.
+ *
+ * @param <V> Vertex type
+ * @param <E> Edge type
+ */
 public class PlanarConnectedSeparatorFindingAlgorithm<V, E> implements SeparatorFindingAlgorithm<V> {
     private final Graph<V, E> sourceGraph;
+    private PlanarityTestingAlgorithm.Embedding<V, E> sourceEmbedding;
     private final int n;
     private Set<V> separator;
     private Set<V> subsetA;
@@ -25,12 +42,28 @@ public class PlanarConnectedSeparatorFindingAlgorithm<V, E> implements Separator
     private List<List<V>> spanningTreeLevels;
     private int level0;
     private int level2;
+    private Map<V, V> levelTreeParents;
 
-    private Map<V,V> spanningTreeParentNodes;
+    private Map<V, V> spanningTreeParentNodes;
+    private SpanningTreeIndex<V> spanningTreeIndex;
 
     public PlanarConnectedSeparatorFindingAlgorithm(Graph<V, E> sourceGraph) {
+        this(sourceGraph, null);
+    }
+
+    /**
+     * @param embedding embedding of the connected graph to split
+     */
+    public PlanarConnectedSeparatorFindingAlgorithm(PlanarityTestingAlgorithm.Embedding<V, E> embedding) {
+        this(embedding.getGraph(), embedding);
+    }
+
+    private PlanarConnectedSeparatorFindingAlgorithm(Graph<V, E> sourceGraph,
+                                                     PlanarityTestingAlgorithm.Embedding<V, E> sourceEmbedding) {
         this.sourceGraph = sourceGraph;
+        this.sourceEmbedding = sourceEmbedding;
         this.n = sourceGraph.vertexSet().size();
+        runAlgorithm();
     }
 
     @Override
@@ -52,624 +85,622 @@ public class PlanarConnectedSeparatorFindingAlgorithm<V, E> implements Separator
         return spanningTreeParentNodes;
     }
 
-    public void runAlgorithm() {
-
+    private void runAlgorithm() {
+        if (n == 0) {
+            initializeSets();
+            return;
+        }
         // 1 - Simple Stage
-        Graph<V,E> modifiedGraph = simpleStage();
-        Graph<V,E> spanningTree = subgraph(modifiedGraph,modifiedGraph.vertexSet());
-        if(modifiedGraph==null) return;
+        Graph<V, Object> modifiedGraph = simpleStage();
+        if (modifiedGraph == null) {
+            return;
+        }
 
         // 2
-        var embedding = new BoyerMyrvoldPlanarityInspector<>(modifiedGraph).getEmbedding();
-        var triangulatedFaces = new PlanarTriangulationAlgorithm<>(embedding).triangulate();
+        var triangulatedFaces = new PlanarTriangulationAlgorithm<>(restrictEmbedding(modifiedGraph)).triangulate();
+        var embedding = triangulatedFaces.getHalfEdges();
 
         // 3
-        // całe szukanie cyklu
-        complexStage(modifiedGraph, spanningTree, embedding, triangulatedFaces);
+        complexStage(modifiedGraph, embedding, triangulatedFaces);
     }
 
-    private void complexStage(Graph<V,E> G, Graph<V,E> spanningTree,
-                              PlanarityTestingAlgorithm.Embedding embedding, EmbeddingWithFaces triangulatedFaces){
-        E cycleEdge = pickNontreeEdge(G);
-        V v1 = sourceGraph.getEdgeSource(cycleEdge);
-        V v2 = sourceGraph.getEdgeTarget(cycleEdge);
-        V commonAncestor = getLowestCommonAncestor(v1,v2);
-        List<V> cycle = getCycle(v1,v2,commonAncestor);
-        Map<E, Integer> outgoingEdgesWeights = computeOutgoingEdgeWeights(spanningTree, v1, v2, commonAncestor, cycle);
+    private void complexStage(Graph<V, Object> G, PlanarityTestingAlgorithm.Embedding<V, Object> embedding,
+                              EmbeddingWithFaces<V, Object> triangulatedFaces) {
+        Graph<V, Object> spanningTree = createSpanningTreeUsingBFS(G, contractedRoot());
+        var cycleSideWeights = new CycleSideWeights<>(spanningTreeIndex, embedding);
+        Object cycleEdge = pickNontreeEdge(G, spanningTree);
+        V v1 = G.getEdgeSource(cycleEdge);
+        V v2 = G.getEdgeTarget(cycleEdge);
+        var cycle = new SeparatorCycle<>(spanningTreeIndex, v1, v2);
 
-        Pair<Integer,Integer> cycleValues = SumCycleSides(spanningTree,cycle,embedding,outgoingEdgesWeights);
+        Pair<Integer, Integer> cycleValues = cycleSideWeights.sides(v1, v2);
         int area, cycleValue;
-        if(cycleValues.getFirst() > cycleValues.getSecond()){
+        if (cycleValues.getFirst() > cycleValues.getSecond()) {
             area = 1;
             cycleValue = cycleValues.getFirst();
-        }
-        else{
+        } else {
             area = 2;
             cycleValue = cycleValues.getSecond();
         }
 
-        try {
-            findSufficientCycle(G, spanningTree, cycle, area, cycleValue, cycleEdge,
-                    embedding, triangulatedFaces, outgoingEdgesWeights);
-        }
-        catch (Exception ex){
-
-        }
-
-        // TODO Step 10
+        findSufficientCycle(G, spanningTree, cycle, area, cycleValue, cycleSideWeights, triangulatedFaces);
 
+        // 10
+        countSeparatorAndSubsets(G, spanningTree, cycle, area, embedding);
     }
 
-    private void CountSeparatorAndSubsets(List<V> cycle){
-//        separator.addAll(cycle);
-//        separator.addAll(spanningTreeLevels.get(level0));
-//        separator.addAll(spanningTreeLevels.get(level2));
-//        separator.
-    }
-
-    private void findSufficientCycle(Graph<V,E> G, Graph<V,E> spanningTree, List<V> cycle,
-                                     int area, int cycleValue, E cycleEdge,
-                                     PlanarityTestingAlgorithm.Embedding embedding,
-                                     EmbeddingWithFaces<V,E> triangulatedFaces,
-                                     Map<E,Integer> outgoingEdgesWeights) throws Exception {
-        int currentCycleValue = cycleValue;
-        E currentCycleEdge = cycleEdge;
-        while(currentCycleValue > 2/3*n){
-            List<E> edgesInArea = findTriangleEdgesInArea(G,cycle,area,currentCycleEdge,embedding,triangulatedFaces);
-            V vertexY = commonVertex(G, edgesInArea.get(0), edgesInArea.get(1));
-
-            //TODO Find a faster way to check if edge is in the spanning tree
-            var edgesInAreaFromSpanningTree = edgesInArea.stream().
-                    filter(e-> spanningTree.edgeSet().contains(e)).collect(Collectors.toList());
-
-            switch (edgesInAreaFromSpanningTree.size()){
-                case 0:
-                    findClosestVertexOnCycleAndUpdateWeights(spanningTree, cycle, vertexY);
-                    V vertexX = cycle.get(0);
-                    V vertexZ = cycle.get(cycle.size()-1);
-                    V commonAncestorXY = getLowestCommonAncestor(vertexY, vertexX);
-                    V commonAncestorYZ = getLowestCommonAncestor(vertexY, vertexZ);
-
-                    var cycle1 = getCycle(vertexX, vertexY, commonAncestorXY);
-                    var cycle2 = getCycle(vertexY, vertexZ, commonAncestorYZ);
-                    int cycle1Value, cycle2Value;
-                    var cycle1Values = SumCycleSides(spanningTree, cycle1, embedding, outgoingEdgesWeights);
-                    // TODO You don't have to count cycle2Values manually
-                    var cycle2Values = SumCycleSides(spanningTree, cycle2, embedding, outgoingEdgesWeights);
-                    if(area==1){
-                        cycle1Value = cycle1Values.getFirst();
-                        cycle2Value = cycle2Values.getFirst();
-                    }
-                    else{
-                        cycle1Value = cycle1Values.getSecond();
-                        cycle2Value = cycle2Values.getSecond();
-                    }
-                    if(cycle1Value>cycle2Value){
-                        cycle = cycle1;
-                        currentCycleValue = cycle1Value;
-                        currentCycleEdge = G.getEdge(vertexX,vertexY);
-                    }
-                    else{
-                        cycle = cycle2;
-                        currentCycleValue = cycle2Value;
-                        currentCycleEdge = G.getEdge(vertexY, vertexZ);
-                    }
-                    break;
-                case 1:
-                    //TODO (?) Count subtrees for y (Figure 4.3b))
-                    V vertex1InArea = G.getEdgeSource(edgesInAreaFromSpanningTree.get(0));
-                    V vertex2InArea = G.getEdgeTarget(edgesInAreaFromSpanningTree.get(0));
-                    V vertexInArea = vertex1InArea; // default assignment
-                    for(int i=0; i<cycle.size(); i++){
-                        V vertexFromCycle = cycle.get(i);
-                        if(vertexFromCycle.equals(vertex1InArea)){
-                            cycle.add(i+1,vertex2InArea);
-                            vertexInArea = vertex2InArea;
-                            break;
-                        }
-                        else if(vertexFromCycle.equals(vertex2InArea)){
-                            cycle.add(i+1,vertex1InArea);
-                            vertexInArea = vertex1InArea;
-                            break;
-                        }
-                        else if(vertexFromCycle.equals(vertex2InArea)){
-                            cycle.add(i+1,vertex2InArea);
-                        }
-                    }
-                    currentCycleValue--;
-                    getEdgesWeights(spanningTree, vertexInArea,
-                            spanningTreeParentNodes.get(vertexInArea), outgoingEdgesWeights);
-                    break;
-                default:
-                    throw new Exception("Error in findSufficientCycle: More than one edge lies inside the cycle");
-            }
-        }
+    /**
+     * Root of the spanning tree of the modified graph, stands for all vertices up to level 0 if it is not empty
+     */
+    private V contractedRoot() {
+        return spanningTreeLevels.get(0).get(0);
     }
 
-    private void findClosestVertexOnCycleAndUpdateWeights(Graph<V,E> spanningTree, List<V> cycle, V vertex){
-        V parent = spanningTreeParentNodes.get(vertex);
-
-        //TODO Better way to check if vertex is on cycle
-        do {
-            for(E edge: spanningTree.outgoingEdgesOf(vertex)) {
-                countSubtreeVerticesRecursive(spanningTree,
-                        Graphs.getOppositeVertex(spanningTree, edge, vertex), vertex);
+    /**
+     * Separator are vertices of the cycle and levels 0 and 2, subsets are formed from vertices inside and outside
+     * of the cycle, and vertices above level 0 and below level 2.
+     */
+    private void countSeparatorAndSubsets(Graph<V, Object> G, Graph<V, Object> spanningTree,
+                                          SeparatorCycle<V> cycle, int area,
+                                          PlanarityTestingAlgorithm.Embedding<V, Object> embedding) {
+        Set<V> middle = new HashSet<>();
+        addVerticesBetweenLevelsToSubset(spanningTreeLevels, level0 + 1, level2 - 1, middle);
+        initializeSets();
+        for (V v : cycle.asList()) {
+            if (middle.contains(v)) {
+                separator.add(v);
             }
-            vertex = parent;
-            parent = spanningTreeParentNodes.get(parent);
-        }while(!cycle.contains(vertex));
-    }
-    private V commonVertex(Graph<V,E> G, E e1, E e2){
-        V v1 = G.getEdgeSource(e1);
-        V v2 = G.getEdgeTarget(e1);
-        if(v1.equals(G.getEdgeSource(e2)) || v1.equals(G.getEdgeTarget(e2))) {
-            return v1;
         }
-        else if (v2.equals(G.getEdgeSource(e2)) || v2.equals(G.getEdgeTarget(e2))) {
-            return v2;
+        if (level0 >= 0) {
+            separator.addAll(spanningTreeLevels.get(level0));
         }
-        else {
-            return null;
+        if (level2 < spanningTreeLevels.size()) {
+            separator.addAll(spanningTreeLevels.get(level2));
         }
-    }
-
-    private List<E> findTriangleEdgesInArea(Graph<V,E> G, List<V> cycle, int area, E cycleEdge,
-                               PlanarityTestingAlgorithm.Embedding embedding, EmbeddingWithFaces<V,E> triangulatedFaces){
-        var triangles = triangulatedFaces.getFaces().stream()
-                .filter(face -> face.edges().contains(cycleEdge)).collect(Collectors.toList());
-        V cycleEdgeSource = G.getEdgeSource(cycleEdge);
-        V cycleEdgeTarget = G.getEdgeTarget(cycleEdge);
-
-        List<E> edgesInArea = new ArrayList<>();
-        for(var face:triangles){
-            for(var edge:face.edges()){
-                if(checkIfEdgeInArea(G,cycle,area,embedding,edge.edge())){
-                    edgesInArea.add(edge.edge());
-                }
+        Set<V> inside = new HashSet<>();
+        for (V v : verticesOnCycleSide(G, spanningTree, cycle, area, embedding)) {
+            if (middle.contains(v)) {
+                inside.add(v);
             }
         }
-        return edgesInArea;
-    }
-
-    private boolean checkIfEdgeInArea(Graph<V,E> G, List<V> cycle, int area,
-                                      PlanarityTestingAlgorithm.Embedding embedding, E edge){
-        V vertexOnCycle, vertexNotOnCycle;
-        if(cycle.contains(G.getEdgeSource(edge)) && cycle.contains(G.getEdgeTarget(edge))) {
-            return false;
-        }
-        else if(cycle.contains(G.getEdgeSource(edge))){
-            vertexOnCycle = G.getEdgeSource(edge);
-            vertexNotOnCycle = G.getEdgeTarget(edge);
-        }
-        else if (cycle.contains(G.getEdgeTarget(edge))){
-            vertexNotOnCycle = G.getEdgeSource(edge);
-            vertexOnCycle = G.getEdgeTarget(edge);
-        }
-        else{
-            return false; // TODO What if cycle has no common vertex with edge
-        }
-
-        int vertexOnCycleIndex = cycle.indexOf(vertexOnCycle);
-        int nextIndex = Math.floorMod(vertexOnCycleIndex+1,cycle.size());
-        V nextV  = cycle.get(nextIndex);
-        int prevIndex = Math.floorMod(vertexOnCycleIndex-1,cycle.size());
-        V prevV  = cycle.get(prevIndex);
-
-        List<E> outEdges = embedding.getEdgesAround(vertexOnCycle);
-        int prevEdgeIndex=0, nextEdgeIndex=0;
-        for (int j=0;j<outEdges.size();j++){
-            V v2 = G.getEdgeTarget(outEdges.get(vertexOnCycleIndex));
-            if(v2.equals(prevV))prevEdgeIndex=j;
-            if(v2.equals(nextV))nextEdgeIndex=j;
-        }
-
-        int currentArea = 0;
-        for(int j=0;j<outEdges.size();j++) {
-            if(j==prevEdgeIndex) {
-                currentArea = 1;
-                continue;
-            }
-            else if(j==nextEdgeIndex) {
-                currentArea = 2;
-                continue;
+        Set<V> outside = new HashSet<>();
+        for (V v : middle) {
+            if (!inside.contains(v) && !separator.contains(v)) {
+                outside.add(v);
             }
-            if(outEdges.get(j).equals(edge)) {
-                return currentArea == area;
+        }
+        Set<V> above = new HashSet<>();
+        addVerticesBetweenLevelsToSubset(spanningTreeLevels, 0, level0 - 1, above);
+        Set<V> below = new HashSet<>();
+        addVerticesBetweenLevelsToSubset(spanningTreeLevels, level2 + 1, spanningTreeLevels.size() - 1, below);
+        assignParts(List.of(inside, outside, above, below));
+    }
+
+    /**
+     * Vertices of subtrees of the spanning tree hanging from the cycle to given side.
+     */
+    private Set<V> verticesOnCycleSide(Graph<V, Object> G, Graph<V, Object> spanningTree,
+                                       SeparatorCycle<V> cycle, int area,
+                                       PlanarityTestingAlgorithm.Embedding<V, Object> embedding) {
+        Set<V> vertices = new HashSet<>();
+        Deque<V> stack = new ArrayDeque<>();
+        for (V v : cycle.asList()) {
+            for (Object edge : edgesOnCycleSide(cycle, v, embedding, area)) {
+                V u = Graphs.getOppositeVertex(G, edge, v);
+                if (spanningTree.containsEdge(edge) && !cycle.contains(u) && vertices.add(u)) {
+                    stack.push(u);
+                }
             }
         }
-        for(int j=0;j<outEdges.size();j++){
-            if(outEdges.get(j).equals(edge)) {
-                return currentArea == area;
+        while (!stack.isEmpty()) {
+            V v = stack.pop();
+            for (Object edge : spanningTree.edgesOf(v)) {
+                V u = Graphs.getOppositeVertex(spanningTree, edge, v);
+                if (!cycle.contains(u) && vertices.add(u)) {
+                    stack.push(u);
+                }
             }
         }
-        return false;
+        return vertices;
     }
 
-    @VisibleForTesting
-    Pair<Integer, Integer> SumCycleSides(Graph<V,E> G, List<V> cycle,
-                               PlanarityTestingAlgorithm.Embedding embedding, Map<E,Integer> outgoingEdgesWeights){
-        int count1=0,count2=0;
-
-        for(int i=0;i<cycle.size();i++){
-            int nextIndex = Math.floorMod(i+1,cycle.size());
-            V nextV  = cycle.get(nextIndex);
-            int prevIndex = Math.floorMod(i-1,cycle.size());
-            V prevV  = cycle.get(prevIndex);
-            V v = cycle.get(i);
-
-            List<E> outEdges = embedding.getEdgesAround(cycle.get(i));
-            int prevEdgeIndex=0, nextEdgeIndex=0;
-            for (int j=0;j<outEdges.size();j++){
-                V v2 = Graphs.getOppositeVertex(G, outEdges.get(j), v);
-                if(v2.equals(prevV))prevEdgeIndex=j;
-                if(v2.equals(nextV))nextEdgeIndex=j;
+    /**
+     * Replaces the cycle by one of the cycles closed by the other edges of the triangle lying inside of it on
+     * the side of the closing edge, the one with more vertices inside, until at most 2/3 of vertices of the graph
+     * are inside. Every step removes at least the triangle from the inside, so the loop ends. Vertices leaving the
+     * cycle end up outside of it for good, so splicing the cycle takes linear time over all steps.
+     */
+    private void findSufficientCycle(Graph<V, Object> G, Graph<V, Object> spanningTree,
+                                     SeparatorCycle<V> cycle, int area, int cycleValue,
+                                     CycleSideWeights<V, Object> cycleSideWeights,
+                                     EmbeddingWithFaces<V, Object> triangulatedFaces) {
+        int graphSize = G.vertexSet().size();
+        int currentCycleValue = cycleValue;
+        int remainingSteps = 2 * G.edgeSet().size();
+        while (3 * currentCycleValue > 2 * graphSize) {
+            if (remainingSteps-- == 0) {
+                throw new IllegalStateException("Cycle doesn't shrink");
             }
+            V vertexX = cycle.first();
+            V vertexZ = cycle.last();
+            List<Object> edgesInArea = findTriangleEdgesInArea(G, vertexX, vertexZ, area, triangulatedFaces);
+            V vertexY = commonVertex(G, edgesInArea.get(0), edgesInArea.get(1));
 
-            int currentArea = 0;
-
-            for(int j=0;j<outEdges.size();j++) {
-
-                if(j==prevEdgeIndex) {
-                    currentArea = 1;
-                    continue;
-                }
-                else if(j==nextEdgeIndex) {
-                    currentArea = 2;
+            Pair<V, V> nextCycle = null;
+            int nextCycleValue = -1;
+            for (var ends : List.of(Pair.of(vertexX, vertexY), Pair.of(vertexY, vertexZ))) {
+                if (spanningTree.containsEdge(ends.getFirst(), ends.getSecond())) {
                     continue;
                 }
-
-                if(currentArea ==1) {
-                    System.out.println(outEdges.get(j));
-                    count1 += outgoingEdgesWeights.get(outEdges.get(j));
-                }
-                else if(currentArea ==2) {
-                    System.out.println(outEdges.get(j));
-                    count2 += outgoingEdgesWeights.get(outEdges.get(j));
+                var candidateValues = cycleSideWeights.sides(ends.getFirst(), ends.getSecond());
+                int candidateValue = area == 1 ? candidateValues.getFirst() : candidateValues.getSecond();
+                if (candidateValue > nextCycleValue) {
+                    nextCycle = ends;
+                    nextCycleValue = candidateValue;
                 }
             }
-
-            for(int j=0;j<outEdges.size();j++){
-                if(j==prevEdgeIndex || j==nextEdgeIndex) {
-                    break;
-                }
-                if(currentArea ==1) {
-                    System.out.println(outEdges.get(j));
-                    count1 += outgoingEdgesWeights.get(outEdges.get(j));
-                }
-                else if(currentArea ==2) {
-                    System.out.println(outEdges.get(j));
-                    count2 += outgoingEdgesWeights.get(outEdges.get(j));
-                }
+            if (nextCycle == null) {
+                throw new IllegalStateException("Triangle inside the cycle has no non tree edge");
             }
+            cycle.closeBy(nextCycle.getFirst(), nextCycle.getSecond());
+            currentCycleValue = nextCycleValue;
         }
-
-        return new Pair<>(count1, count2);
     }
 
-    @VisibleForTesting
-    Map<E, Integer> computeOutgoingEdgeWeights(Graph<V,E> G, V v1, V v2, V commonAncestor, List<V> cycle) {
-        Map<E,Integer>  outgoingEdgesWeights = new HashMap<>();
-        getEdgesWeights(G,v1,commonAncestor, outgoingEdgesWeights);
-        getEdgesWeights(G,v2,commonAncestor, outgoingEdgesWeights);
-        getEdgesWeightsForCommonAncestor(G,commonAncestor,cycle,outgoingEdgesWeights);
-
-        return outgoingEdgesWeights;
-    }
-
-    private void getEdgesWeightsForCommonAncestor(Graph<V,E> G, V v1, List<V> cycle,Map<E,Integer> edgesWeights){
-
-        int v1Index = cycle.indexOf(v1);
-
-        int vPrevIndex = v1Index-1;
-        if(vPrevIndex<0)vPrevIndex = cycle.size()-1;
-
-        int vNextIndex = v1Index+1;
-        if(vNextIndex>cycle.size()-1)vNextIndex = 0;
-
-        V vNext = cycle.get(vNextIndex);
-        V vPrev = cycle.get(vPrevIndex);
-
-        for(E e : G.outgoingEdgesOf(v1)){
-            V v2 = Graphs.getOppositeVertex(G, e, v1);
-            if(v2.equals(vNext)||v2.equals(vPrev)) continue;
-            int count = countSubtreeVerticesRecursive(G,v2,v1);
-            edgesWeights.put(e, count);
+    private V commonVertex(Graph<V, Object> G, Object e1, Object e2) {
+        V v1 = G.getEdgeSource(e1);
+        V v2 = G.getEdgeTarget(e1);
+        if (v1.equals(G.getEdgeSource(e2)) || v1.equals(G.getEdgeTarget(e2))) {
+            return v1;
+        } else if (v2.equals(G.getEdgeSource(e2)) || v2.equals(G.getEdgeTarget(e2))) {
+            return v2;
+        } else {
+            return null;
         }
     }
 
-    private void getEdgesWeights(Graph<V,E> G,V v1, V commonAncestor,Map<E,Integer> weights){
-        V prev = null;
-
-        while (!v1.equals(commonAncestor)) {
-            V parent = spanningTreeParentNodes.get(v1);
-
-            for (E e : G.outgoingEdgesOf(v1)) {
-
-                V outgoingVertex = Graphs.getOppositeVertex(G, e, v1);
-                if (outgoingVertex.equals(parent) || outgoingVertex.equals(prev)) continue;
-
-                int count = countSubtreeVerticesRecursive(G, outgoingVertex, v1);
-                weights.put(e, count);
+    /**
+     * Face containing the edge from the last vertex of the cycle to the first one lies on side 1 of the cycle, the
+     * face containing the opposite edge lies on side 2.
+     * Complexity: O(1)
+     *
+     * @return the two other edges of the triangle adjacent to the closing edge of the cycle on given side
+     */
+    private List<Object> findTriangleEdgesInArea(Graph<V, Object> G, V first, V last, int area,
+                                                 EmbeddingWithFaces<V, Object> triangulatedFaces) {
+        Object cycleEdge = G.getEdge(first, last);
+        var node = area == 1 ? new EmbeddingWithFaces.Node<>(last, first, cycleEdge)
+                : new EmbeddingWithFaces.Node<>(first, last, cycleEdge);
+        var triangle = triangulatedFaces.getFace(node);
+
+        List<Object> edgesInArea = new ArrayList<>(2);
+        for (var edge : triangle.edges()) {
+            if (!edge.equals(node)) {
+                edgesInArea.add(edge.edge());
             }
-
-            prev = v1;
-            v1 = parent;
         }
-
+        return edgesInArea;
     }
 
+    /**
+     * Edges around a vertex of the cycle are split by the two cycle edges, side 1 are the edges following the edge
+     * to the previous vertex of the cycle and side 2 are the edges following the edge to the next one.
+     *
+     * @return edges of the vertex of the cycle lying on given side
+     */
+    private List<Object> edgesOnCycleSide(SeparatorCycle<V> cycle, V v,
+                                          PlanarityTestingAlgorithm.Embedding<V, Object> embedding, int area) {
+        V nextV = cycle.next(v);
+        V prevV = cycle.previous(v);
+
+        List<Object> outEdges = embedding.getEdgesAround(v);
+        int prevEdgeIndex = 0, nextEdgeIndex = 0;
+        for (int j = 0; j < outEdges.size(); j++) {
+            V v2 = Graphs.getOppositeVertex(embedding.getGraph(), outEdges.get(j), v);
+            if (v2.equals(prevV)) prevEdgeIndex = j;
+            if (v2.equals(nextV)) nextEdgeIndex = j;
+        }
+        int from = area == 1 ? prevEdgeIndex : nextEdgeIndex;
+        int to = area == 1 ? nextEdgeIndex : prevEdgeIndex;
+
+        List<Object> edges = new ArrayList<>();
+        for (int j = Math.floorMod(from + 1, outEdges.size()); j != to && j != from;
+             j = Math.floorMod(j + 1, outEdges.size())) {
+            edges.add(outEdges.get(j));
+        }
+        return edges;
+    }
+
+    /**
+     * Complexity: O(n + m) to index the embedding, algorithm reuses the index for all cycles
+     *
+     * @return sums of weights of edges leaving the cycle on side 1 and side 2
+     */
+    @VisibleForTesting
+    <X> Pair<Integer, Integer> SumCycleSides(List<V> cycle, PlanarityTestingAlgorithm.Embedding<V, X> embedding) {
+        return new CycleSideWeights<>(spanningTreeIndex, embedding).sides(cycle.get(0), cycle.get(cycle.size() - 1));
+    }
 
-
-    private int countSubtreeVerticesRecursive(Graph<V, E> G, V vertex, V parent) {
-        int count = 1;
-        for (E edge : G.outgoingEdgesOf(vertex)) {
-            V v = Graphs.getOppositeVertex(G,edge, vertex);
-            if(v.equals(parent)) {
-                continue;
+    /**
+     * Complexity: O(sum of degrees of cycle vertices)
+     *
+     * @return for every tree edge leaving the cycle, number of vertices of the subtree it leads to
+     */
+    @VisibleForTesting
+    <X> Map<X, Integer> computeOutgoingEdgeWeights(Graph<V, X> spanningTree, List<V> cycle) {
+        Map<X, Integer> outgoingEdgesWeights = new HashMap<>();
+        for (int i = 0; i < cycle.size(); i++) {
+            V v = cycle.get(i);
+            V nextV = cycle.get(Math.floorMod(i + 1, cycle.size()));
+            V prevV = cycle.get(Math.floorMod(i - 1, cycle.size()));
+            for (X edge : spanningTree.edgesOf(v)) {
+                V u = Graphs.getOppositeVertex(spanningTree, edge, v);
+                if (u.equals(nextV) || u.equals(prevV)) {
+                    continue;
+                }
+                outgoingEdgesWeights.put(edge, v.equals(spanningTreeIndex.parent(u))
+                        ? spanningTreeIndex.subtreeSize(u)
+                        : spanningTreeIndex.size() - spanningTreeIndex.subtreeSize(v));
             }
-            count += countSubtreeVerticesRecursive(G, v,vertex);
         }
-
-        return count;
+        return outgoingEdgesWeights;
     }
 
+    /**
+     * Complexity: O(length of the cycle)
+     *
+     * @return path from v1 up to the common ancestor and down to v2
+     */
     @VisibleForTesting
-    List<V> getCycle(V v1, V v2, V commonAncestor){
-        List<V> path1 = getUpPath(v1,commonAncestor);
+    List<V> getCycle(V v1, V v2, V commonAncestor) {
+        List<V> path1 = spanningTreeIndex.pathUp(v1, commonAncestor);
         path1.add(commonAncestor);
 
-        List<V> path2 = getUpPath(v2,commonAncestor);
+        List<V> path2 = spanningTreeIndex.pathUp(v2, commonAncestor);
         Collections.reverse(path2);
         path1.addAll(path2);
 
         return path1;
     }
-    private List<V> getUpPath(V v1, V ancestor){
-        List<V> path = new ArrayList<>();
-        while(v1!=ancestor){
-            path.add(v1);
-            v1 = spanningTreeParentNodes.get(v1);
-        }
-        return path;
-    }
 
+    /**
+     * Complexity: O(log n)
+     */
     @VisibleForTesting
-    V getLowestCommonAncestor(V v1, V v2){
-        List<V> path1 = getPathToRoot(v1);
-        do{
-            if(path1.contains(v2))return v2;
-            v2 = spanningTreeParentNodes.get(v2);
-        }while(v2!=null);
-        return null;
+    V getLowestCommonAncestor(V v1, V v2) {
+        return spanningTreeIndex.lowestCommonAncestor(v1, v2);
     }
 
-    private List<V> getPathToRoot(V vertex){
-        List<V> path= new ArrayList<>();
-        path.add(vertex);
-        while(true){
-            vertex = spanningTreeParentNodes.get(vertex);
-            if(vertex==null)break;
-            path.add(vertex);
-        }
-        return path;
-    }
-
-    private E pickNontreeEdge(Graph<V,E> spanningTree){
-        for (E edge : sourceGraph.edgeSet()) { //problem, dać triangulację a nie sourceGraph
+    private Object pickNontreeEdge(Graph<V, Object> G, Graph<V, Object> spanningTree) {
+        for (Object edge : G.edgeSet()) {
             if (!spanningTree.containsEdge(edge)) {
                 return edge;
             }
         }
-        return null;
+        throw new IllegalStateException("Triangulation has no non tree edge");
     }
 
-    private Graph<V,E> simpleStage()    {
-        List<List<V>> treeLevels = spanningTreeLevels = createSpanningTreeLevelsUsingBFS(sourceGraph.vertexSet().stream().findFirst().orElse(null));
-        Graph<V,E> spanningTree = createSpanningTreeUsingBFS(sourceGraph.vertexSet().stream().findFirst().orElse(null));
+    private Graph<V, Object> simpleStage() {
+        V root = sourceGraph.vertexSet().iterator().next();
+        List<List<V>> treeLevels = spanningTreeLevels = createSpanningTreeLevelsUsingBFS(root);
         int centerLevel = findTreeCenterOfGravityLevel(treeLevels);
 
-        if(checkSingleLevelSeparatorSize(treeLevels.get(centerLevel))) {
-            submitSingleLevelSeparator(treeLevels,centerLevel);
+        if (checkSingleLevelSeparatorSize(treeLevels.get(centerLevel))) {
+            submitSingleLevelSeparator(treeLevels, centerLevel);
             return null;
         }
 
-        int levelBelow = findLevelBelowCenter(treeLevels,centerLevel);
-        int levelAbove = findLevelAboveCenter(treeLevels,centerLevel);
+        int levelsUpToCenterSize = getVerticesCountBetweenLevels(treeLevels, 0, centerLevel);
+        int levelBelow = findLevelBelowCenter(treeLevels, centerLevel, levelsUpToCenterSize);
+        int levelAbove = findLevelAboveCenter(treeLevels, centerLevel, n - levelsUpToCenterSize);
 
-        if(checkTwoLevelsSeparatorSize(treeLevels,levelBelow,levelAbove)) {
-            submitTwoLevelsSeparator(treeLevels,levelBelow,levelAbove);
+        if (checkTwoLevelsSeparatorSize(treeLevels, levelBelow, levelAbove)) {
+            submitTwoLevelsSeparator(treeLevels, levelBelow, levelAbove);
             return null;
         }
 
-        modifyGraphForComplexStage(spanningTree,treeLevels,levelBelow,levelAbove);
         this.level0 = levelBelow;
         this.level2 = levelAbove;
-        return spanningTree;
-    }
-    private List<List<V>> createSpanningTreeLevelsUsingBFS(V startVertex) {
-
-            List<List<V>> levels = new ArrayList<>();
-            Queue<V> queue = new LinkedList<>();
-            Set<V> visited = new HashSet<>();
-    
-            queue.add(startVertex);
-            visited.add(startVertex);
-    
-            while (!queue.isEmpty()) {
-                int size = queue.size();
-                List<V> levelVertices = new ArrayList<>();
-
-                for (int i = 0; i < size; i++) {
-                    V vertex = queue.poll();
-                    levelVertices.add(vertex);
-
-                    for (E edge : sourceGraph.outgoingEdgesOf(vertex)) {
-                        V neighbor = sourceGraph.getEdgeTarget(edge);
-                        if (!visited.contains(neighbor)) {
-                            queue.add(neighbor);
-                            visited.add(neighbor);
-                        }
-                    }
-                }
-
-                levels.add(levelVertices);
-            }
-            return levels;
+        return modifyGraphForComplexStage(treeLevels, levelBelow, levelAbove);
     }
 
-    @VisibleForTesting
-    Graph<V,E> createSpanningTreeUsingBFS(V startVertex) {
-
-        Graph<V,E> spanningTree = new SimpleGraph<V,E>(sourceGraph.getVertexSupplier(),sourceGraph.getEdgeSupplier(),false);
-        Queue<V> queue = new LinkedList<>();
-        Set<V> visited = new HashSet<>();
-        Map<V,V> parentNodes = new HashMap<>();
+    private List<List<V>> createSpanningTreeLevelsUsingBFS(V startVertex) {
+        List<List<V>> levels = new ArrayList<>();
+        Queue<V> queue = new ArrayDeque<>();
+        Map<V, V> parents = new HashMap<>();
 
-        parentNodes.put(startVertex,null);
-        spanningTree.addVertex(startVertex);
         queue.add(startVertex);
-        visited.add(startVertex);
+        parents.put(startVertex, null);
 
         while (!queue.isEmpty()) {
             int size = queue.size();
+            List<V> levelVertices = new ArrayList<>();
 
             for (int i = 0; i < size; i++) {
                 V vertex = queue.poll();
+                levelVertices.add(vertex);
 
                 for (E edge : sourceGraph.outgoingEdgesOf(vertex)) {
                     V neighbor = Graphs.getOppositeVertex(sourceGraph, edge, vertex);
-                    if (!visited.contains(neighbor)) {
-                        parentNodes.put(neighbor,vertex);
+                    if (!parents.containsKey(neighbor)) {
+                        parents.put(neighbor, vertex);
                         queue.add(neighbor);
-                        visited.add(neighbor);
-                        spanningTree.addVertex(neighbor);
-                        spanningTree.addEdge(sourceGraph.getEdgeSource(edge), sourceGraph.getEdgeTarget(edge), edge);
                     }
                 }
-                visited.add(vertex);
+            }
+
+            levels.add(levelVertices);
+        }
+        levelTreeParents = parents;
+        return levels;
+    }
+
+    @VisibleForTesting
+    Graph<V, E> createSpanningTreeUsingBFS(V startVertex) {
+        return createSpanningTreeUsingBFS(sourceGraph, startVertex);
+    }
+
+    private <X> Graph<V, X> createSpanningTreeUsingBFS(Graph<V, X> G, V startVertex) {
+        Graph<V, X> spanningTree = new SimpleGraph<>(null, null, false);
+        Queue<V> queue = new ArrayDeque<>();
+        Map<V, V> parentNodes = new HashMap<>();
+        List<V> bfsOrder = new ArrayList<>(G.vertexSet().size());
+
+        parentNodes.put(startVertex, null);
+        spanningTree.addVertex(startVertex);
+        queue.add(startVertex);
+
+        while (!queue.isEmpty()) {
+            V vertex = queue.poll();
+            bfsOrder.add(vertex);
+            for (X edge : G.outgoingEdgesOf(vertex)) {
+                V neighbor = Graphs.getOppositeVertex(G, edge, vertex);
+                if (!parentNodes.containsKey(neighbor)) {
+                    parentNodes.put(neighbor, vertex);
+                    queue.add(neighbor);
+                    spanningTree.addVertex(neighbor);
+                    spanningTree.addEdge(G.getEdgeSource(edge), G.getEdgeTarget(edge), edge);
+                }
             }
         }
         spanningTreeParentNodes = parentNodes;
+        spanningTreeIndex = new SpanningTreeIndex<>(bfsOrder, parentNodes);
         return spanningTree;
     }
+
+    /**
+     * @return first level such that levels up to it contain at least half of the vertices
+     */
     private int findTreeCenterOfGravityLevel(List<List<V>> tree) {
-        int maxLevel = tree.size() - 1;
         int cumulativeCount = 0;
-
-        for (int i = 0; i <= maxLevel; i++) {
-            List<V> levelVertices = tree.get(i);
-            cumulativeCount += levelVertices.size();
-            
-            if (cumulativeCount >= n / 2) {
+        for (int i = 0; i < tree.size(); i++) {
+            cumulativeCount += tree.get(i).size();
+            if (2 * cumulativeCount >= n) {
                 return i;
             }
         }
-
-        return -1; // Jeśli nie znaleziono odpowiedniego poziomu
+        throw new IllegalStateException("Levels don't contain all vertices");
     }
-    private boolean checkSingleLevelSeparatorSize(List<V> separator){
-        int separatorSize = separator.size();
 
-        return false; // Do ogarnięcia wielkość separatora
+    /**
+     * Levels above and below the center have less than n/2 vertices each, so a single level is a separator as
+     * long as it is not larger than the Lipton-Tarjan bound 2 * sqrt(2n).
+     */
+    private boolean checkSingleLevelSeparatorSize(List<V> separator) {
+        return separator.size() <= 2 * Math.sqrt(2 * n);
     }
-    private void submitSingleLevelSeparator(List<List<V>> treeLevels, int center){
+
+    private void submitSingleLevelSeparator(List<List<V>> treeLevels, int center) {
         initializeSets();
-        for(int i=0;i<center;i++) subsetA.addAll(treeLevels.get(i));
+        addVerticesBetweenLevelsToSubset(treeLevels, 0, center - 1, subsetA);
         separator.addAll(treeLevels.get(center));
-        for(int i=center+1;i<treeLevels.size();i++) subsetB.addAll(treeLevels.get(i));
+        addVerticesBetweenLevelsToSubset(treeLevels, center + 1, treeLevels.size() - 1, subsetB);
     }
-    private void submitTwoLevelsSeparator(List<List<V>> treeLevels,int belowLevel,int aboveLevel){
-        initializeSets();
-        int sizeA = getVerticesCountBetweenLevels(treeLevels,0,belowLevel-1);
-        int sizeB = getVerticesCountBetweenLevels(treeLevels,belowLevel+1,aboveLevel-1);
-        int sizeC = getVerticesCountBetweenLevels(treeLevels,aboveLevel+1,treeLevels.size()-1);
-
-        int maxSize = Math.max(Math.max(sizeA,sizeB),sizeC);
-        Set<V> currentSet;
-
-        currentSet = maxSize==sizeA? subsetA:subsetB;
-        addVerticesBetweenLevelsToSubset(treeLevels,0,belowLevel-1,currentSet);
-
-        currentSet = maxSize==sizeB? subsetA:subsetB;
-        addVerticesBetweenLevelsToSubset(treeLevels,belowLevel+1,aboveLevel-1,currentSet);
 
-        currentSet = maxSize==sizeC? subsetA:subsetB;
-        addVerticesBetweenLevelsToSubset(treeLevels,aboveLevel+1,treeLevels.size()-1,currentSet);
-
-        separator.addAll(treeLevels.get(belowLevel));
-        separator.addAll(treeLevels.get(aboveLevel));
+    private void submitTwoLevelsSeparator(List<List<V>> treeLevels, int belowLevel, int aboveLevel) {
+        initializeSets();
+        Set<V> above = new HashSet<>();
+        addVerticesBetweenLevelsToSubset(treeLevels, 0, belowLevel - 1, above);
+        Set<V> between = new HashSet<>();
+        addVerticesBetweenLevelsToSubset(treeLevels, belowLevel + 1, aboveLevel - 1, between);
+        Set<V> below = new HashSet<>();
+        addVerticesBetweenLevelsToSubset(treeLevels, aboveLevel + 1, treeLevels.size() - 1, below);
+        if (belowLevel >= 0) {
+            separator.addAll(treeLevels.get(belowLevel));
+        }
+        if (aboveLevel < treeLevels.size()) {
+            separator.addAll(treeLevels.get(aboveLevel));
+        }
+        assignParts(List.of(above, between, below));
+    }
+
+    /**
+     * Splits parts with at most 2n/3 vertices each between the two subsets. The largest part goes to subset A,
+     * if it has less than n/3 vertices, next parts are added until subset A reaches n/3. Both subsets end up
+     * with at most 2n/3 vertices.
+     */
+    private void assignParts(List<Set<V>> parts) {
+        List<Set<V>> sortedParts = new ArrayList<>(parts);
+        sortedParts.sort(Comparator.comparing(Set<V>::size).reversed());
+        for (Set<V> part : sortedParts) {
+            if (subsetA.isEmpty() || 3 * subsetA.size() < n) {
+                subsetA.addAll(part);
+            } else {
+                subsetB.addAll(part);
+            }
+        }
     }
-    private void addVerticesBetweenLevelsToSubset(List<List<V>> treeLevels,int from,int to, Set<V> S){
-        for(int i =from;i<=to;i++){
+
+    private void addVerticesBetweenLevelsToSubset(List<List<V>> treeLevels, int from, int to, Set<V> S) {
+        for (int i = Math.max(from, 0); i <= to && i < treeLevels.size(); i++) {
             S.addAll(treeLevels.get(i));
         }
     }
-    private boolean checkTwoLevelsSeparatorSize(List<List<V>> tree,int belowLevel,int aboveLevel){
-        int sizeA = getVerticesCountBetweenLevels(tree,0,belowLevel-1);
-        int sizeB = getVerticesCountBetweenLevels(tree,belowLevel+1,aboveLevel-1);
-        int sizeC = getVerticesCountBetweenLevels(tree,aboveLevel+1,tree.size()-1);
 
-        int maxSize = Math.max(Math.max(sizeA,sizeB),sizeC);
+    private boolean checkTwoLevelsSeparatorSize(List<List<V>> tree, int belowLevel, int aboveLevel) {
+        int sizeA = getVerticesCountBetweenLevels(tree, 0, belowLevel - 1);
+        int sizeB = getVerticesCountBetweenLevels(tree, belowLevel + 1, aboveLevel - 1);
+        int sizeC = getVerticesCountBetweenLevels(tree, aboveLevel + 1, tree.size() - 1);
 
-        return maxSize<n*2/3;
+        int maxSize = Math.max(Math.max(sizeA, sizeB), sizeC);
 
+        return 3 * maxSize <= 2 * n;
     }
-//    private int getMaxSubsetSize(List<List<V>> tree,int belowLevel,int aboveLevel){
-//        int sizeA = getVerticesCountBetweenLevels(tree,0,belowLevel-1);
-//        int sizeB = getVerticesCountBetweenLevels(tree,belowLevel+1,aboveLevel-1);
-//        int sizeC = getVerticesCountBetweenLevels(tree,aboveLevel+1,tree.size()-1);
-//
-//        return Math.max(Math.max(sizeA,sizeB),sizeC);
-//    }
-    private int getVerticesCountBetweenLevels(List<List<V>> tree,int bottom,int top){
+
+    private int getVerticesCountBetweenLevels(List<List<V>> tree, int bottom, int top) {
         int count = 0;
-        for(int i=bottom;i<=top;i++){
+        for (int i = Math.max(bottom, 0); i <= top && i < tree.size(); i++) {
             count += tree.get(i).size();
         }
         return count;
     }
-    private int findLevelBelowCenter(List<List<V>> tree, int middle){
-        int sqrtN = (int) Math.sqrt(n);
 
-        for(int i = middle-1;i>=0;i--) {
-            int levelSize = tree.get(i).size();
-            int D = middle-i;
-            if(2*(sqrtN-D)>=levelSize)return i;
+    /**
+     * @param k number of vertices up to the center level
+     * @return highest level l0 below the center with |L(l0)| + 2(center - l0) <= 2 sqrt(k) or -1 standing for an
+     * empty level above the root
+     */
+    private int findLevelBelowCenter(List<List<V>> tree, int middle, int k) {
+        for (int i = middle - 1; i >= 0; i--) {
+            if (tree.get(i).size() + 2 * (middle - i) <= 2 * Math.sqrt(k)) {
+                return i;
+            }
         }
         return -1;
     }
-    private int findLevelAboveCenter(List<List<V>> tree, int middle){
-        int sqrtN = (int) Math.sqrt(n);
 
-        for(int i = middle+1;i<tree.size();i++) {
-            int levelSize = tree.get(i).size();
-            int D = i-middle;
-            if(2*(sqrtN-D)>=levelSize)return i;
+    /**
+     * @param k number of vertices below the center level
+     * @return lowest level l2 above the center with |L(l2)| + 2(l2 - center - 1) <= 2 sqrt(k) or the number of
+     * levels standing for an empty level below the last one
+     */
+    private int findLevelAboveCenter(List<List<V>> tree, int middle, int k) {
+        for (int i = middle + 1; i < tree.size(); i++) {
+            if (tree.get(i).size() + 2 * (i - middle - 1) <= 2 * Math.sqrt(k)) {
+                return i;
+            }
         }
-        return -1;
-    }
-    private void modifyGraphForComplexStage(Graph<V, E> tree,List<List<V>> treeLevels, int belowLevel,int aboveLevel){
-
-        for(int i=aboveLevel;i<treeLevels.size();i++){
-            for (V v:treeLevels.get(i)) {
-                tree.removeVertex(v);
+        return tree.size();
+    }
+
+    /**
+     * Keeps vertices strictly between the two levels. Levels up to the lower one are contracted into the root,
+     * which becomes adjacent to the whole next level. Edges of the root missing in the source graph are added to the
+     * overlay.
+     */
+    private Graph<V, Object> modifyGraphForComplexStage(List<List<V>> treeLevels, int belowLevel,
+                                                        int aboveLevel) {
+        Set<V> kept = new HashSet<>();
+        addVerticesBetweenLevelsToSubset(treeLevels, belowLevel + 1, aboveLevel - 1, kept);
+        if (belowLevel >= 0) {
+            kept.add(contractedRoot());
+        }
+        OverlayGraph<V, Object> modifiedGraph = new OverlayGraph<>(InducedSubgraphView.of(sourceGraph, kept),
+                Object::new);
+        if (belowLevel >= 0) {
+            V topVertex = contractedRoot();
+            for (V v : treeLevels.get(belowLevel + 1)) {
+                modifiedGraph.addEdge(topVertex, v);
             }
         }
-        V topVertex = treeLevels.get(0).get(0);
-
-        for(int i=0;i<=treeLevels.size();i++){
-            for (V v:treeLevels.get(i)) {
-                tree.removeVertex(v);
+        return modifiedGraph;
+    }
+
+    /**
+     * Rotations of the modified graph read from the embedding of the source graph. A middle vertex keeps its edges
+     * to middle vertices, the first of its edges to level 0 stands for its edge to the contracted root. Rotation of
+     * the root walks around the breadth first search tree of the contracted levels, the way contracting tree edges
+     * one by one merges rotations, and keeps the edges standing for edges to the root. Contracting and removing
+     * edges keeps the embedding plane.
+     * Complexity: O(n + m)
+     */
+    private PlanarityTestingAlgorithm.Embedding<V, Object> restrictEmbedding(Graph<V, Object> modifiedGraph) {
+        if (sourceEmbedding == null) {
+            sourceEmbedding = new BoyerMyrvoldPlanarityInspector<>(sourceGraph).getEmbedding();
+        }
+        Set<V> contracted = new HashSet<>();
+        addVerticesBetweenLevelsToSubset(spanningTreeLevels, 0, level0, contracted);
+        V root = contractedRoot();
+        Map<V, List<Object>> rotations = new HashMap<>();
+        Map<V, E> edgesToRoot = new HashMap<>();
+        for (V v : modifiedGraph.vertexSet()) {
+            if (contracted.contains(v)) {
+                continue;
+            }
+            List<Object> rotation = new ArrayList<>();
+            for (E edge : sourceEmbedding.getEdgesAround(v)) {
+                V u = Graphs.getOppositeVertex(sourceGraph, edge, v);
+                if (contracted.contains(u)) {
+                    if (edgesToRoot.putIfAbsent(v, edge) == null) {
+                        rotation.add(modifiedGraph.getEdge(v, root));
+                    }
+                } else if (modifiedGraph.containsVertex(u)) {
+                    rotation.add(edge);
+                }
+            }
+            rotations.put(v, rotation);
+        }
+        if (!contracted.isEmpty()) {
+            rotations.put(root, contractedRootRotation(modifiedGraph, contracted, edgesToRoot));
+        }
+        return new PlanarityTestingAlgorithm.EmbeddingImpl<>(modifiedGraph, rotations);
+    }
+
+    /**
+     * Complexity: O(sum of degrees of contracted vertices)
+     */
+    private List<Object> contractedRootRotation(Graph<V, Object> modifiedGraph, Set<V> contracted,
+                                                     Map<V, E> edgesToRoot) {
+        V root = contractedRoot();
+        List<Object> rotation = new ArrayList<>();
+        Deque<RotationWalk<V, E>> stack = new ArrayDeque<>();
+        List<E> rootRotation = sourceEmbedding.getEdgesAround(root);
+        stack.push(new RotationWalk<>(root, rootRotation, 0, rootRotation.size()));
+        while (!stack.isEmpty()) {
+            RotationWalk<V, E> walk = stack.peek();
+            if (walk.remaining == 0) {
+                stack.pop();
+                continue;
+            }
+            E edge = walk.next();
+            V u = Graphs.getOppositeVertex(sourceGraph, edge, walk.vertex);
+            if (!contracted.contains(u)) {
+                if (edge.equals(edgesToRoot.get(u))) {
+                    rotation.add(modifiedGraph.getEdge(root, u));
+                }
+            } else if (walk.vertex.equals(levelTreeParents.get(u))) {
+                List<E> childRotation = sourceEmbedding.getEdgesAround(u);
+                int entry = childRotation.indexOf(edge);
+                stack.push(new RotationWalk<>(u, childRotation, entry + 1, childRotation.size() - 1));
             }
         }
+        return rotation;
+    }
 
-        tree.addVertex(topVertex);
+    /**
+     * Position in the rotation of a contracted vertex, a child entered by a tree edge is walked from the edge after
+     * it until the edge before it.
+     */
+    private static final class RotationWalk<V, E> {
+        private final V vertex;
+        private final List<E> rotation;
+        private int position;
+        private int remaining;
 
-        for (V v:treeLevels.get(belowLevel+1)) {
-            tree.addEdge(topVertex, v);
+        RotationWalk(V vertex, List<E> rotation, int position, int remaining) {
+            this.vertex = vertex;
+            this.rotation = rotation;
+            this.position = position;
+            this.remaining = remaining;
+        }
+
+        E next() {
+            remaining--;
+            return rotation.get(position++ % rotation.size());
         }
     }
-    private void initializeSets(){
+
+    private void initializeSets() {
         subsetA = new HashSet<>();
         subsetB = new HashSet<>();
         separator = new HashSet<>();
@@ -1,6 +1,8 @@
 package org.example.algorithms.separator;
 
 import com.google.common.collect.Sets;
+import org.example.algorithms.planar.RestrictedEmbedding;
+import org.example.graph.InducedSubgraphView;
 import org.jgrapht.Graph;
 import org.jgrapht.alg.connectivity.ConnectivityInspector;
 import org.jgrapht.alg.interfaces.PlanarityTestingAlgorithm;
@@ -12,11 +14,20 @@ import java.util.Optional;
 import java.util.Set;
 
 import static java.util.stream.Collectors.toUnmodifiableSet;
-import static org.example.algorithms.coloring.ThreeColoringUtils.subgraph;
 
+/**
+ * Lipton-Tarjan separator of a planar graph, components are split by {@link PlanarConnectedSeparatorFindingAlgorithm}
+ * unless they can be divided between the subsets as a whole. <p>
+ * Planarity test runs once, the embedding is restricted to the component instead of embedding it again. Given an
+ * embedding, for example a restriction of an embedding of a larger graph, the test is skipped.
+ *
+ * @param <V> Vertex type
+ * @param <E> Edge type
+ */
 public class PlanarSeparatorFindingAlgorithm<V, E> implements SeparatorFindingAlgorithm<V>{
 
     private final Graph<V, E> sourceGraph;
+    private PlanarityTestingAlgorithm.Embedding<V, E> embedding;
     private final int n;
     private Set<V> separator;
     private Set<V> subsetA;
@@ -28,6 +39,16 @@ public class PlanarSeparatorFindingAlgorithm<V, E> implements SeparatorFindingAl
         runAlgorithm();
     }
 
+    /**
+     * @param embedding embedding of the graph to split
+     */
+    public PlanarSeparatorFindingAlgorithm(PlanarityTestingAlgorithm.Embedding<V, E> embedding) {
+        this.sourceGraph = embedding.getGraph();
+        this.embedding = embedding;
+        this.n = sourceGraph.vertexSet().size();
+        runAlgorithm();
+    }
+
     @Override
     public Set<V> getSparator() {
         return separator;
@@ -44,9 +65,12 @@ public class PlanarSeparatorFindingAlgorithm<V, E> implements SeparatorFindingAl
     }
 
     private void preprocessing() {
-        PlanarityTestingAlgorithm<V, E> planarityTestingAlgorithm = new BoyerMyrvoldPlanarityInspector<>(sourceGraph);
-        if (!planarityTestingAlgorithm.isPlanar()) {
-            throw new IllegalStateException("Graph is not planar");
+        if (embedding == null) {
+            PlanarityTestingAlgorithm<V, E> planarityTestingAlgorithm = new BoyerMyrvoldPlanarityInspector<>(sourceGraph);
+            if (!planarityTestingAlgorithm.isPlanar()) {
+                throw new IllegalStateException("Graph is not planar");
+            }
+            embedding = planarityTestingAlgorithm.getEmbedding();
         }
         ConnectivityInspector<V, E> connectivityInspector = new ConnectivityInspector<>(sourceGraph);
         connectedComponents = connectivityInspector.connectedSets();
@@ -80,9 +104,10 @@ public class PlanarSeparatorFindingAlgorithm<V, E> implements SeparatorFindingAl
        Set<V> biggestComponent = connectedComponents.stream()
                 .max(Comparator.comparing(Set::size))
                 .orElseThrow();
-        Graph<V, E> biggestComponentGraph = subgraph(sourceGraph, biggestComponent);
+        Graph<V, E> biggestComponentGraph = InducedSubgraphView.of(sourceGraph, biggestComponent);
 
-        var connectedSeparatorAlg = new PlanarConnectedSeparatorFindingAlgorithm<>(biggestComponentGraph);
+        var connectedSeparatorAlg = new PlanarConnectedSeparatorFindingAlgorithm<>(
+                new RestrictedEmbedding<>(embedding, biggestComponentGraph));
 
         this.separator = connectedSeparatorAlg.getSparator();
         if (connectedSeparatorAlg.getSubsetA().size() > connectedSeparatorAlg.getSubsetB().size()) {
@@ -0,0 +1,184 @@
+package org.example.algorithms.separator;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fundamental cycle of a spanning tree, the tree path from the first vertex to the last one closed by the edge
+ * between them. <p>
+ * Vertices of the cycle get consecutive labels in cycle order and are kept in a ring buffer under their labels, so
+ * membership, position, predecessor and successor are answered in O(1). Moving to the cycle closed by an edge
+ * sharing the first or the last vertex keeps the common part of the two tree paths and splices the rest at that end
+ * of the buffer, in time proportional to the number of removed and added vertices.
+ *
+ * @param <V> Vertex type
+ */
+class SeparatorCycle<V> {
+    private static final int NOT_ON_CYCLE = -1;
+
+    private final SpanningTreeIndex<V> tree;
+    /**
+     * tree index of the vertex labeled L is at slots[floorMod(L, slots.length)]
+     */
+    private final int[] slots;
+    private final int[] labels;
+    private final boolean[] onCycle;
+    private int firstLabel;
+    private int lastLabel;
+    private V commonAncestor;
+
+    SeparatorCycle(SpanningTreeIndex<V> tree, V first, V last) {
+        this.tree = tree;
+        this.slots = new int[tree.size()];
+        this.labels = new int[tree.size()];
+        this.onCycle = new boolean[tree.size()];
+        Arrays.fill(slots, NOT_ON_CYCLE);
+        commonAncestor = tree.lowestCommonAncestor(first, last);
+        firstLabel = 0;
+        lastLabel = -1;
+        appendPath(first, commonAncestor, last);
+    }
+
+    V first() {
+        return vertexLabeled(firstLabel);
+    }
+
+    V last() {
+        return vertexLabeled(lastLabel);
+    }
+
+    int size() {
+        return lastLabel - firstLabel + 1;
+    }
+
+    boolean contains(V vertex) {
+        return onCycle[tree.indexOf(vertex)];
+    }
+
+    /**
+     * @return position of the vertex counted from the first one
+     */
+    int position(V vertex) {
+        return labels[tree.indexOf(vertex)] - firstLabel;
+    }
+
+    V get(int position) {
+        return vertexLabeled(firstLabel + Math.floorMod(position, size()));
+    }
+
+    /**
+     * @return next vertex of the cycle, the first one follows the last one
+     */
+    V next(V vertex) {
+        return get(position(vertex) + 1);
+    }
+
+    V previous(V vertex) {
+        return get(position(vertex) - 1);
+    }
+
+    /**
+     * Replaces the cycle by the one closed by the edge between given vertices, one of them has to be the current
+     * first or last vertex.
+     * Complexity: O(log n + number of removed and added vertices)
+     */
+    void closeBy(V first, V last) {
+        V nextCommonAncestor = tree.lowestCommonAncestor(first, last);
+        if (first.equals(first())) {
+            V shared = deeper(commonAncestor, nextCommonAncestor);
+            removeAfter(labels[tree.indexOf(shared)]);
+            appendPath(shared, nextCommonAncestor, last);
+        } else if (last.equals(last())) {
+            V shared = deeper(commonAncestor, nextCommonAncestor);
+            removeBefore(labels[tree.indexOf(shared)]);
+            prependPath(nextCommonAncestor, first);
+        } else {
+            throw new IllegalArgumentException("Cycle closed by " + first + " - " + last + " shares no end with "
+                    + first() + " - " + last());
+        }
+        commonAncestor = nextCommonAncestor;
+    }
+
+    /**
+     * @return vertices of the cycle from the first one, the view reflects later changes
+     */
+    List<V> asList() {
+        return new AbstractList<>() {
+            @Override
+            public V get(int index) {
+                return vertexLabeled(firstLabel + index);
+            }
+
+            @Override
+            public int size() {
+                return SeparatorCycle.this.size();
+            }
+        };
+    }
+
+    private V deeper(V v1, V v2) {
+        return tree.depth(v1) >= tree.depth(v2) ? v1 : v2;
+    }
+
+    /**
+     * Appends the tree path from the vertex after the current last one up to the ancestor and down to the end. The
+     * current last vertex is the start or lies on the path from the start up to the ancestor.
+     */
+    private void appendPath(V start, V ancestor, V end) {
+        if (size() == 0) {
+            add(++lastLabel, start);
+        }
+        while (!last().equals(ancestor)) {
+            V parent = tree.parent(last());
+            add(++lastLabel, parent);
+        }
+        List<V> down = tree.pathUp(end, ancestor);
+        for (int i = down.size() - 1; i >= 0; i--) {
+            add(++lastLabel, down.get(i));
+        }
+    }
+
+    /**
+     * Mirror of {@link #appendPath(Object, Object, Object)} in front of the current first vertex.
+     */
+    private void prependPath(V ancestor, V end) {
+        while (!first().equals(ancestor)) {
+            V parent = tree.parent(first());
+            add(--firstLabel, parent);
+        }
+        List<V> down = tree.pathUp(end, ancestor);
+        for (int i = down.size() - 1; i >= 0; i--) {
+            add(--firstLabel, down.get(i));
+        }
+    }
+
+    private void removeAfter(int label) {
+        while (lastLabel > label) {
+            remove(lastLabel--);
+        }
+    }
+
+    private void removeBefore(int label) {
+        while (firstLabel < label) {
+            remove(firstLabel++);
+        }
+    }
+
+    private void add(int label, V vertex) {
+        int v = tree.indexOf(vertex);
+        slots[Math.floorMod(label, slots.length)] = v;
+        labels[v] = label;
+        onCycle[v] = true;
+    }
+
+    private void remove(int label) {
+        int slot = Math.floorMod(label, slots.length);
+        onCycle[slots[slot]] = false;
+        slots[slot] = NOT_ON_CYCLE;
+    }
+
+    private V vertexLabeled(int label) {
+        return tree.vertex(slots[Math.floorMod(label, slots.length)]);
+    }
+}
@@ -0,0 +1,158 @@
+package org.example.algorithms.separator;
+
+import org.example.graph.VertexIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rooted spanning tree stored in int arrays indexed by position of a vertex in breadth first search order, so every
+ * parent has smaller index than its children. Lowest common ancestors are answered by binary lifting, subtree sizes
+ * are summed up in reverse order.
+ * Complexity: O(n log n) to build, O(log n) per lowest common ancestor query
+ *
+ * @param <V> Vertex type
+ */
+class SpanningTreeIndex<V> {
+    private static final int NO_PARENT = -1;
+
+    private final VertexIndex<V> vertices;
+    private final int[] parents;
+    private final int[] depths;
+    private final int[] subtreeSizes;
+    /**
+     * ancestors[k][v] is the ancestor of v 2^k levels above it or the root if the tree is not that deep
+     */
+    private final int[][] ancestors;
+
+    /**
+     * @param bfsOrder vertices in breadth first search order starting from the root
+     * @param parents  parent of every vertex, the root maps to null
+     */
+    SpanningTreeIndex(List<V> bfsOrder, Map<V, V> parents) {
+        this.vertices = VertexIndex.of(bfsOrder);
+        int n = bfsOrder.size();
+        this.parents = new int[n];
+        this.depths = new int[n];
+        for (int v = 0; v < n; v++) {
+            V parent = parents.get(bfsOrder.get(v));
+            this.parents[v] = parent == null ? NO_PARENT : vertices.indexOf(parent);
+            depths[v] = parent == null ? 0 : depths[this.parents[v]] + 1;
+        }
+        this.subtreeSizes = new int[n];
+        for (int v = n - 1; v >= 0; v--) {
+            subtreeSizes[v]++;
+            if (this.parents[v] != NO_PARENT) {
+                subtreeSizes[this.parents[v]] += subtreeSizes[v];
+            }
+        }
+        int maxDepth = n == 0 ? 0 : depths[n - 1];
+        int levels = 32 - Integer.numberOfLeadingZeros(Math.max(maxDepth, 1));
+        this.ancestors = new int[levels][];
+        ancestors[0] = new int[n];
+        for (int v = 0; v < n; v++) {
+            ancestors[0][v] = this.parents[v] == NO_PARENT ? v : this.parents[v];
+        }
+        for (int k = 1; k < levels; k++) {
+            int[] previous = ancestors[k - 1];
+            int[] current = ancestors[k] = new int[n];
+            for (int v = 0; v < n; v++) {
+                current[v] = previous[previous[v]];
+            }
+        }
+    }
+
+    int size() {
+        return parents.length;
+    }
+
+    /**
+     * @return parent of the vertex or null for the root
+     */
+    V parent(V vertex) {
+        int parent = parents[vertices.indexOf(vertex)];
+        return parent == NO_PARENT ? null : vertices.vertex(parent);
+    }
+
+    int depth(V vertex) {
+        return depths[vertices.indexOf(vertex)];
+    }
+
+    /**
+     * @return number of vertices of the subtree rooted in given vertex, the vertex included
+     */
+    int subtreeSize(V vertex) {
+        return subtreeSizes[vertices.indexOf(vertex)];
+    }
+
+    /**
+     * @return position of the vertex in breadth first search order
+     */
+    int indexOf(V vertex) {
+        return vertices.indexOf(vertex);
+    }
+
+    V vertex(int index) {
+        return vertices.vertex(index);
+    }
+
+    /**
+     * Complexity: O(log n)
+     *
+     * @return ancestor of the vertex lying on given depth, not deeper than the vertex
+     */
+    V ancestorAtDepth(V vertex, int depth) {
+        int v = vertices.indexOf(vertex);
+        return vertices.vertex(ancestor(v, depths[v] - depth));
+    }
+
+    V lowestCommonAncestor(V v1, V v2) {
+        int a = vertices.indexOf(v1);
+        int b = vertices.indexOf(v2);
+        if (depths[a] < depths[b]) {
+            int swap = a;
+            a = b;
+            b = swap;
+        }
+        a = ancestor(a, depths[a] - depths[b]);
+        if (a == b) {
+            return vertices.vertex(a);
+        }
+        for (int k = ancestors.length - 1; k >= 0; k--) {
+            if (ancestors[k][a] != ancestors[k][b]) {
+                a = ancestors[k][a];
+                b = ancestors[k][b];
+            }
+        }
+        return vertices.vertex(parents[a]);
+    }
+
+    private int ancestor(int v, int distance) {
+        for (int k = 0; distance > 0; k++, distance >>= 1) {
+            if ((distance & 1) == 1) {
+                v = ancestors[k][v];
+            }
+        }
+        return v;
+    }
+
+    /**
+     * Complexity: O(length of the path)
+     *
+     * @return vertices from given vertex up to the ancestor, the ancestor excluded
+     */
+    List<V> pathUp(V vertex, V ancestor) {
+        int v = vertices.indexOf(vertex);
+        int target = vertices.indexOf(ancestor);
+        List<V> path = new ArrayList<>(Math.max(depths[v] - depths[target], 0));
+        while (v != target) {
+            if (v == NO_PARENT) {
+                throw new IllegalArgumentException(ancestor + " is not an ancestor of " + vertex);
+            }
+            path.add(vertices.vertex(v));
+            v = parents[v];
+        }
+        return path;
+    }
+}
@@ -0,0 +1,257 @@
+package org.example.graph;
+
+import org.jgrapht.Graph;
+import org.jgrapht.GraphType;
+import org.jgrapht.graph.AbstractGraph;
+import org.jgrapht.graph.DefaultGraphType;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Read-only {@link Graph} backed by a {@link CsrGraph}, vertices and edges are their int ids. Lets algorithms
+ * written for jgrapht graphs run on the compact representation. Sets returned by this view are computed on
+ * access and don't store boxed ids.
+ */
+public final class CsrGraphView extends AbstractGraph<Integer, Integer> {
+    private static final GraphType TYPE = new DefaultGraphType.Builder()
+            .undirected()
+            .allowMultipleEdges(false)
+            .allowSelfLoops(false)
+            .weighted(false)
+            .modifiable(false)
+            .build();
+
+    private final CsrGraph graph;
+
+    CsrGraphView(CsrGraph graph) {
+        this.graph = graph;
+    }
+
+    public CsrGraph csrGraph() {
+        return graph;
+    }
+
+    @Override
+    public Set<Integer> getAllEdges(Integer sourceVertex, Integer targetVertex) {
+        if (!containsVertex(sourceVertex) || !containsVertex(targetVertex)) {
+            return null;
+        }
+        Integer edge = getEdge(sourceVertex, targetVertex);
+        return edge == null ? Set.of() : Set.of(edge);
+    }
+
+    @Override
+    public Integer getEdge(Integer sourceVertex, Integer targetVertex) {
+        if (!containsVertex(sourceVertex) || !containsVertex(targetVertex)) {
+            return null;
+        }
+        int edge = graph.edge(sourceVertex, targetVertex);
+        return edge < 0 ? null : edge;
+    }
+
+    @Override
+    public Supplier<Integer> getVertexSupplier() {
+        return null;
+    }
+
+    @Override
+    public Supplier<Integer> getEdgeSupplier() {
+        return null;
+    }
+
+    @Override
+    public Integer addEdge(Integer sourceVertex, Integer targetVertex) {
+        throw new UnsupportedOperationException("CsrGraphView is read-only");
+    }
+
+    @Override
+    public boolean addEdge(Integer sourceVertex, Integer targetVertex, Integer edge) {
+        throw new UnsupportedOperationException("CsrGraphView is read-only");
+    }
+
+    @Override
+    public Integer addVertex() {
+        throw new UnsupportedOperationException("CsrGraphView is read-only");
+    }
+
+    @Override
+    public boolean addVertex(Integer vertex) {
+        throw new UnsupportedOperationException("CsrGraphView is read-only");
+    }
+
+    @Override
+    public boolean containsEdge(Integer edge) {
+        return edge != null && edge >= 0 && edge < graph.edgeCount();
+    }
+
+    @Override
+    public boolean containsVertex(Integer vertex) {
+        return vertex != null && vertex >= 0 && vertex < graph.vertexCount();
+    }
+
+    @Override
+    public Set<Integer> edgeSet() {
+        return new IdRange(graph.edgeCount());
+    }
+
+    @Override
+    public int degreeOf(Integer vertex) {
+        assertVertexExist(vertex);
+        return graph.degree(vertex);
+    }
+
+    @Override
+    public Set<Integer> edgesOf(Integer vertex) {
+        assertVertexExist(vertex);
+        return new IncidentEdges(vertex);
+    }
+
+    @Override
+    public int inDegreeOf(Integer vertex) {
+        return degreeOf(vertex);
+    }
+
+    @Override
+    public Set<Integer> incomingEdgesOf(Integer vertex) {
+        return edgesOf(vertex);
+    }
+
+    @Override
+    public int outDegreeOf(Integer vertex) {
+        return degreeOf(vertex);
+    }
+
+    @Override
+    public Set<Integer> outgoingEdgesOf(Integer vertex) {
+        return edgesOf(vertex);
+    }
+
+    @Override
+    public Integer removeEdge(Integer sourceVertex, Integer targetVertex) {
+        throw new UnsupportedOperationException("CsrGraphView is read-only");
+    }
+
+    @Override
+    public boolean removeEdge(Integer edge) {
+        throw new UnsupportedOperationException("CsrGraphView is read-only");
+    }
+
+    @Override
+    public boolean removeVertex(Integer vertex) {
+        throw new UnsupportedOperationException("CsrGraphView is read-only");
+    }
+
+    @Override
+    public Set<Integer> vertexSet() {
+        return new IdRange(graph.vertexCount());
+    }
+
+    @Override
+    public Integer getEdgeSource(Integer edge) {
+        return graph.edgeSource(edge);
+    }
+
+    @Override
+    public Integer getEdgeTarget(Integer edge) {
+        return graph.edgeTarget(edge);
+    }
+
+    @Override
+    public GraphType getType() {
+        return TYPE;
+    }
+
+    @Override
+    public double getEdgeWeight(Integer edge) {
+        return Graph.DEFAULT_EDGE_WEIGHT;
+    }
+
+    @Override
+    public void setEdgeWeight(Integer edge, double weight) {
+        throw new UnsupportedOperationException("CsrGraphView is read-only");
+    }
+
+    /**
+     * Ids {@code 0 .. size - 1}
+     */
+    private static final class IdRange extends AbstractSet<Integer> {
+        private final int size;
+
+        IdRange(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Integer id && id >= 0 && id < size;
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new Iterator<>() {
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return next < size;
+                }
+
+                @Override
+                public Integer next() {
+                    if (next >= size) {
+                        throw new NoSuchElementException();
+                    }
+                    return next++;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private final class IncidentEdges extends AbstractSet<Integer> {
+        private final int vertex;
+
+        IncidentEdges(int vertex) {
+            this.vertex = vertex;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Integer edge && containsEdge(edge)
+                    && (graph.edgeSource(edge) == vertex || graph.edgeTarget(edge) == vertex);
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new Iterator<>() {
+                private int position = graph.offsets()[vertex];
+
+                @Override
+                public boolean hasNext() {
+                    return position < graph.offsets()[vertex + 1];
+                }
+
+                @Override
+                public Integer next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return graph.edgeIds()[position++];
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return graph.degree(vertex);
+        }
+    }
+}
@@ -0,0 +1,473 @@
+package org.example.graph;
+
+import org.jgrapht.Graph;
+import org.jgrapht.GraphType;
+import org.jgrapht.Graphs;
+import org.jgrapht.graph.AbstractGraph;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Read-only subgraph induced by a subset of vertices of a root graph, without copying vertices or edges. <p>
+ * Membership is a hash map from indices of the root graph to positions of members, sized by the number of members.
+ * Edges of members inside the view are kept in one list sliced per member, filled from the adjacency of the view
+ * the new view is created from, so creating a view costs O(deg) of its members in that view regardless of the size
+ * of the root graph, and degree and adjacency of a vertex cost O(deg) of the view itself. View of the whole root
+ * graph keeps neither and answers from the root graph. Views of views share the root graph and its vertex index, so
+ * nesting doesn't add indirection. Edge set is computed on access from the member vertices.
+ *
+ * @param <V> Vertex type
+ * @param <E> Edge type
+ */
+public final class InducedSubgraphView<V, E> extends AbstractGraph<V, E> {
+    private final Graph<V, E> root;
+    private final VertexIndex<V> rootIndex;
+    /**
+     * Null if the view contains all vertices of the root graph
+     */
+    private final MemberPositions members;
+    private final int[] memberIndices;
+    /**
+     * Edges of the member at position i inside the view are between offsets i and i + 1, null if the view contains
+     * all vertices of the root graph
+     */
+    private final int[] edgeOffsets;
+    private final List<E> incidentEdges;
+    private int edgeCount = -1;
+
+    private InducedSubgraphView(Graph<V, E> root, VertexIndex<V> rootIndex, int[] memberIndices) {
+        this.root = root;
+        this.rootIndex = rootIndex;
+        this.members = null;
+        this.memberIndices = memberIndices;
+        this.edgeOffsets = null;
+        this.incidentEdges = null;
+    }
+
+    /**
+     * Complexity: O(deg) of given members in the parent view
+     */
+    private InducedSubgraphView(InducedSubgraphView<V, E> parent, int[] memberIndices) {
+        this.root = parent.root;
+        this.rootIndex = parent.rootIndex;
+        this.members = new MemberPositions(memberIndices);
+        this.memberIndices = memberIndices;
+        this.edgeOffsets = new int[memberIndices.length + 1];
+        this.incidentEdges = new ArrayList<>();
+        for (int i = 0; i < memberIndices.length; i++) {
+            V vertex = rootIndex.vertex(memberIndices[i]);
+            for (E edge : parent.edgesOf(vertex)) {
+                if (members.position(rootIndex.indexOf(Graphs.getOppositeVertex(root, edge, vertex))) >= 0) {
+                    incidentEdges.add(edge);
+                }
+            }
+            edgeOffsets[i + 1] = incidentEdges.size();
+        }
+    }
+
+    /**
+     * Complexity: O(n), only if given graph is not a view already
+     *
+     * @return view of all vertices of given graph
+     */
+    @SuppressWarnings("unchecked")
+    public static <V, E> InducedSubgraphView<V, E> of(Graph<V, E> graph) {
+        if (graph instanceof InducedSubgraphView<V, E> view) {
+            return view;
+        }
+        VertexIndex<V> index = graph instanceof CsrGraphView csrGraphView
+                ? (VertexIndex<V>) VertexIndex.identity(csrGraphView.csrGraph().vertexCount())
+                : VertexIndex.of(graph.vertexSet());
+        int[] memberIndices = new int[index.size()];
+        Arrays.setAll(memberIndices, i -> i);
+        return new InducedSubgraphView<>(graph, index, memberIndices);
+    }
+
+    /**
+     * Complexity: O(deg) of given vertices if given graph is a view, otherwise O(n) on top of it
+     *
+     * @param vertices vertices of given graph
+     */
+    public static <V, E> InducedSubgraphView<V, E> of(Graph<V, E> graph, Collection<V> vertices) {
+        return of(graph).subgraph(vertices);
+    }
+
+    /**
+     * Complexity: O(deg) of given vertices in this view
+     *
+     * @param vertices vertices of this view
+     */
+    public InducedSubgraphView<V, E> subgraph(Collection<V> vertices) {
+        int[] subgraphMemberIndices = new int[vertices.size()];
+        int size = 0;
+        for (V vertex : vertices) {
+            subgraphMemberIndices[size++] = rootIndex.indexOf(vertex);
+        }
+        return view(subgraphMemberIndices);
+    }
+
+    /**
+     * Splits this view into views induced by the separator, subset A and all remaining vertices in a single pass
+     * over vertices of this view.
+     * Complexity: O(n + m) of this view
+     */
+    public Partition<V, E> partition(Set<V> separator, Set<V> subsetA) {
+        int[] separatorIndices = new int[memberIndices.length];
+        int[] subsetAIndices = new int[memberIndices.length];
+        int[] subsetBIndices = new int[memberIndices.length];
+        int separatorSize = 0;
+        int subsetASize = 0;
+        int subsetBSize = 0;
+        for (int index : memberIndices) {
+            V vertex = rootIndex.vertex(index);
+            if (separator.contains(vertex)) {
+                separatorIndices[separatorSize++] = index;
+            } else if (subsetA.contains(vertex)) {
+                subsetAIndices[subsetASize++] = index;
+            } else {
+                subsetBIndices[subsetBSize++] = index;
+            }
+        }
+        return new Partition<>(view(Arrays.copyOf(separatorIndices, separatorSize)),
+                view(Arrays.copyOf(subsetAIndices, subsetASize)),
+                view(Arrays.copyOf(subsetBIndices, subsetBSize)));
+    }
+
+    private InducedSubgraphView<V, E> view(int[] memberIndices) {
+        return new InducedSubgraphView<>(this, memberIndices);
+    }
+
+    private boolean isMember(int index) {
+        return members == null || members.position(index) >= 0;
+    }
+
+    public Graph<V, E> getRoot() {
+        return root;
+    }
+
+    /**
+     * Index of members by their position in the view, backed by the index of the root graph and member positions,
+     * so nothing is allocated per vertex. Views of a {@link CsrGraphView} index the root graph by identity.
+     */
+    public VertexIndex<V> vertexIndex() {
+        if (members == null) {
+            return rootIndex;
+        }
+        return new VertexIndex<>() {
+            @Override
+            public int size() {
+                return memberIndices.length;
+            }
+
+            @Override
+            public int indexOf(V vertex) {
+                return members.position(rootIndex.indexOf(vertex));
+            }
+
+            @Override
+            public V vertex(int index) {
+                return rootIndex.vertex(memberIndices[index]);
+            }
+        };
+    }
+
+    @Override
+    public Set<E> getAllEdges(V sourceVertex, V targetVertex) {
+        if (!containsVertex(sourceVertex) || !containsVertex(targetVertex)) {
+            return null;
+        }
+        return root.getAllEdges(sourceVertex, targetVertex);
+    }
+
+    @Override
+    public E getEdge(V sourceVertex, V targetVertex) {
+        if (!containsVertex(sourceVertex) || !containsVertex(targetVertex)) {
+            return null;
+        }
+        return root.getEdge(sourceVertex, targetVertex);
+    }
+
+    @Override
+    public Supplier<V> getVertexSupplier() {
+        return null;
+    }
+
+    @Override
+    public Supplier<E> getEdgeSupplier() {
+        return root.getEdgeSupplier();
+    }
+
+    @Override
+    public E addEdge(V sourceVertex, V targetVertex) {
+        throw new UnsupportedOperationException("InducedSubgraphView is read-only");
+    }
+
+    @Override
+    public boolean addEdge(V sourceVertex, V targetVertex, E e) {
+        throw new UnsupportedOperationException("InducedSubgraphView is read-only");
+    }
+
+    @Override
+    public V addVertex() {
+        throw new UnsupportedOperationException("InducedSubgraphView is read-only");
+    }
+
+    @Override
+    public boolean addVertex(V v) {
+        throw new UnsupportedOperationException("InducedSubgraphView is read-only");
+    }
+
+    @Override
+    public boolean containsEdge(E e) {
+        return root.containsEdge(e) && containsVertex(root.getEdgeSource(e)) && containsVertex(root.getEdgeTarget(e));
+    }
+
+    @Override
+    public boolean containsVertex(V v) {
+        return v != null && root.containsVertex(v) && isMember(rootIndex.indexOf(v));
+    }
+
+    @Override
+    public Set<E> edgeSet() {
+        return new InducedEdges();
+    }
+
+    /**
+     * Complexity: O(1), as in the root graph for the view of the whole root graph
+     */
+    @Override
+    public int degreeOf(V vertex) {
+        assertVertexExist(vertex);
+        if (members == null) {
+            return root.degreeOf(vertex);
+        }
+        int position = members.position(rootIndex.indexOf(vertex));
+        return edgeOffsets[position + 1] - edgeOffsets[position];
+    }
+
+    @Override
+    public Set<E> edgesOf(V vertex) {
+        assertVertexExist(vertex);
+        return new IncidentEdges(vertex);
+    }
+
+    @Override
+    public int inDegreeOf(V vertex) {
+        return degreeOf(vertex);
+    }
+
+    @Override
+    public Set<E> incomingEdgesOf(V vertex) {
+        return edgesOf(vertex);
+    }
+
+    @Override
+    public int outDegreeOf(V vertex) {
+        return degreeOf(vertex);
+    }
+
+    @Override
+    public Set<E> outgoingEdgesOf(V vertex) {
+        return edgesOf(vertex);
+    }
+
+    @Override
+    public E removeEdge(V sourceVertex, V targetVertex) {
+        throw new UnsupportedOperationException("InducedSubgraphView is read-only");
+    }
+
+    @Override
+    public boolean removeEdge(E e) {
+        throw new UnsupportedOperationException("InducedSubgraphView is read-only");
+    }
+
+    @Override
+    public boolean removeVertex(V v) {
+        throw new UnsupportedOperationException("InducedSubgraphView is read-only");
+    }
+
+    @Override
+    public Set<V> vertexSet() {
+        return new AbstractSet<>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public boolean contains(Object o) {
+                return containsVertex((V) o);
+            }
+
+            @Override
+            public Iterator<V> iterator() {
+                return new Iterator<>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < memberIndices.length;
+                    }
+
+                    @Override
+                    public V next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        return rootIndex.vertex(memberIndices[next++]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return memberIndices.length;
+            }
+        };
+    }
+
+    @Override
+    public V getEdgeSource(E e) {
+        return root.getEdgeSource(e);
+    }
+
+    @Override
+    public V getEdgeTarget(E e) {
+        return root.getEdgeTarget(e);
+    }
+
+    @Override
+    public GraphType getType() {
+        return root.getType().asUnmodifiable();
+    }
+
+    @Override
+    public double getEdgeWeight(E e) {
+        return root.getEdgeWeight(e);
+    }
+
+    @Override
+    public void setEdgeWeight(E e, double weight) {
+        throw new UnsupportedOperationException("InducedSubgraphView is read-only");
+    }
+
+    /**
+     * Views induced by the separator and by both separated subsets
+     */
+    public record Partition<V, E>(InducedSubgraphView<V, E> separator, InducedSubgraphView<V, E> subsetA,
+                                  InducedSubgraphView<V, E> subsetB) {
+    }
+
+    private final class IncidentEdges extends AbstractSet<E> {
+        private final V vertex;
+
+        IncidentEdges(V vertex) {
+            this.vertex = vertex;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean contains(Object o) {
+            if (!root.edgeSet().contains(o)) {
+                return false;
+            }
+            E edge = (E) o;
+            return containsEdge(edge) && (vertex.equals(root.getEdgeSource(edge)) ||
+                    vertex.equals(root.getEdgeTarget(edge)));
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            if (members == null) {
+                return root.edgesOf(vertex).iterator();
+            }
+            int position = members.position(rootIndex.indexOf(vertex));
+            return incidentEdges.subList(edgeOffsets[position], edgeOffsets[position + 1]).iterator();
+        }
+
+        @Override
+        public int size() {
+            return degreeOf(vertex);
+        }
+    }
+
+    /**
+     * Every edge is reported by its source vertex
+     */
+    private final class InducedEdges extends AbstractSet<E> {
+        /**
+         * Objects that aren't edges of the root graph are rejected before they are cast to the edge type
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean contains(Object o) {
+            return root.edgeSet().contains(o) && containsEdge((E) o);
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return Arrays.stream(memberIndices)
+                    .mapToObj(rootIndex::vertex)
+                    .flatMap(vertex -> edgesOf(vertex).stream()
+                            .filter(edge -> vertex.equals(root.getEdgeSource(edge))))
+                    .iterator();
+        }
+
+        @Override
+        public int size() {
+            if (edgeCount < 0) {
+                int count = 0;
+                for (Iterator<E> iterator = iterator(); iterator.hasNext(); iterator.next()) {
+                    count++;
+                }
+                edgeCount = count;
+            }
+            return edgeCount;
+        }
+    }
+
+    /**
+     * Open addressing hash map from indices to their positions in the given array with linear probing, filled once
+     * on creation
+     */
+    private static final class MemberPositions {
+        private static final int EMPTY = -1;
+
+        private final int[] slots;
+        private final int[] positions;
+        private final int mask;
+
+        /**
+         * Complexity: O(|indices|)
+         */
+        MemberPositions(int[] indices) {
+            int capacity = Integer.highestOneBit(Math.max(1, 2 * indices.length - 1)) << 1;
+            this.slots = new int[capacity];
+            this.positions = new int[capacity];
+            this.mask = capacity - 1;
+            Arrays.fill(slots, EMPTY);
+            for (int i = 0; i < indices.length; i++) {
+                int slot = slot(indices[i]);
+                while (slots[slot] != EMPTY && slots[slot] != indices[i]) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = indices[i];
+                positions[slot] = i;
+            }
+        }
+
+        /**
+         * @return position of given index or -1 if it is not a member
+         */
+        int position(int index) {
+            for (int slot = slot(index); slots[slot] != EMPTY; slot = (slot + 1) & mask) {
+                if (slots[slot] == index) {
+                    return positions[slot];
+                }
+            }
+            return EMPTY;
+        }
+
+        private int slot(int index) {
+            int hash = index * 0x9E3779B9;
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+    }
+}
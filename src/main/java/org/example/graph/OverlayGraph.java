@@ -0,0 +1,382 @@
+package org.example.graph;
+
+import org.jgrapht.Graph;
+import org.jgrapht.GraphType;
+import org.jgrapht.graph.AbstractGraph;
+import org.jgrapht.graph.DefaultGraphType;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Base graph together with edges added on the side, the base graph is only read and can be shared. <p>
+ * Added edges keep endpoints as vertex indices in int arrays and are chained into per vertex lists through an int
+ * array as well, edges between a pair of vertices are found by a single map lookup. Queries check the base graph
+ * first, so they cost as much as in the base graph plus O(1), edges of a vertex cost O(deg) of the union. Vertices
+ * can't be added and nothing can be removed. <p>
+ * Edges of the base graph and added edges may have different types, the edge type of the overlay only has to be a
+ * supertype of both. An edge is passed to the base graph only after the edge set of the base graph confirmed that it
+ * contains the edge, so edges of other types are never cast to the edge type of the base graph.
+ *
+ * @param <V> Vertex type
+ * @param <E> Edge type, supertype of edge types of the base graph and of added edges
+ */
+public final class OverlayGraph<V, E> extends AbstractGraph<V, E> {
+    private static final int NONE = -1;
+
+    private final BaseGraph<V, ? extends E> base;
+    private final Supplier<? extends E> edgeSupplier;
+    private final VertexIndex<V> vertices;
+    private final List<E> addedEdges = new ArrayList<>();
+    private final Map<E, Integer> addedIndices = new HashMap<>();
+    private final Map<Long, Integer> addedBetween = new HashMap<>();
+    /**
+     * half-edge 2i leaves the source of added edge i, 2i + 1 leaves its target
+     */
+    private int[] origins = new int[0];
+    private int[] nextAdded = new int[0];
+    private final int[] firstAdded;
+    private final int[] addedDegrees;
+
+    /**
+     * Complexity: O(n)
+     *
+     * @param base         graph left unmodified
+     * @param edgeSupplier creates added edges, may be null if edges are added only with given edge objects
+     */
+    public OverlayGraph(Graph<V, ? extends E> base, Supplier<? extends E> edgeSupplier) {
+        this.base = new BaseGraph<>(base);
+        this.edgeSupplier = edgeSupplier;
+        this.vertices = VertexIndex.of(base.vertexSet());
+        this.firstAdded = new int[vertices.size()];
+        Arrays.fill(firstAdded, NONE);
+        this.addedDegrees = new int[vertices.size()];
+    }
+
+    public Graph<V, ? extends E> getBase() {
+        return base.graph();
+    }
+
+    /**
+     * @return edges added to the base graph in order of addition
+     */
+    public List<E> getAddedEdges() {
+        return Collections.unmodifiableList(addedEdges);
+    }
+
+    @Override
+    public Set<E> getAllEdges(V sourceVertex, V targetVertex) {
+        if (!containsVertex(sourceVertex) || !containsVertex(targetVertex)) {
+            return null;
+        }
+        Set<E> edges = new HashSet<>(base.graph().getAllEdges(sourceVertex, targetVertex));
+        Integer added = addedBetween.get(pair(sourceVertex, targetVertex));
+        if (added != null) {
+            edges.add(addedEdges.get(added));
+        }
+        return edges;
+    }
+
+    @Override
+    public E getEdge(V sourceVertex, V targetVertex) {
+        E edge = base.graph().getEdge(sourceVertex, targetVertex);
+        if (edge != null || !containsVertex(sourceVertex) || !containsVertex(targetVertex)) {
+            return edge;
+        }
+        Integer added = addedBetween.get(pair(sourceVertex, targetVertex));
+        return added == null ? null : addedEdges.get(added);
+    }
+
+    @Override
+    public Supplier<V> getVertexSupplier() {
+        return null;
+    }
+
+    @Override
+    public Supplier<E> getEdgeSupplier() {
+        return edgeSupplier == null ? null : edgeSupplier::get;
+    }
+
+    /**
+     * Complexity: O(1) amortized
+     *
+     * @return added edge or null if the vertices are already adjacent
+     */
+    @Override
+    public E addEdge(V sourceVertex, V targetVertex) {
+        if (edgeSupplier == null) {
+            throw new UnsupportedOperationException("The graph contains no edge supplier");
+        }
+        assertVertexExist(sourceVertex);
+        assertVertexExist(targetVertex);
+        if (containsEdge(sourceVertex, targetVertex)) {
+            return null;
+        }
+        E edge = edgeSupplier.get();
+        add(sourceVertex, targetVertex, edge);
+        return edge;
+    }
+
+    @Override
+    public boolean addEdge(V sourceVertex, V targetVertex, E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        assertVertexExist(sourceVertex);
+        assertVertexExist(targetVertex);
+        if (containsEdge(e) || containsEdge(sourceVertex, targetVertex)) {
+            return false;
+        }
+        add(sourceVertex, targetVertex, e);
+        return true;
+    }
+
+    private void add(V sourceVertex, V targetVertex, E edge) {
+        if (sourceVertex.equals(targetVertex)) {
+            throw new IllegalArgumentException("Loops are not allowed");
+        }
+        int i = addedEdges.size();
+        addedEdges.add(edge);
+        addedIndices.put(edge, i);
+        addedBetween.put(pair(sourceVertex, targetVertex), i);
+        if (origins.length < 2 * addedEdges.size()) {
+            int capacity = Math.max(16, 2 * origins.length);
+            origins = Arrays.copyOf(origins, capacity);
+            nextAdded = Arrays.copyOf(nextAdded, capacity);
+        }
+        chain(2 * i, vertices.indexOf(sourceVertex));
+        chain(2 * i + 1, vertices.indexOf(targetVertex));
+    }
+
+    private void chain(int halfEdge, int origin) {
+        origins[halfEdge] = origin;
+        nextAdded[halfEdge] = firstAdded[origin];
+        firstAdded[origin] = halfEdge;
+        addedDegrees[origin]++;
+    }
+
+    /**
+     * @return key of the unordered pair of vertices
+     */
+    private long pair(V v1, V v2) {
+        int i1 = vertices.indexOf(v1);
+        int i2 = vertices.indexOf(v2);
+        return (long) Math.min(i1, i2) * vertices.size() + Math.max(i1, i2);
+    }
+
+    @Override
+    public V addVertex() {
+        throw new UnsupportedOperationException("OverlayGraph can't add vertices");
+    }
+
+    @Override
+    public boolean addVertex(V v) {
+        throw new UnsupportedOperationException("OverlayGraph can't add vertices");
+    }
+
+    @Override
+    public boolean containsEdge(E e) {
+        return addedIndices.containsKey(e) || base.containsEdge(e);
+    }
+
+    @Override
+    public boolean containsVertex(V v) {
+        return base.graph().containsVertex(v);
+    }
+
+    @Override
+    public Set<E> edgeSet() {
+        return new AbstractSet<>() {
+            @Override
+            public boolean contains(Object o) {
+                return addedIndices.containsKey(o) || base.containsEdge(o);
+            }
+
+            @Override
+            public Iterator<E> iterator() {
+                return new ConcatenatingIterator<>(base.graph().edgeSet().iterator(), addedEdges.iterator());
+            }
+
+            @Override
+            public int size() {
+                return base.graph().edgeSet().size() + addedEdges.size();
+            }
+        };
+    }
+
+    /**
+     * Complexity: O(1) plus degree of the vertex in the base graph
+     */
+    @Override
+    public int degreeOf(V vertex) {
+        assertVertexExist(vertex);
+        return base.graph().degreeOf(vertex) + addedDegrees[vertices.indexOf(vertex)];
+    }
+
+    @Override
+    public Set<E> edgesOf(V vertex) {
+        assertVertexExist(vertex);
+        int origin = vertices.indexOf(vertex);
+        return new AbstractSet<>() {
+            @Override
+            public boolean contains(Object o) {
+                Integer added = addedIndices.get(o);
+                if (added != null) {
+                    return origins[2 * added] == origin || origins[2 * added + 1] == origin;
+                }
+                return base.containsEdge(o) && (vertex.equals(base.getEdgeSource(o)) ||
+                        vertex.equals(base.getEdgeTarget(o)));
+            }
+
+            @Override
+            public Iterator<E> iterator() {
+                return new ConcatenatingIterator<>(base.graph().edgesOf(vertex).iterator(), new Iterator<>() {
+                    private int next = firstAdded[origin];
+
+                    @Override
+                    public boolean hasNext() {
+                        return next != NONE;
+                    }
+
+                    @Override
+                    public E next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        E edge = addedEdges.get(next >> 1);
+                        next = nextAdded[next];
+                        return edge;
+                    }
+                });
+            }
+
+            @Override
+            public int size() {
+                return degreeOf(vertex);
+            }
+        };
+    }
+
+    @Override
+    public int inDegreeOf(V vertex) {
+        return degreeOf(vertex);
+    }
+
+    @Override
+    public Set<E> incomingEdgesOf(V vertex) {
+        return edgesOf(vertex);
+    }
+
+    @Override
+    public int outDegreeOf(V vertex) {
+        return degreeOf(vertex);
+    }
+
+    @Override
+    public Set<E> outgoingEdgesOf(V vertex) {
+        return edgesOf(vertex);
+    }
+
+    @Override
+    public E removeEdge(V sourceVertex, V targetVertex) {
+        throw new UnsupportedOperationException("OverlayGraph can't remove edges");
+    }
+
+    @Override
+    public boolean removeEdge(E e) {
+        throw new UnsupportedOperationException("OverlayGraph can't remove edges");
+    }
+
+    @Override
+    public boolean removeVertex(V v) {
+        throw new UnsupportedOperationException("OverlayGraph can't remove vertices");
+    }
+
+    @Override
+    public Set<V> vertexSet() {
+        return base.graph().vertexSet();
+    }
+
+    @Override
+    public V getEdgeSource(E e) {
+        Integer added = addedIndices.get(e);
+        return added == null ? base.getEdgeSource(e) : vertices.vertex(origins[2 * added]);
+    }
+
+    @Override
+    public V getEdgeTarget(E e) {
+        Integer added = addedIndices.get(e);
+        return added == null ? base.getEdgeTarget(e) : vertices.vertex(origins[2 * added + 1]);
+    }
+
+    @Override
+    public GraphType getType() {
+        return new DefaultGraphType.Builder(base.graph().getType()).modifiable(true).build();
+    }
+
+    @Override
+    public double getEdgeWeight(E e) {
+        return addedIndices.containsKey(e) ? Graph.DEFAULT_EDGE_WEIGHT : base.getEdgeWeight(e);
+    }
+
+    @Override
+    public void setEdgeWeight(E e, double weight) {
+        throw new UnsupportedOperationException("OverlayGraph is not weighted");
+    }
+
+    /**
+     * Base graph queried with edges of the overlay, an edge reaches the graph only if its edge set contains the edge.
+     * Complexity: edge set membership of the graph plus the query
+     *
+     * @param <B> Edge type of the base graph
+     */
+    private record BaseGraph<V, B>(Graph<V, B> graph) {
+        boolean containsEdge(Object e) {
+            return graph.edgeSet().contains(e);
+        }
+
+        V getEdgeSource(Object e) {
+            return graph.getEdgeSource(edge(e));
+        }
+
+        V getEdgeTarget(Object e) {
+            return graph.getEdgeTarget(edge(e));
+        }
+
+        double getEdgeWeight(Object e) {
+            return graph.getEdgeWeight(edge(e));
+        }
+
+        /**
+         * @throws IllegalArgumentException if the edge is not an edge of the graph
+         */
+        @SuppressWarnings("unchecked")
+        private B edge(Object e) {
+            if (!containsEdge(e)) {
+                throw new IllegalArgumentException("no such edge in graph: " + e);
+            }
+            // contained in the edge set, so it is an edge of the graph of type B
+            return (B) e;
+        }
+    }
+
+    private static final class ConcatenatingIterator<E> implements Iterator<E> {
+        private final Iterator<? extends E> first;
+        private final Iterator<? extends E> second;
+
+        ConcatenatingIterator(Iterator<? extends E> first, Iterator<? extends E> second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return first.hasNext() || second.hasNext();
+        }
+
+        @Override
+        public E next() {
+            return first.hasNext() ? first.next() : second.next();
+        }
+    }
+}
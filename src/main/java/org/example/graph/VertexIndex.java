@@ -0,0 +1,80 @@
+package org.example.graph;
+
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm.Coloring;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm.ColoringImpl;
+
+import java.util.*;
+
+/**
+ * Bijection between vertices and indices {@code 0 .. size() - 1}.
+ *
+ * @param <V> Vertex type
+ */
+public interface VertexIndex<V> {
+    int size();
+
+    int indexOf(V vertex);
+
+    V vertex(int index);
+
+    /**
+     * Complexity: O(n)
+     *
+     * @return index assigning consecutive indices in iteration order of given vertices
+     */
+    static <V> VertexIndex<V> of(Collection<V> vertices) {
+        List<V> indexedVertices = new ArrayList<>(vertices);
+        Map<V, Integer> indices = new HashMap<>(2 * indexedVertices.size());
+        for (int i = 0; i < indexedVertices.size(); i++) {
+            indices.put(indexedVertices.get(i), i);
+        }
+        return new VertexIndex<>() {
+            @Override
+            public int size() {
+                return indexedVertices.size();
+            }
+
+            @Override
+            public int indexOf(V vertex) {
+                return indices.get(vertex);
+            }
+
+            @Override
+            public V vertex(int index) {
+                return indexedVertices.get(index);
+            }
+        };
+    }
+
+    /**
+     * @return index of vertices {@code 0 .. size - 1} mapped to themselves, needs no memory per vertex
+     */
+    static VertexIndex<Integer> identity(int size) {
+        return new VertexIndex<>() {
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public int indexOf(Integer vertex) {
+                return vertex;
+            }
+
+            @Override
+            public Integer vertex(int index) {
+                return index;
+            }
+        };
+    }
+
+    /**
+     * Translates coloring of indices back to coloring of vertices.
+     * Complexity: O(n)
+     */
+    default Coloring<V> toVertexColoring(Coloring<Integer> coloring) {
+        Map<V, Integer> colors = new HashMap<>(2 * coloring.getColors().size());
+        coloring.getColors().forEach((index, color) -> colors.put(vertex(index), color));
+        return new ColoringImpl<>(colors, coloring.getNumberColors());
+    }
+}
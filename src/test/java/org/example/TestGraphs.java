@@ -0,0 +1,36 @@
+package org.example;
+
+import org.jgrapht.Graph;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm.Coloring;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.SimpleGraph;
+import org.jgrapht.util.SupplierUtil;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Graphs and assertions shared by tests
+ */
+public final class TestGraphs {
+
+    private TestGraphs() {
+    }
+
+    /**
+     * @return empty simple graph whose vertices are consecutive integers starting from 0
+     */
+    public static Graph<Integer, DefaultEdge> createGraph() {
+        return new SimpleGraph<>(SupplierUtil.createIntegerSupplier(), SupplierUtil.createDefaultEdgeSupplier(), false);
+    }
+
+    /**
+     * Asserts that every vertex has one of three colors and no edge joins vertices of the same color.
+     */
+    public static <V, E> void assertValidColoring(Graph<V, E> graph, Coloring<V> coloring) {
+        assertThat(coloring).isNotNull();
+        assertThat(coloring.getColors()).hasSize(graph.vertexSet().size());
+        assertThat(coloring.getColors().values()).allSatisfy(color -> assertThat(color).isBetween(0, 2));
+        assertThat(graph.edgeSet()).allSatisfy(edge -> assertThat(coloring.getColors().get(graph.getEdgeSource(edge)))
+                .isNotEqualTo(coloring.getColors().get(graph.getEdgeTarget(edge))));
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.algorithms.coloring;
+
+import org.jgrapht.Graph;
+import org.jgrapht.Graphs;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm.Coloring;
+import org.jgrapht.generate.CompleteGraphGenerator;
+import org.jgrapht.generate.WheelGraphGenerator;
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.example.TestGraphs.assertValidColoring;
+import static org.example.TestGraphs.createGraph;
+
+class BiconnectedBlocksThreeColoringTest {
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+
+    @AfterEach
+    void shutdownPool() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void shouldGlueChainOfBlocks() {
+        Graph<Integer, DefaultEdge> chain = createGraph();
+        // triangles 0-1-2, 2-3-4, 4-5-6 and 6-7-8 sharing cut vertices, a pendant vertex and an isolated vertex
+        for (int i = 0; i <= 8; i += 2) {
+            Graphs.addEdgeWithVertices(chain, i, i + 1);
+            Graphs.addEdgeWithVertices(chain, i + 1, i + 2);
+            Graphs.addEdgeWithVertices(chain, i, i + 2);
+        }
+        Graphs.addEdgeWithVertices(chain, 3, 20);
+        chain.addVertex(21);
+
+        var coloring = new BiconnectedBlocksThreeColoring<>(chain, PlanarThreeColoring::new, pool)
+                .getColoring();
+
+        assertValidColoring(chain, coloring);
+    }
+
+    @Test
+    void shouldNotColorWhenSomeBlockIsNotColorable() {
+        Graph<Integer, DefaultEdge> graph = createGraph();
+        new WheelGraphGenerator<Integer, DefaultEdge>(6).generateGraph(graph);
+        Integer bridgeEnd = graph.addVertex();
+        graph.addEdge(0, bridgeEnd);
+
+        assertThat(new BiconnectedBlocksThreeColoring<>(graph).getColoring()).isNull();
+    }
+
+    @Test
+    void shouldNotWaitForOtherBlocksWhenSomeBlockIsNotColorable() throws InterruptedException {
+        Graph<Integer, DefaultEdge> graph = createGraph();
+        new CompleteGraphGenerator<Integer, DefaultEdge>(4).generateGraph(graph);
+        // triangle 0-4-5 sharing vertex 0 with the complete graph on 0-3
+        Integer first = graph.addVertex();
+        Integer second = graph.addVertex();
+        graph.addEdge(0, first);
+        graph.addEdge(first, second);
+        graph.addEdge(0, second);
+        CountDownLatch release = new CountDownLatch(1);
+
+        var algorithm = new BiconnectedBlocksThreeColoring<>(graph, block -> block.vertexSet().size() == 3
+                ? () -> {
+                    try {
+                        release.await(30, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return new PlanarThreeColoring<>(block).getColoring();
+                }
+                : new PlanarThreeColoring<>(block), pool);
+
+        try {
+            assertThat(assertTimeoutPreemptively(Duration.ofSeconds(10), algorithm::getColoring)).isNull();
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void shouldColorSingleBlock() {
+        Graph<Integer, DefaultEdge> completeGraph = createGraph();
+        new CompleteGraphGenerator<Integer, DefaultEdge>(3).generateGraph(completeGraph);
+
+        assertValidColoring(completeGraph, new BiconnectedBlocksThreeColoring<>(completeGraph).getColoring());
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.algorithms.coloring;
+
+import org.example.graph.InducedSubgraphView;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm.ColoringImpl;
+import org.jgrapht.generate.CompleteGraphGenerator;
+import org.jgrapht.generate.RingGraphGenerator;
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.example.TestGraphs.createGraph;
+
+class ColoringAssignmentTest {
+
+    @Test
+    void shouldForbidColorOnNeighbors() {
+        var assignment = ColoringAssignment.uncolored(IndexedColoringProblem.of(createCycle(), Map.of()));
+
+        assertThat(assignment.assign(0, 1)).isTrue();
+
+        assertThat(assignment.restrictedColors(List.of(0, 1, 2, 3, 4)))
+                .isEqualTo(Map.of(1, Set.of(1), 4, Set.of(1)));
+    }
+
+    @Test
+    void shouldUndoToMark() {
+        var assignment = ColoringAssignment.uncolored(IndexedColoringProblem.of(createCycle(), Map.of()));
+        assignment.assign(0, 0);
+        int mark = assignment.mark();
+
+        assignment.assign(2, 1);
+        assignment.assign(3, 2);
+        assignment.undo(mark);
+
+        assertThat(assignment.restrictedColors(List.of(1, 2, 3, 4)))
+                .isEqualTo(Map.of(1, Set.of(0), 4, Set.of(0)));
+        assertThat(assignment.toColoring(List.of(0, 2, 3)).getColors()).isEqualTo(Map.of(0, 0, 2, -1, 3, -1));
+    }
+
+    @Test
+    void shouldDetectVertexWithoutColors() {
+        Graph<Integer, DefaultEdge> completeGraph = createGraph();
+        new CompleteGraphGenerator<Integer, DefaultEdge>(4).generateGraph(completeGraph);
+        var assignment = ColoringAssignment.uncolored(IndexedColoringProblem.of(completeGraph, Map.of()));
+
+        assertThat(assignment.assign(0, 0)).isTrue();
+        assertThat(assignment.assign(1, 1)).isTrue();
+        assertThat(assignment.assign(2, 2)).isFalse();
+    }
+
+    @Test
+    void shouldRevertForkedChangesWithParentTrail() {
+        var assignment = ColoringAssignment.uncolored(IndexedColoringProblem.of(createCycle(), Map.of()));
+        int mark = assignment.mark();
+        var forked = assignment.fork();
+
+        forked.assign(0, 2);
+        assignment.absorb(forked);
+        assignment.undo(mark);
+
+        assertThat(assignment.restrictedColors(List.of(0, 1, 2, 3, 4))).isEmpty();
+        assertThat(assignment.toColoring(List.of(0)).getColors()).isEqualTo(Map.of(0, -1));
+    }
+
+    @Test
+    void shouldLeaveAssignmentUnchangedWhenColoringDoesNotFit() {
+        Graph<Integer, DefaultEdge> completeGraph = createGraph();
+        new CompleteGraphGenerator<Integer, DefaultEdge>(4).generateGraph(completeGraph);
+        var assignment = ColoringAssignment.uncolored(IndexedColoringProblem.of(completeGraph, Map.of()));
+        assignment.assign(0, 0);
+
+        assertThat(assignment.assignOrUndo(new ColoringImpl<>(Map.of(1, 1, 2, 2), 3))).isFalse();
+
+        assertThat(assignment.restrictedColors(List.of(1, 2, 3)))
+                .isEqualTo(Map.of(1, Set.of(0), 2, Set.of(0), 3, Set.of(0)));
+        assertThat(assignment.toColoring(List.of(1, 2)).getColors()).isEqualTo(Map.of(1, -1, 2, -1));
+    }
+
+    @Test
+    void shouldKeepForbiddenColorsInRestrictedAssignment() {
+        Graph<Integer, DefaultEdge> cycle = createCycle();
+        var assignment = ColoringAssignment.uncolored(IndexedColoringProblem.of(cycle, Map.of()));
+        assignment.assign(0, 1);
+
+        var restricted = assignment.restrictTo(InducedSubgraphView.of(cycle, List.of(1, 2, 3)));
+        restricted.assign(2, 0);
+        assignment.assign(restricted, List.of(2));
+
+        assertThat(restricted.restrictedColors(List.of(1, 2, 3))).isEqualTo(Map.of(1, Set.of(0, 1), 3, Set.of(0)));
+        assertThat(assignment.restrictedColors(List.of(1, 3, 4)))
+                .isEqualTo(Map.of(1, Set.of(0, 1), 3, Set.of(0), 4, Set.of(1)));
+    }
+
+    private static Graph<Integer, DefaultEdge> createCycle() {
+        Graph<Integer, DefaultEdge> cycle = createGraph();
+        new RingGraphGenerator<Integer, DefaultEdge>(5).generateGraph(cycle);
+        return cycle;
+    }
+}
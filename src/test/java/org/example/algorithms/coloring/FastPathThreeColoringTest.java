@@ -0,0 +1,157 @@
+package org.example.algorithms.coloring;
+
+import org.example.algorithms.coloring.FastPathThreeColoring.Decision;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm.Coloring;
+import org.jgrapht.generate.CompleteGraphGenerator;
+import org.jgrapht.generate.GridGraphGenerator;
+import org.jgrapht.generate.WheelGraphGenerator;
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.example.TestGraphs.assertValidColoring;
+import static org.example.TestGraphs.createGraph;
+
+class FastPathThreeColoringTest {
+
+    @Test
+    void shouldColorBipartiteGraphWithTwoColors() {
+        Graph<Integer, DefaultEdge> grid = createGraph();
+        new GridGraphGenerator<Integer, DefaultEdge>(6, 7).generateGraph(grid);
+
+        var algorithm = new FastPathThreeColoring<>(grid);
+        var coloring = algorithm.getColoring();
+
+        assertThat(algorithm.getDecision()).isEqualTo(Decision.BIPARTITE);
+        assertValidColoring(grid, coloring);
+        assertThat(coloring.getColorClasses()).hasSize(2);
+    }
+
+    @Test
+    void shouldColorEulerianTriangulation() {
+        Graph<Integer, DefaultEdge> bipyramid = createBipyramid(8);
+
+        var algorithm = new FastPathThreeColoring<>(bipyramid);
+        var coloring = algorithm.getColoring();
+
+        assertThat(algorithm.getDecision()).isEqualTo(Decision.EULERIAN_TRIANGULATION);
+        assertValidColoring(bipyramid, coloring);
+    }
+
+    @Test
+    void shouldNotColorTriangulationWithOddDegree() {
+        Graph<Integer, DefaultEdge> bipyramid = createBipyramid(7);
+
+        var algorithm = new FastPathThreeColoring<>(bipyramid);
+
+        assertThat(algorithm.getColoring()).isNull();
+        assertThat(algorithm.getDecision()).isEqualTo(Decision.NON_EULERIAN_TRIANGULATION);
+    }
+
+    @Test
+    void shouldFindOddWheel() {
+        Graph<Integer, DefaultEdge> wheel = createGraph();
+        new WheelGraphGenerator<Integer, DefaultEdge>(8).generateGraph(wheel);
+        Integer pendant = wheel.addVertex();
+        wheel.addEdge(pendant, 1);
+
+        var algorithm = new FastPathThreeColoring<>(wheel);
+
+        assertThat(algorithm.getColoring()).isNull();
+        assertThat(algorithm.getDecision()).isEqualTo(Decision.ODD_WHEEL);
+        assertOddWheel(wheel, algorithm.getOddWheel());
+    }
+
+    @Test
+    void shouldFindOddWheelWithLargeRim() {
+        Graph<Integer, DefaultEdge> wheel = createGraph();
+        new WheelGraphGenerator<Integer, DefaultEdge>(100_000).generateGraph(wheel);
+
+        var algorithm = new FastPathThreeColoring<>(wheel);
+
+        assertThat(algorithm.getDecision()).isEqualTo(Decision.ODD_WHEEL);
+        assertThat(algorithm.getOddWheel()).hasSize(100_000);
+        assertOddWheel(wheel, algorithm.getOddWheel());
+    }
+
+    @Test
+    void shouldFindCompleteGraphAsOddWheel() {
+        Graph<Integer, DefaultEdge> completeGraph = createGraph();
+        new CompleteGraphGenerator<Integer, DefaultEdge>(5).generateGraph(completeGraph);
+
+        var algorithm = new FastPathThreeColoring<>(completeGraph);
+
+        assertThat(algorithm.getColoring()).isNull();
+        assertThat(algorithm.getDecision()).isEqualTo(Decision.ODD_WHEEL);
+        assertThat(algorithm.getOddWheel()).hasSize(4);
+        assertOddWheel(completeGraph, algorithm.getOddWheel());
+    }
+
+    @Test
+    void shouldLeaveEvenWheelUndecided() {
+        Graph<Integer, DefaultEdge> wheel = createGraph();
+        new WheelGraphGenerator<Integer, DefaultEdge>(7).generateGraph(wheel);
+
+        var algorithm = new FastPathThreeColoring<>(wheel);
+
+        assertThat(algorithm.getColoring()).isNull();
+        assertThat(algorithm.getDecision()).isEqualTo(Decision.UNDECIDED);
+        assertThat(algorithm.getOddWheel()).isEmpty();
+    }
+
+    @Test
+    void shouldSkipRecursionForDecidedInstances() {
+        Graph<Integer, DefaultEdge> bipyramid = createBipyramid(10);
+
+        var algorithm = new PlanarThreeColoring<>(bipyramid).withFastPaths();
+        var coloring = algorithm.getColoring();
+
+        assertThat(algorithm.getFastPathDecision()).isEqualTo(Decision.EULERIAN_TRIANGULATION);
+        assertValidColoring(bipyramid, coloring);
+    }
+
+    @Test
+    void shouldFallBackToRecursionForUndecidedInstances() {
+        Graph<Integer, DefaultEdge> wheel = createGraph();
+        new WheelGraphGenerator<Integer, DefaultEdge>(9).generateGraph(wheel);
+
+        var algorithm = new PlanarThreeColoring<>(wheel).withFastPaths();
+        var coloring = algorithm.getColoring();
+
+        assertThat(algorithm.getFastPathDecision()).isEqualTo(Decision.UNDECIDED);
+        assertValidColoring(wheel, coloring);
+    }
+
+    /**
+     * Cycle of given length with two poles adjacent to all of its vertices
+     */
+    private static Graph<Integer, DefaultEdge> createBipyramid(int cycleLength) {
+        Graph<Integer, DefaultEdge> bipyramid = createGraph();
+        Integer north = bipyramid.addVertex();
+        Integer south = bipyramid.addVertex();
+        for (int i = 0; i < cycleLength; i++) {
+            bipyramid.addVertex();
+        }
+        for (int i = 0; i < cycleLength; i++) {
+            int vertex = 2 + i;
+            bipyramid.addEdge(vertex, 2 + (i + 1) % cycleLength);
+            bipyramid.addEdge(vertex, north);
+            bipyramid.addEdge(vertex, south);
+        }
+        return bipyramid;
+    }
+
+    private static void assertOddWheel(Graph<Integer, DefaultEdge> graph, List<Integer> wheel) {
+        assertThat(wheel).doesNotHaveDuplicates();
+        assertThat(wheel.size() % 2).isZero();
+        Integer hub = wheel.get(0);
+        List<Integer> rim = wheel.subList(1, wheel.size());
+        for (int i = 0; i < rim.size(); i++) {
+            assertThat(graph.containsEdge(hub, rim.get(i))).isTrue();
+            assertThat(graph.containsEdge(rim.get(i), rim.get((i + 1) % rim.size()))).isTrue();
+        }
+    }
+}
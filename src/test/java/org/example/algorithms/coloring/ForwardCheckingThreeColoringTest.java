@@ -0,0 +1,50 @@
+package org.example.algorithms.coloring;
+
+import org.jgrapht.Graph;
+import org.jgrapht.Graphs;
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.example.TestGraphs.assertValidColoring;
+import static org.example.TestGraphs.createGraph;
+
+class ForwardCheckingThreeColoringTest {
+
+    @Test
+    void shouldColorVertexOfHighestDegreeFirst() {
+        Graph<Integer, DefaultEdge> graph = createGraph();
+        // edge 0-1 and vertex 5 adjacent to all others, index order would color vertex 0 first
+        Graphs.addEdgeWithVertices(graph, 0, 1);
+        for (int v = 2; v <= 5; v++) {
+            graph.addVertex(v);
+        }
+        for (int v = 0; v < 5; v++) {
+            graph.addEdge(5, v);
+        }
+
+        var coloring = new ForwardCheckingThreeColoring<>(graph, Map.of()).getColoring();
+
+        assertValidColoring(graph, coloring);
+        assertThat(coloring.getColors().get(5)).isZero();
+        assertThat(coloring.getColors().get(0)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldColorVertexWithSmallestDomainFirst() {
+        Graph<Integer, DefaultEdge> path = createGraph();
+        // index order would color the path 0, 1, 0, 1 before reaching vertex 4
+        for (int v = 0; v < 4; v++) {
+            Graphs.addEdgeWithVertices(path, v, v + 1);
+        }
+
+        var coloring = new ForwardCheckingThreeColoring<>(path, Map.of(4, Set.of(0, 1))).getColoring();
+
+        assertValidColoring(path, coloring);
+        assertThat(coloring.getColors().get(4)).isEqualTo(2);
+        assertThat(coloring.getColors().get(3)).isZero();
+    }
+}
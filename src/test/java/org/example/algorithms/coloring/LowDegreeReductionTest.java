@@ -0,0 +1,73 @@
+package org.example.algorithms.coloring;
+
+import org.jgrapht.Graph;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm.Coloring;
+import org.jgrapht.generate.CompleteGraphGenerator;
+import org.jgrapht.generate.GridGraphGenerator;
+import org.jgrapht.generate.WheelGraphGenerator;
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.example.TestGraphs.assertValidColoring;
+import static org.example.TestGraphs.createGraph;
+
+class LowDegreeReductionTest {
+
+    @Test
+    void shouldRemoveWholeGrid() {
+        Graph<Integer, DefaultEdge> grid = createGraph();
+        new GridGraphGenerator<Integer, DefaultEdge>(5, 6).generateGraph(grid);
+
+        var reduction = new LowDegreeReduction<>(grid, Map.of());
+
+        assertThat(reduction.getKernelSize()).isZero();
+        assertThat(reduction.getRemovedVertexCount()).isEqualTo(30);
+        assertValidColoring(grid, reduction.extend(ThreeColoringUtils.emptyThreeColoring()));
+    }
+
+    @Test
+    void shouldKeepVerticesOfDegreeThree() {
+        Graph<Integer, DefaultEdge> completeGraph = createGraph();
+        new CompleteGraphGenerator<Integer, DefaultEdge>(4).generateGraph(completeGraph);
+        Integer pendant = completeGraph.addVertex();
+        completeGraph.addEdge(pendant, 0);
+
+        var reduction = new LowDegreeReduction<>(completeGraph, Map.of());
+
+        assertThat(reduction.getRemovedVertexCount()).isEqualTo(1);
+        assertThat(reduction.getKernel().vertexSet()).containsExactlyInAnyOrder(0, 1, 2, 3);
+    }
+
+    @Test
+    void shouldNotRemoveRestrictedVertices() {
+        Graph<Integer, DefaultEdge> path = createGraph();
+        path.addVertex(0);
+        path.addVertex(1);
+        path.addEdge(0, 1);
+
+        var reduction = new LowDegreeReduction<>(path, Map.of(1, Set.of(0)));
+
+        assertThat(reduction.getKernel().vertexSet()).containsExactly(1);
+    }
+
+    @Test
+    void shouldReinsertVerticesAroundKernelColoring() {
+        Graph<Integer, DefaultEdge> wheel = createGraph();
+        new WheelGraphGenerator<Integer, DefaultEdge>(7).generateGraph(wheel);
+        Integer first = wheel.addVertex();
+        Integer second = wheel.addVertex();
+        wheel.addEdge(first, 1);
+        wheel.addEdge(first, second);
+        wheel.addEdge(second, 2);
+
+        var algorithm = new PlanarThreeColoring<>(wheel).withLowDegreeReduction();
+        var coloring = algorithm.getColoring();
+
+        assertThat(algorithm.getLowDegreeReduction().getRemovedVertexCount()).isEqualTo(2);
+        assertValidColoring(wheel, coloring);
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.algorithms.coloring;
+
+import org.jgrapht.Graph;
+import org.jgrapht.generate.RingGraphGenerator;
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.example.TestGraphs.assertValidColoring;
+import static org.example.TestGraphs.createGraph;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class ParallelBacktrackingThreeColoringTest {
+    private final ForkJoinPool pool = new ForkJoinPool(3);
+
+    @AfterEach
+    void shutdownPool() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void shouldColorWhenSplitDepthExceedsVertexCount() {
+        Graph<Integer, DefaultEdge> cycle = createGraph();
+        new RingGraphGenerator<Integer, DefaultEdge>(5).generateGraph(cycle);
+
+        var coloring = new ParallelBacktrackingThreeColoring<>(cycle, Map.of(), pool, 10).getColoring();
+
+        assertValidColoring(cycle, coloring);
+    }
+
+    @Test
+    void shouldStopRemainingTasksOnceColoringIsFound() {
+        Graph<Integer, DefaultEdge> graph = createGraph();
+        // colors 0 and 1 of the first vertex fail only at the last two vertices, after trying every coloring of
+        // the isolated vertices between them, so the search ends only if the task with color 2 stops the others
+        Integer first = graph.addVertex();
+        for (int i = 0; i < 30; i++) {
+            graph.addVertex();
+        }
+        Integer secondLast = graph.addVertex();
+        Integer last = graph.addVertex();
+        graph.addEdge(secondLast, last);
+        graph.addEdge(first, secondLast);
+        graph.addEdge(first, last);
+
+        var algorithm = new ParallelBacktrackingThreeColoring<>(graph,
+                Map.of(secondLast, Set.of(2), last, Set.of(2)), pool, 1);
+        var coloring = assertTimeoutPreemptively(Duration.ofSeconds(10), algorithm::getColoring);
+
+        assertValidColoring(graph, coloring);
+        assertThat(coloring.getColors().get(first)).isEqualTo(2);
+    }
+}
@@ -0,0 +1,184 @@
+package org.example.algorithms.coloring;
+
+import org.example.algorithms.separator.PlanarSeparatorFindingAlgorithm;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm.Coloring;
+import org.jgrapht.generate.GridGraphGenerator;
+import org.jgrapht.generate.RingGraphGenerator;
+import org.jgrapht.generate.WheelGraphGenerator;
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.example.TestGraphs.assertValidColoring;
+import static org.example.TestGraphs.createGraph;
+
+class PlanarThreeColoringTest {
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void shutdownPool() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void shouldColorGrid() {
+        Graph<Integer, DefaultEdge> grid = createGraph();
+        new GridGraphGenerator<Integer, DefaultEdge>(5, 6).generateGraph(grid);
+
+        assertValidColoring(grid, new PlanarThreeColoring<>(grid).getColoring());
+    }
+
+    @Test
+    void shouldColorOddCycle() {
+        Graph<Integer, DefaultEdge> cycle = createGraph();
+        new RingGraphGenerator<Integer, DefaultEdge>(15).generateGraph(cycle);
+
+        assertValidColoring(cycle, new PlanarThreeColoring<>(cycle).getColoring());
+    }
+
+    @Test
+    void shouldNotColorOddWheel() {
+        Graph<Integer, DefaultEdge> wheel = createGraph();
+        new WheelGraphGenerator<Integer, DefaultEdge>(12).generateGraph(wheel);
+
+        assertThat(new PlanarThreeColoring<>(wheel).getColoring()).isNull();
+    }
+
+    @Test
+    void shouldColorGridWithParallelRecursion() {
+        Graph<Integer, DefaultEdge> grid = createGraph();
+        new GridGraphGenerator<Integer, DefaultEdge>(5, 6).generateGraph(grid);
+
+        var coloring = new PlanarThreeColoring<>(grid)
+                .withParallelRecursion(pool, Integer.MAX_VALUE)
+                .getColoring();
+
+        assertValidColoring(grid, coloring);
+    }
+
+    @Test
+    void shouldNotColorOddWheelWithParallelRecursion() {
+        Graph<Integer, DefaultEdge> wheel = createGraph();
+        new WheelGraphGenerator<Integer, DefaultEdge>(12).generateGraph(wheel);
+
+        var coloring = new PlanarThreeColoring<>(wheel)
+                .withParallelRecursion(pool, Integer.MAX_VALUE)
+                .getColoring();
+
+        assertThat(coloring).isNull();
+    }
+
+    @Test
+    void shouldColorGridWithConcurrentSeparatorColorings() {
+        Graph<Integer, DefaultEdge> grid = createGraph();
+        new GridGraphGenerator<Integer, DefaultEdge>(5, 6).generateGraph(grid);
+
+        var coloring = new PlanarThreeColoring<>(grid)
+                .withParallelRecursion(pool, 3)
+                .withConcurrentSeparatorColorings(4)
+                .getColoring();
+
+        assertValidColoring(grid, coloring);
+    }
+
+    @Test
+    void shouldNotColorOddWheelWithConcurrentSeparatorColorings() {
+        Graph<Integer, DefaultEdge> wheel = createGraph();
+        new WheelGraphGenerator<Integer, DefaultEdge>(12).generateGraph(wheel);
+
+        var coloring = new PlanarThreeColoring<>(wheel)
+                .withParallelRecursion(pool, 3)
+                .withConcurrentSeparatorColorings(4)
+                .getColoring();
+
+        assertThat(coloring).isNull();
+    }
+
+    @Test
+    void shouldColorGridWithSubproblemCache() {
+        Graph<Integer, DefaultEdge> grid = createGraph();
+        new GridGraphGenerator<Integer, DefaultEdge>(7, 7).generateGraph(grid);
+
+        var algorithm = new PlanarThreeColoring<>(grid).withSubproblemCache(64);
+
+        assertValidColoring(grid, algorithm.getColoring());
+        assertThat(algorithm.getSubproblemCache().getMisses()).isPositive();
+        assertThat(algorithm.getSubproblemCache().size()).isLessThanOrEqualTo(64);
+    }
+
+    @Test
+    void shouldNotColorOddWheelWithSubproblemCache() {
+        Graph<Integer, DefaultEdge> wheel = createGraph();
+        new WheelGraphGenerator<Integer, DefaultEdge>(12).generateGraph(wheel);
+
+        var algorithm = new PlanarThreeColoring<>(wheel).withSubproblemCache(64);
+
+        assertThat(algorithm.getColoring()).isNull();
+    }
+
+    @Test
+    void shouldNotColorOddWheelWithSubproblemCacheAndParallelRecursion() {
+        Graph<Integer, DefaultEdge> wheel = createGraph();
+        new WheelGraphGenerator<Integer, DefaultEdge>(12).generateGraph(wheel);
+
+        var coloring = new PlanarThreeColoring<>(wheel)
+                .withParallelRecursion(pool, 3)
+                .withConcurrentSeparatorColorings(4)
+                .withSubproblemCache(64)
+                .getColoring();
+
+        assertThat(coloring).isNull();
+    }
+
+    @Test
+    void shouldColorGridWithPlanarSeparator() {
+        Graph<Integer, DefaultEdge> grid = createGraph();
+        new GridGraphGenerator<Integer, DefaultEdge>(8, 9).generateGraph(grid);
+
+        var coloring = new PlanarThreeColoring<>(grid)
+                .withSeparatorFinding(PlanarSeparatorFindingAlgorithm::new)
+                .getColoring();
+
+        assertValidColoring(grid, coloring);
+    }
+
+    @Test
+    void shouldNotColorOddWheelWithPlanarSeparator() {
+        Graph<Integer, DefaultEdge> wheel = createGraph();
+        new WheelGraphGenerator<Integer, DefaultEdge>(12).generateGraph(wheel);
+
+        var coloring = new PlanarThreeColoring<>(wheel)
+                .withSeparatorFinding(PlanarSeparatorFindingAlgorithm::new)
+                .getColoring();
+
+        assertThat(coloring).isNull();
+    }
+
+    @Test
+    void shouldColorGridWithEmbeddedPlanarSeparator() {
+        Graph<Integer, DefaultEdge> grid = createGraph();
+        new GridGraphGenerator<Integer, DefaultEdge>(10, 12).generateGraph(grid);
+
+        var coloring = new PlanarThreeColoring<>(grid)
+                .withEmbeddedSeparatorFinding(PlanarSeparatorFindingAlgorithm::new)
+                .getColoring();
+
+        assertValidColoring(grid, coloring);
+    }
+
+    @Test
+    void shouldNotColorOddWheelWithEmbeddedPlanarSeparator() {
+        Graph<Integer, DefaultEdge> wheel = createGraph();
+        new WheelGraphGenerator<Integer, DefaultEdge>(12).generateGraph(wheel);
+
+        var coloring = new PlanarThreeColoring<>(wheel)
+                .withEmbeddedSeparatorFinding(PlanarSeparatorFindingAlgorithm::new)
+                .getColoring();
+
+        assertThat(coloring).isNull();
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.algorithms.coloring;
+
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm.ColoringImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SubproblemCacheTest {
+
+    @Test
+    void shouldReturnCachedColoringForSameSubgraphAndRestrictions() {
+        var cache = new SubproblemCache<Integer>(4);
+        Object subgraph = new Object();
+        var coloring = new ColoringImpl<>(Map.of(1, 0), 3);
+
+        assertThat(cache.get(subgraph, Map.of(1, Set.of(1)))).isNull();
+        cache.put(subgraph, Map.of(1, Set.of(1)), coloring);
+
+        assertThat(cache.get(subgraph, Map.of(1, Set.of(1)))).contains(coloring);
+        assertThat(cache.get(subgraph, Map.of(1, Set.of(2)))).isNull();
+        assertThat(cache.get(new Object(), Map.of(1, Set.of(1)))).isNull();
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldRecordNogoods() {
+        var cache = new SubproblemCache<Integer>(4);
+        Object subgraph = new Object();
+
+        cache.put(subgraph, Map.of(), null);
+
+        assertThat(cache.get(subgraph, Map.of())).isEmpty();
+        assertThat(cache.getNogoodHits()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedSubproblem() {
+        var cache = new SubproblemCache<Integer>(2);
+        Object first = new Object();
+        Object second = new Object();
+        Object third = new Object();
+
+        cache.put(first, Map.of(), null);
+        cache.put(second, Map.of(), null);
+        cache.get(first, Map.of());
+        cache.put(third, Map.of(), null);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(first, Map.of())).isNotNull();
+        assertThat(cache.get(second, Map.of())).isNull();
+        assertThat(cache.get(third, Map.of())).isNotNull();
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.algorithms.coloring;
+
+import org.jgrapht.Graph;
+import org.jgrapht.generate.CompleteGraphGenerator;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.SimpleGraph;
+import org.jgrapht.util.SupplierUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThreeColoringForGraphAndColoredNeighborsTest {
+
+    @Test
+    void shouldEnumerateAllColoringsOfTriangle() {
+        Graph<Integer, DefaultEdge> triangle = createCompleteGraph(3);
+
+        var algorithm = new ThreeColoringForGraphAndColoredNeighbors<>(triangle, Map.of());
+
+        assertThat(algorithm.validColorings()).hasSize(6);
+        assertThat(algorithm.getListOfValidColorings()).hasSize(6);
+    }
+
+    @Test
+    void shouldEnumerateColoringsLazily() {
+        Graph<Integer, DefaultEdge> triangle = createCompleteGraph(3);
+
+        var iterator = new ThreeColoringForGraphAndColoredNeighbors<>(triangle, Map.of(0, Set.of(0, 1))).iterator();
+
+        assertThat(iterator.hasNext()).isTrue();
+        assertThat(iterator.next().getColors()).containsEntry(0, 2);
+        assertThat(iterator.hasNext()).isTrue();
+        assertThat(iterator.next().getColors()).containsEntry(0, 2);
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    void shouldYieldNoColoringsForK4() {
+        Graph<Integer, DefaultEdge> completeGraph = createCompleteGraph(4);
+
+        var algorithm = new ThreeColoringForGraphAndColoredNeighbors<>(completeGraph, Map.of());
+
+        assertThat(algorithm.iterator().hasNext()).isFalse();
+        assertThat(algorithm.getColoring()).isNull();
+    }
+
+    private static Graph<Integer, DefaultEdge> createCompleteGraph(int size) {
+        Graph<Integer, DefaultEdge> graph = new SimpleGraph<>(SupplierUtil.createIntegerSupplier(),
+                SupplierUtil.createDefaultEdgeSupplier(), false);
+        new CompleteGraphGenerator<Integer, DefaultEdge>(size).generateGraph(graph);
+        return graph;
+    }
+}
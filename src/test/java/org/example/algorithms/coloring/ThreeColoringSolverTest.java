@@ -0,0 +1,79 @@
+package org.example.algorithms.coloring;
+
+import org.jgrapht.Graph;
+import org.jgrapht.generate.CompleteGraphGenerator;
+import org.jgrapht.generate.RingGraphGenerator;
+import org.jgrapht.generate.WheelGraphGenerator;
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.example.TestGraphs.assertValidColoring;
+import static org.example.TestGraphs.createGraph;
+
+class ThreeColoringSolverTest {
+
+    @ParameterizedTest
+    @EnumSource(ThreeColoringSolver.class)
+    void shouldColorOddCycle(ThreeColoringSolver solver) {
+        Graph<Integer, DefaultEdge> cycle = createGraph();
+        new RingGraphGenerator<Integer, DefaultEdge>(7).generateGraph(cycle);
+
+        var coloring = solver.create(cycle, Map.of()).getColoring();
+
+        assertValidColoring(cycle, coloring);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ThreeColoringSolver.class)
+    void shouldNotColorK4(ThreeColoringSolver solver) {
+        Graph<Integer, DefaultEdge> completeGraph = createGraph();
+        new CompleteGraphGenerator<Integer, DefaultEdge>(4).generateGraph(completeGraph);
+
+        assertThat(solver.create(completeGraph, Map.of()).getColoring()).isNull();
+    }
+
+    @ParameterizedTest
+    @EnumSource(ThreeColoringSolver.class)
+    void shouldNotColorOddWheel(ThreeColoringSolver solver) {
+        Graph<Integer, DefaultEdge> wheel = createGraph();
+        new WheelGraphGenerator<Integer, DefaultEdge>(6).generateGraph(wheel);
+
+        assertThat(solver.create(wheel, Map.of()).getColoring()).isNull();
+    }
+
+    @ParameterizedTest
+    @EnumSource(ThreeColoringSolver.class)
+    void shouldRespectRestrictedColors(ThreeColoringSolver solver) {
+        Graph<Integer, DefaultEdge> cycle = createGraph();
+        new RingGraphGenerator<Integer, DefaultEdge>(4).generateGraph(cycle);
+
+        var coloring = solver.create(cycle, Map.of(0, Set.of(0, 1), 1, Set.of(0))).getColoring();
+
+        assertValidColoring(cycle, coloring);
+        assertThat(coloring.getColors().get(0)).isEqualTo(2);
+        assertThat(coloring.getColors().get(1)).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ThreeColoringSolver.class)
+    void shouldNotColorWhenAllColorsAreRestricted(ThreeColoringSolver solver) {
+        Graph<Integer, DefaultEdge> cycle = createGraph();
+        new RingGraphGenerator<Integer, DefaultEdge>(4).generateGraph(cycle);
+
+        assertThat(solver.create(cycle, Map.of(2, Set.of(0, 1, 2))).getColoring()).isNull();
+    }
+
+    @ParameterizedTest
+    @EnumSource(ThreeColoringSolver.class)
+    void shouldColorEmptyGraph(ThreeColoringSolver solver) {
+        var coloring = solver.create(createGraph(), Map.of()).getColoring();
+
+        assertThat(coloring).isNotNull();
+        assertThat(coloring.getColors()).isEmpty();
+    }
+}
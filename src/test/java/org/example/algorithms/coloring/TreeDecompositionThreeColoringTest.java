@@ -0,0 +1,172 @@
+package org.example.algorithms.coloring;
+
+import org.example.algorithms.separator.SeparatorFindingAlgorithm;
+import org.jgrapht.Graph;
+import org.jgrapht.generate.CompleteGraphGenerator;
+import org.jgrapht.generate.GridGraphGenerator;
+import org.jgrapht.generate.RingGraphGenerator;
+import org.jgrapht.generate.WheelGraphGenerator;
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.example.TestGraphs.assertValidColoring;
+import static org.example.TestGraphs.createGraph;
+
+class TreeDecompositionThreeColoringTest {
+
+    @Test
+    void shouldColorOddCycle() {
+        Graph<Integer, DefaultEdge> cycle = createGraph();
+        new RingGraphGenerator<Integer, DefaultEdge>(7).generateGraph(cycle);
+
+        var coloring = new TreeDecompositionThreeColoring<>(cycle, Map.of()).getColoring();
+
+        assertThat(coloring).isNotNull();
+        assertThat(coloring.getColors()).hasSize(7);
+        assertValidColoring(cycle, coloring);
+    }
+
+    @Test
+    void shouldNotColorK4() {
+        Graph<Integer, DefaultEdge> completeGraph = createGraph();
+        new CompleteGraphGenerator<Integer, DefaultEdge>(4).generateGraph(completeGraph);
+
+        assertThat(new TreeDecompositionThreeColoring<>(completeGraph, Map.of()).getColoring()).isNull();
+    }
+
+    @Test
+    void shouldNotColorOddWheel() {
+        Graph<Integer, DefaultEdge> wheel = createGraph();
+        new WheelGraphGenerator<Integer, DefaultEdge>(6).generateGraph(wheel);
+
+        assertThat(new TreeDecompositionThreeColoring<>(wheel, Map.of()).getColoring()).isNull();
+    }
+
+    @Test
+    void shouldRespectRestrictedColors() {
+        Graph<Integer, DefaultEdge> cycle = createGraph();
+        new RingGraphGenerator<Integer, DefaultEdge>(4).generateGraph(cycle);
+
+        var coloring = new TreeDecompositionThreeColoring<>(cycle, Map.of(0, Set.of(0, 1), 1, Set.of(0))).getColoring();
+
+        assertThat(coloring).isNotNull();
+        assertThat(coloring.getColors().get(0)).isEqualTo(2);
+        assertThat(coloring.getColors().get(1)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotColorWhenAllColorsAreRestricted() {
+        Graph<Integer, DefaultEdge> cycle = createGraph();
+        new RingGraphGenerator<Integer, DefaultEdge>(4).generateGraph(cycle);
+
+        assertThat(new TreeDecompositionThreeColoring<>(cycle, Map.of(2, Set.of(0, 1, 2))).getColoring()).isNull();
+    }
+
+    @Test
+    void shouldColorGridWithSmallBags() {
+        Graph<Integer, DefaultEdge> grid = createGraph();
+        new GridGraphGenerator<Integer, DefaultEdge>(6, 6).generateGraph(grid);
+
+        var algorithm = new TreeDecompositionThreeColoring<>(grid, Map.of());
+        var coloring = algorithm.getColoring();
+
+        assertThat(algorithm.isColorable()).isTrue();
+        assertThat(algorithm.getWidth()).isLessThan(grid.vertexSet().size());
+        assertThat(coloring.getColors()).hasSize(36);
+        assertValidColoring(grid, coloring);
+    }
+
+    @Test
+    void shouldColorTriangulatedGridWithWideBags() {
+        int rows = 8;
+        int columns = 8;
+        Graph<Integer, DefaultEdge> mesh = createGraph();
+        new GridGraphGenerator<Integer, DefaultEdge>(rows, columns).generateGraph(mesh);
+        for (int row = 0; row + 1 < rows; row++) {
+            for (int column = 0; column + 1 < columns; column++) {
+                mesh.addEdge(row * columns + column + 1, (row + 1) * columns + column);
+            }
+        }
+
+        var algorithm = new TreeDecompositionThreeColoring<>(mesh, Map.of());
+        var coloring = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> algorithm.getColoring());
+
+        assertThat(algorithm.getWidth()).isGreaterThan(TreeDecompositionThreeColoring.MAX_BOUNDARY_SIZE);
+        assertValidColoring(mesh, coloring);
+    }
+
+    @Test
+    void shouldExtendPrecoloring() {
+        Graph<Integer, DefaultEdge> cycle = createGraph();
+        new RingGraphGenerator<Integer, DefaultEdge>(6).generateGraph(cycle);
+        var algorithm = new TreeDecompositionThreeColoring<>(cycle, Map.of());
+
+        var coloring = algorithm.getColoring(Map.of(0, 2, 3, 1));
+
+        assertThat(coloring).isNotNull();
+        assertThat(coloring.getColors().get(0)).isEqualTo(2);
+        assertThat(coloring.getColors().get(3)).isEqualTo(1);
+        assertValidColoring(cycle, coloring);
+    }
+
+    @Test
+    void shouldNotExtendInvalidPrecoloring() {
+        Graph<Integer, DefaultEdge> wheel = createGraph();
+        new WheelGraphGenerator<Integer, DefaultEdge>(5).generateGraph(wheel);
+        var algorithm = new TreeDecompositionThreeColoring<>(wheel, Map.of());
+
+        assertThat(algorithm.isColorable()).isTrue();
+        assertThat(algorithm.getColoring(Map.of(1, 0, 3, 1))).isNull();
+    }
+
+    @Test
+    void shouldRecurseIntoNodeWithTooLargeBoundary() {
+        int separatorSize = TreeDecompositionThreeColoring.MAX_BOUNDARY_SIZE + 1;
+        Graph<Integer, DefaultEdge> graph = createGraph();
+        for (int v = 0; v < separatorSize; v++) {
+            graph.addVertex();
+        }
+        Integer firstHub = graph.addVertex();
+        Integer secondHub = graph.addVertex();
+        graph.addEdge(firstHub, secondHub);
+        for (int v = 0; v < separatorSize; v++) {
+            graph.addEdge(v, firstHub);
+            graph.addEdge(v, secondHub);
+        }
+        Set<Integer> separator = Set.copyOf(graph.vertexSet().stream().filter(v -> v < separatorSize).toList());
+        Set<Integer> hubs = Set.of(firstHub, secondHub);
+
+        var algorithm = new TreeDecompositionThreeColoring<>(graph, Map.of(),
+                subgraph -> new FixedSeparator<>(separator, hubs), 2);
+        var coloring = algorithm.getColoring();
+
+        assertThat(algorithm.getWidth()).isGreaterThan(TreeDecompositionThreeColoring.MAX_BOUNDARY_SIZE);
+        assertValidColoring(graph, coloring);
+    }
+
+    /**
+     * Separator splitting off given subset, the remaining subset is empty
+     */
+    private record FixedSeparator<V>(Set<V> separator, Set<V> subsetA) implements SeparatorFindingAlgorithm<V> {
+        @Override
+        public Set<V> getSparator() {
+            return separator;
+        }
+
+        @Override
+        public Set<V> getSubsetA() {
+            return subsetA;
+        }
+
+        @Override
+        public Set<V> getSubsetB() {
+            return Set.of();
+        }
+    }
+}
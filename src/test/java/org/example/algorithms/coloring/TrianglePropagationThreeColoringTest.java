@@ -0,0 +1,105 @@
+package org.example.algorithms.coloring;
+
+import org.jgrapht.Graph;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm.Coloring;
+import org.jgrapht.generate.CompleteGraphGenerator;
+import org.jgrapht.generate.GridGraphGenerator;
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.example.TestGraphs.assertValidColoring;
+import static org.example.TestGraphs.createGraph;
+
+class TrianglePropagationThreeColoringTest {
+
+    @Test
+    void shouldContractTriangulatedGridToTriangle() {
+        int rows = 5;
+        int columns = 6;
+        Graph<Integer, DefaultEdge> mesh = createGraph();
+        new GridGraphGenerator<Integer, DefaultEdge>(rows, columns).generateGraph(mesh);
+        for (int row = 0; row + 1 < rows; row++) {
+            for (int column = 0; column + 1 < columns; column++) {
+                mesh.addEdge(row * columns + column + 1, (row + 1) * columns + column);
+            }
+        }
+        // corners of degree 2 may be embedded inside a quadrilateral face, without them the embedding is unique
+        mesh.removeVertex(0);
+        mesh.removeVertex(rows * columns - 1);
+
+        var algorithm = new TrianglePropagationThreeColoring<>(mesh);
+        var coloring = algorithm.getColoring();
+
+        assertThat(algorithm.getQuotient().vertexSet()).hasSize(3);
+        assertThat(algorithm.getMergedVertexCount()).isEqualTo(rows * columns - 2 - 3);
+        assertValidColoring(mesh, coloring);
+    }
+
+    @Test
+    void shouldStopOnConflictInCompleteGraph() {
+        Graph<Integer, DefaultEdge> completeGraph = createGraph();
+        new CompleteGraphGenerator<Integer, DefaultEdge>(4).generateGraph(completeGraph);
+
+        var algorithm = new TrianglePropagationThreeColoring<>(completeGraph, graph -> {
+            throw new AssertionError("Residual graph should not be colored");
+        });
+
+        assertThat(algorithm.hasConflict()).isTrue();
+        assertThat(algorithm.getQuotient()).isNull();
+        assertThat(algorithm.getColoring()).isNull();
+    }
+
+    @Test
+    void shouldKeepGraphWithoutTriangles() {
+        Graph<Integer, DefaultEdge> grid = createGraph();
+        new GridGraphGenerator<Integer, DefaultEdge>(4, 4).generateGraph(grid);
+
+        var algorithm = new TrianglePropagationThreeColoring<>(grid);
+
+        assertThat(algorithm.getMergedVertexCount()).isZero();
+        assertThat(algorithm.getQuotient().edgeSet()).hasSize(grid.edgeSet().size());
+        assertValidColoring(grid, algorithm.getColoring());
+    }
+
+    @Test
+    void shouldColorResidualGraphBetweenTriangleComponents() {
+        Graph<Integer, DefaultEdge> graph = createGraph();
+        new CompleteGraphGenerator<Integer, DefaultEdge>(3).generateGraph(graph);
+        Integer first = graph.addVertex();
+        graph.addEdge(first, 0);
+        graph.addEdge(first, 1);
+        Integer second = graph.addVertex();
+        graph.addEdge(second, 2);
+        graph.addEdge(second, first);
+
+        var algorithm = new TrianglePropagationThreeColoring<>(graph);
+        var coloring = algorithm.getColoring();
+
+        assertThat(algorithm.getMergedVertexCount()).isEqualTo(1);
+        assertValidColoring(graph, coloring);
+        assertThat(coloring.getColors().get(first)).isEqualTo(coloring.getColors().get(2));
+    }
+
+    @Test
+    void shouldColorNonPlanarQuotientWithFallback() {
+        Graph<Integer, DefaultEdge> graph = createGraph();
+        for (int v = 0; v < 10; v++) {
+            graph.addVertex(v);
+        }
+        int[][] edges = {{1, 2}, {0, 2}, {3, 0}, {3, 2}, {3, 1}, {4, 0}, {5, 0}, {6, 0}, {6, 2}, {7, 2}, {7, 0},
+                {7, 5}, {8, 1}, {8, 5}, {9, 3}, {9, 6}};
+        for (int[] edge : edges) {
+            graph.addEdge(edge[0], edge[1]);
+        }
+
+        var algorithm = new TrianglePropagationThreeColoring<>(graph, quotient -> {
+            throw new AssertionError("Non planar quotient should not be passed to the planar solver");
+        }, quotient -> ThreeColoringSolver.FORWARD_CHECKING.create(quotient, Map.of()));
+
+        assertThat(algorithm.isQuotientPlanar()).isFalse();
+        assertValidColoring(graph, algorithm.getColoring());
+    }
+}
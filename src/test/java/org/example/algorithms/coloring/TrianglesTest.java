@@ -0,0 +1,51 @@
+package org.example.algorithms.coloring;
+
+import org.jgrapht.Graph;
+import org.jgrapht.generate.CompleteGraphGenerator;
+import org.jgrapht.generate.WheelGraphGenerator;
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.example.TestGraphs.createGraph;
+
+class TrianglesTest {
+
+    @Test
+    void shouldListEveryTriangleOfCompleteGraphOnce() {
+        Graph<Integer, DefaultEdge> completeGraph = createGraph();
+        new CompleteGraphGenerator<Integer, DefaultEdge>(6).generateGraph(completeGraph);
+
+        assertThat(listTriangles(IndexedColoringProblem.of(completeGraph, Map.of()))).hasSize(20);
+    }
+
+    @Test
+    void shouldListRimTrianglesOfLargeWheel() {
+        int rimSize = 100_000;
+        Graph<Integer, DefaultEdge> wheel = createGraph();
+        new WheelGraphGenerator<Integer, DefaultEdge>(rimSize + 1).generateGraph(wheel);
+        var problem = IndexedColoringProblem.of(wheel, Map.of());
+
+        assertThat(listTriangles(problem)).hasSize(rimSize);
+    }
+
+    /**
+     * Checks that edge identifiers point at the neighbors of the lower endpoints.
+     */
+    private static Set<Set<Integer>> listTriangles(IndexedColoringProblem<?> problem) {
+        int[] neighbors = problem.neighbors();
+        Set<Set<Integer>> triangles = new HashSet<>();
+        Triangles.forEach(problem, (a, b, c, edgeAB, edgeBC, edgeAC) -> {
+            assertThat(neighbors[edgeAB]).isEqualTo(b);
+            assertThat(neighbors[edgeBC]).isEqualTo(c);
+            assertThat(neighbors[edgeAC]).isEqualTo(c);
+            assertThat(triangles.add(Set.copyOf(List.of(a, b, c)))).isTrue();
+        });
+        return triangles;
+    }
+}
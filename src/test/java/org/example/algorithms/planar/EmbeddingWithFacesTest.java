@@ -0,0 +1,56 @@
+package org.example.algorithms.planar;
+
+import org.jgrapht.Graph;
+import org.jgrapht.alg.planar.BoyerMyrvoldPlanarityInspector;
+import org.jgrapht.generate.CompleteGraphGenerator;
+import org.jgrapht.generate.StarGraphGenerator;
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.example.TestGraphs.createGraph;
+
+class EmbeddingWithFacesTest {
+
+    @Test
+    void shouldFindFacesOfEdges() {
+        Graph<Integer, DefaultEdge> completeGraph = createGraph();
+        new CompleteGraphGenerator<Integer, DefaultEdge>(4).generateGraph(completeGraph);
+
+        var embedding = EmbeddingToEmbeddingWithFacesConverter.convert(
+                new BoyerMyrvoldPlanarityInspector<>(completeGraph).getEmbedding());
+
+        assertThat(completeGraph.edgeSet()).allSatisfy(edge -> {
+            var left = embedding.getLeftFace(edge);
+            var right = embedding.getRightFace(edge);
+            assertThat(left).isNotNull().isNotSameAs(right);
+            assertThat(left.edges()).anySatisfy(node -> assertThat(node.edge()).isSameAs(edge));
+            assertThat(right.edges()).anySatisfy(node -> assertThat(node.edge()).isSameAs(edge));
+        });
+    }
+
+    @Test
+    void shouldFindFacesAroundVertices() {
+        Graph<Integer, DefaultEdge> completeGraph = createGraph();
+        new CompleteGraphGenerator<Integer, DefaultEdge>(4).generateGraph(completeGraph);
+
+        var embedding = EmbeddingToEmbeddingWithFacesConverter.convert(
+                new BoyerMyrvoldPlanarityInspector<>(completeGraph).getEmbedding());
+
+        assertThat(completeGraph.vertexSet()).allSatisfy(vertex ->
+                assertThat(embedding.getFacesAround(vertex)).hasSize(3).doesNotHaveDuplicates());
+    }
+
+    @Test
+    void shouldFindSingleFaceOfTree() {
+        Graph<Integer, DefaultEdge> star = createGraph();
+        new StarGraphGenerator<Integer, DefaultEdge>(5).generateGraph(star);
+
+        var embedding = EmbeddingToEmbeddingWithFacesConverter.convert(
+                new BoyerMyrvoldPlanarityInspector<>(star).getEmbedding());
+
+        assertThat(embedding.getFaces()).hasSize(1);
+        assertThat(star.edgeSet()).allSatisfy(edge ->
+                assertThat(embedding.getLeftFace(edge)).isSameAs(embedding.getRightFace(edge)));
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.algorithms.planar;
+
+import org.jgrapht.Graph;
+import org.jgrapht.alg.planar.BoyerMyrvoldPlanarityInspector;
+import org.jgrapht.generate.CompleteGraphGenerator;
+import org.jgrapht.generate.GridGraphGenerator;
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.example.TestGraphs.createGraph;
+
+class HalfEdgeEmbeddingTest {
+
+    @Test
+    void shouldSplitK4IntoTriangles() {
+        Graph<Integer, DefaultEdge> completeGraph = createGraph();
+        new CompleteGraphGenerator<Integer, DefaultEdge>(4).generateGraph(completeGraph);
+
+        var halfEdges = HalfEdgeEmbedding.of(new BoyerMyrvoldPlanarityInspector<>(completeGraph).getEmbedding());
+
+        assertThat(halfEdges.halfEdgeCount()).isEqualTo(12);
+        assertThat(halfEdges.faceCount()).isEqualTo(4);
+        assertThat(IntStream.range(0, 4).map(halfEdges::faceSize)).containsOnly(3);
+    }
+
+    @Test
+    void shouldSatisfyEulerFormulaOnGrid() {
+        Graph<Integer, DefaultEdge> grid = createGraph();
+        new GridGraphGenerator<Integer, DefaultEdge>(4, 5).generateGraph(grid);
+
+        var halfEdges = HalfEdgeEmbedding.of(new BoyerMyrvoldPlanarityInspector<>(grid).getEmbedding());
+
+        assertThat(grid.vertexSet().size() - grid.edgeSet().size() + halfEdges.faceCount()).isEqualTo(2);
+        assertThat(IntStream.range(0, halfEdges.halfEdgeCount())).allSatisfy(h -> {
+            assertThat(halfEdges.prev(halfEdges.next(h))).isEqualTo(h);
+            assertThat(halfEdges.origin(halfEdges.next(h))).isEqualTo(halfEdges.target(h));
+            assertThat(halfEdges.target(halfEdges.twin(h))).isEqualTo(halfEdges.origin(h));
+            assertThat(halfEdges.face(halfEdges.faceHalfEdge(halfEdges.face(h), 0))).isEqualTo(halfEdges.face(h));
+        });
+    }
+
+    @Test
+    void shouldWalkRotationAroundVertex() {
+        Graph<Integer, DefaultEdge> grid = createGraph();
+        new GridGraphGenerator<Integer, DefaultEdge>(4, 5).generateGraph(grid);
+
+        var halfEdges = HalfEdgeEmbedding.of(new BoyerMyrvoldPlanarityInspector<>(grid).getEmbedding());
+
+        assertThat(grid.vertexSet()).allSatisfy(vertex -> {
+            int first = halfEdges.outgoing(vertex);
+            int degree = 0;
+            int h = first;
+            do {
+                assertThat(halfEdges.origin(h)).isEqualTo(vertex);
+                degree++;
+                h = halfEdges.rotationNext(h);
+            } while (h != first);
+            assertThat(degree).isEqualTo(grid.degreeOf(vertex));
+        });
+    }
+}
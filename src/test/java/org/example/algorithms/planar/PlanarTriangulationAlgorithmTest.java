@@ -1,8 +1,11 @@
 package org.example.algorithms.planar;
 
+import org.example.graph.OverlayGraph;
 import org.jgrapht.Graph;
 import org.jgrapht.alg.planar.BoyerMyrvoldPlanarityInspector;
+import org.jgrapht.generate.GridGraphGenerator;
 import org.jgrapht.generate.RingGraphGenerator;
+import org.jgrapht.generate.StarGraphGenerator;
 import org.jgrapht.graph.DefaultEdge;
 import org.jgrapht.graph.SimpleGraph;
 import org.jgrapht.util.SupplierUtil;
@@ -21,10 +24,67 @@ class PlanarTriangulationAlgorithmTest {
 
         var embedding = new BoyerMyrvoldPlanarityInspector<>(cycle).getEmbedding();
         var embeddingWithFaces = new PlanarTriangulationAlgorithm<>(embedding).triangulate();
-        System.out.println(embeddingWithFaces.getGraph().edgeSet().size());
         assertThat(embeddingWithFaces.getGraph().edgeSet()).hasSize(3 * 5 - 6);
+        assertThat(cycle.edgeSet()).hasSize(5);
         assertThat(embeddingWithFaces.getFaces()).hasSize(6);
         assertThat(embeddingWithFaces.getFaces())
                 .allSatisfy(face -> assertThat(face.edges().size()).isEqualTo(3));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldTriangulateGridInPlace() {
+        Graph<Integer, DefaultEdge> grid = new SimpleGraph<>(SupplierUtil.createIntegerSupplier(),
+                SupplierUtil.createDefaultEdgeSupplier(), false);
+        new GridGraphGenerator<Integer, DefaultEdge>(6, 7).generateGraph(grid);
+
+        var embedding = new BoyerMyrvoldPlanarityInspector<>(grid).getEmbedding();
+        var embeddingWithFaces = new PlanarTriangulationAlgorithm<>(embedding).triangulate();
+
+        assertTriangulation(grid, embeddingWithFaces);
+    }
+
+    @Test
+    void shouldTriangulateTreeInPlace() {
+        Graph<Integer, DefaultEdge> star = new SimpleGraph<>(SupplierUtil.createIntegerSupplier(),
+                SupplierUtil.createDefaultEdgeSupplier(), false);
+        new StarGraphGenerator<Integer, DefaultEdge>(8).generateGraph(star);
+
+        var embedding = new BoyerMyrvoldPlanarityInspector<>(star).getEmbedding();
+        var embeddingWithFaces = new PlanarTriangulationAlgorithm<>(embedding).triangulate();
+
+        assertTriangulation(star, embeddingWithFaces);
+    }
+
+    @Test
+    void shouldNotModifySourceGraph() {
+        Graph<Integer, DefaultEdge> grid = new SimpleGraph<>(SupplierUtil.createIntegerSupplier(),
+                SupplierUtil.createDefaultEdgeSupplier(), false);
+        new GridGraphGenerator<Integer, DefaultEdge>(4, 5).generateGraph(grid);
+        int edgeCount = grid.edgeSet().size();
+
+        var embedding = new BoyerMyrvoldPlanarityInspector<>(grid).getEmbedding();
+        var embeddingWithFaces = new PlanarTriangulationAlgorithm<>(embedding).triangulate();
+
+        assertThat(grid.edgeSet()).hasSize(edgeCount);
+        var overlay = (OverlayGraph<Integer, DefaultEdge>) embeddingWithFaces.getGraph();
+        assertThat(overlay.getBase()).isSameAs(grid);
+        assertThat(overlay.getAddedEdges()).hasSize(3 * 20 - 6 - edgeCount)
+                .noneSatisfy(edge -> assertThat(grid.containsEdge(edge)).isTrue());
+    }
+
+    /**
+     * Triangular faces of a maximal planar graph satisfy Euler formula only if the rotations form a plane embedding.
+     */
+    private static void assertTriangulation(Graph<Integer, DefaultEdge> source,
+                                            EmbeddingWithFaces<Integer, DefaultEdge> embeddingWithFaces) {
+        Graph<Integer, DefaultEdge> graph = embeddingWithFaces.getGraph();
+        int n = graph.vertexSet().size();
+        assertThat(graph.vertexSet()).isEqualTo(source.vertexSet());
+        assertThat(graph.edgeSet()).hasSize(3 * n - 6).containsAll(source.edgeSet());
+        assertThat(embeddingWithFaces.getFaces()).hasSize(2 * n - 4);
+        assertThat(embeddingWithFaces.getFaces())
+                .allSatisfy(face -> assertThat(face.edges().size()).isEqualTo(3));
+        assertThat(graph.vertexSet()).allSatisfy(vertex -> assertThat(
+                embeddingWithFaces.getHalfEdges().getEdgesAround(vertex)).hasSize(graph.degreeOf(vertex)));
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.algorithms.planar;
+
+import org.example.graph.InducedSubgraphView;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.planar.BoyerMyrvoldPlanarityInspector;
+import org.jgrapht.generate.GridGraphGenerator;
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.example.TestGraphs.createGraph;
+
+class RestrictedEmbeddingTest {
+
+    @Test
+    void shouldKeepOnlyEdgesOfSubgraphInRotationOrder() {
+        Graph<Integer, DefaultEdge> grid = createGraph();
+        new GridGraphGenerator<Integer, DefaultEdge>(5, 5).generateGraph(grid);
+        var embedding = new BoyerMyrvoldPlanarityInspector<>(grid).getEmbedding();
+        var subgraph = InducedSubgraphView.of(grid, IntStream.range(0, 15).boxed().collect(Collectors.toSet()));
+
+        var restricted = new RestrictedEmbedding<>(embedding, subgraph);
+
+        assertThat(restricted.getGraph()).isSameAs(subgraph);
+        assertThat(subgraph.vertexSet()).allSatisfy(v -> assertThat(restricted.getEdgesAround(v))
+                .containsExactlyElementsOf(embedding.getEdgesAround(v).stream()
+                        .filter(subgraph::containsEdge)
+                        .toList()));
+    }
+
+    @Test
+    void shouldRestrictedEmbeddingBePlane() {
+        Graph<Integer, DefaultEdge> grid = createGraph();
+        new GridGraphGenerator<Integer, DefaultEdge>(6, 6).generateGraph(grid);
+        var embedding = new BoyerMyrvoldPlanarityInspector<>(grid).getEmbedding();
+        var rows = InducedSubgraphView.of(grid, IntStream.range(0, 24).boxed().collect(Collectors.toSet()));
+        var columns = rows.subgraph(IntStream.range(0, 24).filter(v -> v % 6 < 4).boxed()
+                .collect(Collectors.toSet()));
+
+        var halfEdges = HalfEdgeEmbedding.of(new RestrictedEmbedding<>(new RestrictedEmbedding<>(embedding, rows),
+                columns));
+
+        int n = columns.vertexSet().size();
+        int m = columns.edgeSet().size();
+        assertThat(n - m + halfEdges.faceCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.algorithms.sat;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CdclSolverTest {
+
+    @Test
+    void shouldRefutePigeonholeFormulaByLearning() {
+        CdclSolver solver = pigeonholeSolver(5);
+
+        assertThat(solver.solve()).isFalse();
+        assertThat(solver.getConflicts()).isPositive();
+    }
+
+    @Test
+    void shouldKeepLearntClausesAcrossRestarts() {
+        CdclSolver solver = pigeonholeSolver(7);
+
+        assertThat(solver.solve()).isFalse();
+        // more conflicts than the first restart allows, so the refutation spans several restarts
+        assertThat(solver.getConflicts()).isGreaterThan(100);
+    }
+
+    @Test
+    void shouldRestartAccordingToLubySequence() {
+        assertThat(IntStream.range(0, 15).map(CdclSolver::luby))
+                .containsExactly(1, 1, 2, 1, 1, 2, 4, 1, 1, 2, 1, 1, 2, 4, 8);
+    }
+
+    @Test
+    void shouldFindModelOfRandomSatisfiableFormula() {
+        int variableCount = 150;
+        Random random = new Random(7);
+        boolean[] planted = new boolean[variableCount + 1];
+        for (int variable = 1; variable <= variableCount; variable++) {
+            planted[variable] = random.nextBoolean();
+        }
+        List<int[]> clauses = new ArrayList<>();
+        while (clauses.size() < 4 * variableCount) {
+            int[] clause = random.ints(3, 1, variableCount + 1).map(v -> random.nextBoolean() ? v : -v).toArray();
+            if (IntStream.of(clause).anyMatch(literal -> planted[Math.abs(literal)] == literal > 0)) {
+                clauses.add(clause);
+            }
+        }
+        CdclSolver solver = new CdclSolver(variableCount);
+        clauses.forEach(solver::addClause);
+
+        assertThat(solver.solve()).isTrue();
+        assertThat(clauses).allSatisfy(clause -> assertThat(IntStream.of(clause)
+                .anyMatch(literal -> solver.value(Math.abs(literal)) == literal > 0)).isTrue());
+    }
+
+    @Test
+    void shouldDetectConflictingUnitClauses() {
+        CdclSolver solver = new CdclSolver(2);
+        solver.addClause(1);
+        solver.addClause(-1, 2);
+        solver.addClause(-2);
+
+        assertThat(solver.solve()).isFalse();
+        assertThat(solver.getConflicts()).isZero();
+    }
+
+    /**
+     * Every one of n + 1 pigeons sits in one of n holes and no hole has two pigeons, which is unsatisfiable and
+     * needs many conflicts to refute.
+     */
+    private static CdclSolver pigeonholeSolver(int holes) {
+        int pigeons = holes + 1;
+        CdclSolver solver = new CdclSolver(pigeons * holes);
+        for (int pigeon = 0; pigeon < pigeons; pigeon++) {
+            int first = pigeon * holes + 1;
+            solver.addClause(IntStream.range(first, first + holes).toArray());
+        }
+        for (int hole = 0; hole < holes; hole++) {
+            for (int pigeon = 0; pigeon < pigeons; pigeon++) {
+                for (int other = pigeon + 1; other < pigeons; other++) {
+                    solver.addClause(-(pigeon * holes + hole + 1), -(other * holes + hole + 1));
+                }
+            }
+        }
+        return solver;
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.algorithms.sat;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VariableHeapTest {
+
+    @Test
+    void shouldRemoveMostActiveVariableFirst() {
+        double[] activities = {0.5, 3, 1, 2};
+        VariableHeap heap = new VariableHeap(activities);
+        for (int variable = 0; variable < activities.length; variable++) {
+            heap.insert(variable);
+        }
+
+        assertThat(heap.removeMax()).isEqualTo(1);
+        assertThat(heap.removeMax()).isEqualTo(3);
+        assertThat(heap.contains(3)).isFalse();
+        assertThat(heap.contains(2)).isTrue();
+    }
+
+    @Test
+    void shouldMoveBumpedVariableToTop() {
+        double[] activities = {4, 3, 2, 1};
+        VariableHeap heap = new VariableHeap(activities);
+        for (int variable = 0; variable < activities.length; variable++) {
+            heap.insert(variable);
+        }
+
+        activities[3] = 10;
+        heap.increased(3);
+
+        assertThat(heap.removeMax()).isEqualTo(3);
+        assertThat(heap.removeMax()).isZero();
+    }
+}
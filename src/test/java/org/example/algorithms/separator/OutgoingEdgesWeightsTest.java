@@ -20,20 +20,17 @@ public class OutgoingEdgesWeightsTest {
     void shouldSumCycleSides() {
         var graph = createTreeGraph();
         var algorithm = new PlanarConnectedSeparatorFindingAlgorithm<>(graph);
-        var embedding = new BoyerMyrvoldPlanarityInspector<>(graph).getEmbedding();
-        var spanningTree = algorithm.createSpanningTreeUsingBFS(8);
+        algorithm.createSpanningTreeUsingBFS(8);
         graph.addEdge(3, 4);
+        var embedding = new BoyerMyrvoldPlanarityInspector<>(graph).getEmbedding();
         int v1 = 3;
         int v2 = 4;
 
         int commonAncestor = algorithm.getLowestCommonAncestor(3, 4);
         List<Integer> cycle = algorithm.getCycle(v1, v2, commonAncestor);
 
-        var weights = algorithm.computeOutgoingEdgeWeights(spanningTree, v1, v2, commonAncestor, cycle);
-        System.out.println(weights);
-
-        Pair<Integer,Integer> areaAndCycleValue = algorithm.SumCycleSides(spanningTree,cycle,embedding,weights);
-        System.out.println(areaAndCycleValue);
+        Pair<Integer, Integer> cycleSides = algorithm.SumCycleSides(cycle, embedding);
+        assertThat(cycleSides.getFirst() + cycleSides.getSecond()).isEqualTo(graph.vertexSet().size() - cycle.size());
     }
 
     @Test
@@ -66,7 +63,7 @@ public class OutgoingEdgesWeightsTest {
         int commonAncestor = algorithm.getLowestCommonAncestor(3, 4);
         List<Integer> cycle = algorithm.getCycle(v1, v2, commonAncestor);
 
-        var weights = algorithm.computeOutgoingEdgeWeights(spanningTree, v1, v2, commonAncestor, cycle);
+        var weights = algorithm.computeOutgoingEdgeWeights(spanningTree, cycle);
         DefaultEdge edge19 = spanningTree.getEdge(1, 9);
         DefaultEdge edge210 = spanningTree.getEdge(2, 10);
         DefaultEdge edge513 = spanningTree.getEdge(5, 13);
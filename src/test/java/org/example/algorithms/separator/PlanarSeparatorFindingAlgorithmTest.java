@@ -0,0 +1,109 @@
+package org.example.algorithms.separator;
+
+import org.example.algorithms.planar.RestrictedEmbedding;
+import org.example.graph.InducedSubgraphView;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.planar.BoyerMyrvoldPlanarityInspector;
+import org.jgrapht.generate.GridGraphGenerator;
+import org.jgrapht.generate.RingGraphGenerator;
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.example.TestGraphs.createGraph;
+
+class PlanarSeparatorFindingAlgorithmTest {
+
+    @Test
+    void shouldSeparateGrid() {
+        Graph<Integer, DefaultEdge> grid = createGraph();
+        new GridGraphGenerator<Integer, DefaultEdge>(12, 15).generateGraph(grid);
+
+        assertValidSeparator(grid, new PlanarSeparatorFindingAlgorithm<>(grid));
+    }
+
+    @Test
+    void shouldSeparateStackedTriangulation() {
+        Graph<Integer, DefaultEdge> triangulation = createStackedTriangulation(200);
+
+        assertValidSeparator(triangulation, new PlanarSeparatorFindingAlgorithm<>(triangulation));
+    }
+
+    @Test
+    void shouldSeparateDisconnectedGraph() {
+        Graph<Integer, DefaultEdge> graph = createGraph();
+        new GridGraphGenerator<Integer, DefaultEdge>(6, 7).generateGraph(graph);
+        new RingGraphGenerator<Integer, DefaultEdge>(30).generateGraph(graph);
+
+        assertValidSeparator(graph, new PlanarSeparatorFindingAlgorithm<>(graph));
+    }
+
+    @Test
+    void shouldSeparateSubgraphWithRestrictedEmbedding() {
+        Graph<Integer, DefaultEdge> triangulation = createStackedTriangulation(300);
+        var embedding = new BoyerMyrvoldPlanarityInspector<>(triangulation).getEmbedding();
+        var subgraph = InducedSubgraphView.of(triangulation, IntStream.range(0, 300)
+                .filter(v -> v % 7 != 3)
+                .boxed()
+                .collect(Collectors.toSet()));
+
+        assertValidSeparator(subgraph, new PlanarSeparatorFindingAlgorithm<>(
+                new RestrictedEmbedding<>(embedding, subgraph)));
+    }
+
+    @Test
+    void shouldSeparateConnectedGridWithGivenEmbedding() {
+        Graph<Integer, DefaultEdge> grid = createGraph();
+        new GridGraphGenerator<Integer, DefaultEdge>(16, 16).generateGraph(grid);
+
+        assertValidSeparator(grid, new PlanarConnectedSeparatorFindingAlgorithm<>(
+                new BoyerMyrvoldPlanarityInspector<>(grid).getEmbedding()));
+    }
+
+    private static void assertValidSeparator(Graph<Integer, DefaultEdge> graph,
+                                             SeparatorFindingAlgorithm<Integer> algorithm) {
+        Set<Integer> separator = algorithm.getSparator();
+        Set<Integer> subsetA = algorithm.getSubsetA();
+        Set<Integer> subsetB = algorithm.getSubsetB();
+        int n = graph.vertexSet().size();
+
+        Set<Integer> union = new HashSet<>(separator);
+        union.addAll(subsetA);
+        union.addAll(subsetB);
+        assertThat(union).isEqualTo(graph.vertexSet());
+        assertThat(separator.size() + subsetA.size() + subsetB.size()).isEqualTo(n);
+        assertThat(3 * subsetA.size()).isLessThanOrEqualTo(2 * n);
+        assertThat(3 * subsetB.size()).isLessThanOrEqualTo(2 * n);
+        assertThat(graph.edgeSet()).noneSatisfy(edge -> {
+            Integer source = graph.getEdgeSource(edge);
+            Integer target = graph.getEdgeTarget(edge);
+            assertThat(subsetA.contains(source) && subsetB.contains(target)
+                    || subsetB.contains(source) && subsetA.contains(target)).isTrue();
+        });
+    }
+
+    /**
+     * Starts with a triangle and repeatedly adds a vertex inside the face formed by vertices 0, 1 and the last added
+     * vertex, which gives a triangulation with two vertices of high degree.
+     */
+    private static Graph<Integer, DefaultEdge> createStackedTriangulation(int n) {
+        Graph<Integer, DefaultEdge> graph = createGraph();
+        for (int v = 0; v < n; v++) {
+            graph.addVertex(v);
+        }
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(0, 2);
+        for (int v = 3; v < n; v++) {
+            graph.addEdge(v, 0);
+            graph.addEdge(v, 1);
+            graph.addEdge(v, v - 1);
+        }
+        return graph;
+    }
+}
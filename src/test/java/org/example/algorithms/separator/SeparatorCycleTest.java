@@ -0,0 +1,70 @@
+package org.example.algorithms.separator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeparatorCycleTest {
+
+    @Test
+    void shouldCreateFundamentalCycle() {
+        var cycle = new SeparatorCycle<>(createTree(), 8, 6);
+
+        assertThat(cycle.asList()).containsExactly(8, 7, 3, 1, 0, 2, 6);
+        assertThat(cycle.position(1)).isEqualTo(3);
+        assertThat(cycle.next(6)).isEqualTo(8);
+        assertThat(cycle.previous(8)).isEqualTo(6);
+        assertThat(cycle.contains(0)).isTrue();
+        assertThat(cycle.contains(4)).isFalse();
+    }
+
+    @Test
+    void shouldSpliceAfterSharedFirstVertex() {
+        var cycle = new SeparatorCycle<>(createTree(), 8, 6);
+
+        cycle.closeBy(8, 5);
+
+        assertThat(cycle.asList()).containsExactly(8, 7, 3, 1, 5);
+        assertThat(cycle.contains(0)).isFalse();
+        assertThat(cycle.contains(6)).isFalse();
+        assertThat(cycle.position(5)).isEqualTo(4);
+    }
+
+    @Test
+    void shouldSpliceBeforeSharedLastVertex() {
+        var cycle = new SeparatorCycle<>(createTree(), 8, 5);
+
+        cycle.closeBy(6, 5);
+
+        assertThat(cycle.asList()).containsExactly(6, 2, 0, 1, 5);
+        assertThat(cycle.contains(8)).isFalse();
+        assertThat(cycle.position(6)).isZero();
+        assertThat(cycle.next(0)).isEqualTo(1);
+
+        cycle.closeBy(4, 5);
+
+        assertThat(cycle.asList()).containsExactly(4, 1, 5);
+        assertThat(cycle.previous(4)).isEqualTo(5);
+    }
+
+    /**
+     * 0 - 1 - 3 - 7 - 8, 1 - 4, 1 - 5, 0 - 2 - 6
+     */
+    private static SpanningTreeIndex<Integer> createTree() {
+        Map<Integer, Integer> parents = new HashMap<>();
+        parents.put(0, null);
+        parents.put(1, 0);
+        parents.put(2, 0);
+        parents.put(3, 1);
+        parents.put(4, 1);
+        parents.put(5, 1);
+        parents.put(6, 2);
+        parents.put(7, 3);
+        parents.put(8, 7);
+        return new SpanningTreeIndex<>(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8), parents);
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.algorithms.separator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpanningTreeIndexTest {
+
+    @Test
+    void shouldFindLowestCommonAncestor() {
+        var index = createIndex();
+
+        assertThat(index.lowestCommonAncestor(7, 5)).isEqualTo(1);
+        assertThat(index.lowestCommonAncestor(7, 6)).isEqualTo(0);
+        assertThat(index.lowestCommonAncestor(3, 7)).isEqualTo(3);
+        assertThat(index.lowestCommonAncestor(0, 8)).isEqualTo(0);
+        assertThat(index.lowestCommonAncestor(8, 8)).isEqualTo(8);
+    }
+
+    @Test
+    void shouldFindParentsAndDepths() {
+        var index = createIndex();
+
+        assertThat(index.parent(0)).isNull();
+        assertThat(index.parent(7)).isEqualTo(3);
+        assertThat(index.depth(0)).isZero();
+        assertThat(index.depth(8)).isEqualTo(4);
+    }
+
+    @Test
+    void shouldFindPathUp() {
+        var index = createIndex();
+
+        assertThat(index.pathUp(8, 1)).containsExactly(8, 7, 3);
+        assertThat(index.pathUp(2, 2)).isEmpty();
+    }
+
+    @Test
+    void shouldFindLowestCommonAncestorOnLongPath() {
+        List<Integer> order = new ArrayList<>();
+        Map<Integer, Integer> parents = new HashMap<>();
+        parents.put(0, null);
+        order.add(0);
+        for (int v = 1; v < 1000; v++) {
+            order.add(v);
+            parents.put(v, v - 1);
+        }
+        var index = new SpanningTreeIndex<>(order, parents);
+
+        assertThat(index.lowestCommonAncestor(999, 500)).isEqualTo(500);
+        assertThat(index.lowestCommonAncestor(1, 777)).isEqualTo(1);
+    }
+
+    /**
+     * 0 - 1 - 3 - 7 - 8, 1 - 4, 1 - 5, 0 - 2 - 6
+     */
+    private static SpanningTreeIndex<Integer> createIndex() {
+        Map<Integer, Integer> parents = new HashMap<>();
+        parents.put(0, null);
+        parents.put(1, 0);
+        parents.put(2, 0);
+        parents.put(3, 1);
+        parents.put(4, 1);
+        parents.put(5, 1);
+        parents.put(6, 2);
+        parents.put(7, 3);
+        parents.put(8, 7);
+        return new SpanningTreeIndex<>(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8), parents);
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.graph;
+
+import org.example.algorithms.coloring.PlanarThreeColoring;
+import org.jgrapht.Graph;
+import org.jgrapht.Graphs;
+import org.jgrapht.generate.GridGraphGenerator;
+import org.jgrapht.generate.WheelGraphGenerator;
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.example.TestGraphs.assertValidColoring;
+import static org.example.TestGraphs.createGraph;
+
+class CsrGraphTest {
+
+    @Test
+    void shouldKeepAdjacencyOfSourceGraph() {
+        Graph<Integer, DefaultEdge> grid = createGraph();
+        new GridGraphGenerator<Integer, DefaultEdge>(3, 4).generateGraph(grid);
+        VertexIndex<Integer> index = VertexIndex.of(grid.vertexSet());
+
+        CsrGraph csrGraph = CsrGraph.of(grid, index);
+
+        assertThat(csrGraph.vertexCount()).isEqualTo(grid.vertexSet().size());
+        assertThat(csrGraph.edgeCount()).isEqualTo(grid.edgeSet().size());
+        for (Integer vertex : grid.vertexSet()) {
+            int v = index.indexOf(vertex);
+            assertThat(csrGraph.degree(v)).isEqualTo(grid.degreeOf(vertex));
+            for (Integer neighbor : Graphs.neighborListOf(grid, vertex)) {
+                int edge = csrGraph.edge(v, index.indexOf(neighbor));
+                assertThat(edge).isNotNegative();
+                assertThat(Graphs.getOppositeVertex(csrGraph.asGraph(), edge, v)).isEqualTo(index.indexOf(neighbor));
+            }
+        }
+    }
+
+    @Test
+    void shouldExposeGraphView() {
+        Graph<Integer, DefaultEdge> wheel = createGraph();
+        new WheelGraphGenerator<Integer, DefaultEdge>(6).generateGraph(wheel);
+
+        var view = CsrGraph.of(wheel, VertexIndex.of(wheel.vertexSet())).asGraph();
+
+        assertThat(view.vertexSet()).hasSize(6);
+        assertThat(view.edgeSet()).hasSize(10);
+        assertThat(view.vertexSet()).allSatisfy(v -> assertThat(view.edgesOf(v)).hasSize(view.degreeOf(v))
+                .allSatisfy(edge -> assertThat(view.getEdge(view.getEdgeSource(edge), view.getEdgeTarget(edge)))
+                        .isEqualTo(edge)));
+    }
+
+    @Test
+    void shouldColorCsrGraphAndMapColorsBack() {
+        Graph<Integer, DefaultEdge> grid = createGraph();
+        new GridGraphGenerator<Integer, DefaultEdge>(5, 6).generateGraph(grid);
+        VertexIndex<Integer> index = VertexIndex.of(grid.vertexSet());
+
+        var indexColoring = new PlanarThreeColoring<>(CsrGraph.of(grid, index).asGraph()).getColoring();
+        var coloring = index.toVertexColoring(indexColoring);
+
+        assertThat(coloring.getColors()).containsOnlyKeys(grid.vertexSet());
+        assertValidColoring(grid, coloring);
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.graph;
+
+import org.jgrapht.Graph;
+import org.jgrapht.generate.GridGraphGenerator;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.SimpleGraph;
+import org.jgrapht.util.SupplierUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InducedSubgraphViewTest {
+
+    @Test
+    void shouldContainOnlyInducedEdges() {
+        Graph<Integer, DefaultEdge> grid = createGrid();
+
+        var view = InducedSubgraphView.of(grid, Set.of(0, 1, 2, 4, 5));
+
+        assertThat(view.vertexSet()).containsExactlyInAnyOrder(0, 1, 2, 4, 5);
+        assertThat(view.edgeSet()).hasSize(5)
+                .containsExactlyInAnyOrder(grid.getEdge(0, 1), grid.getEdge(1, 2), grid.getEdge(0, 4),
+                        grid.getEdge(1, 5), grid.getEdge(4, 5));
+        assertThat(view.degreeOf(1)).isEqualTo(3);
+        assertThat(view.edgesOf(2)).containsExactly(grid.getEdge(1, 2));
+        assertThat(view.containsVertex(3)).isFalse();
+        assertThat(view.getEdge(2, 3)).isNull();
+    }
+
+    @Test
+    void shouldShareRootGraphWithNestedViews() {
+        Graph<Integer, DefaultEdge> grid = createGrid();
+
+        var view = InducedSubgraphView.of(grid, Set.of(0, 1, 2, 4, 5)).subgraph(Set.of(1, 2));
+
+        assertThat(view.getRoot()).isSameAs(grid);
+        assertThat(view.edgeSet()).containsExactly(grid.getEdge(1, 2));
+    }
+
+    @Test
+    void shouldPartitionIntoSeparatorAndSubsets() {
+        Graph<Integer, DefaultEdge> grid = createGrid();
+
+        var partition = InducedSubgraphView.of(grid).partition(Set.of(1, 5, 9), Set.of(0, 4, 8));
+
+        assertThat(partition.separator().vertexSet()).containsExactlyInAnyOrder(1, 5, 9);
+        assertThat(partition.subsetA().vertexSet()).containsExactlyInAnyOrder(0, 4, 8);
+        assertThat(partition.subsetB().vertexSet()).containsExactlyInAnyOrder(2, 3, 6, 7, 10, 11);
+        assertThat(partition.separator().edgeSet()).hasSize(2);
+        assertThat(partition.subsetB().edgeSet()).hasSize(7);
+    }
+
+    @Test
+    void shouldKeepAdjacencyInsideNestedViews() {
+        Graph<Integer, DefaultEdge> grid = createGrid();
+
+        var partition = InducedSubgraphView.of(grid).partition(Set.of(1, 5, 9), Set.of(0, 4, 8));
+        var nested = partition.subsetB().subgraph(Set.of(2, 6, 7));
+
+        assertThat(partition.subsetB().degreeOf(6)).isEqualTo(3);
+        assertThat(partition.subsetB().edgesOf(6)).containsExactlyInAnyOrder(grid.getEdge(2, 6),
+                grid.getEdge(6, 7), grid.getEdge(6, 10));
+        assertThat(nested.degreeOf(6)).isEqualTo(2);
+        assertThat(nested.edgesOf(6)).containsExactlyInAnyOrder(grid.getEdge(2, 6), grid.getEdge(6, 7));
+        assertThat(nested.degreeOf(2)).isEqualTo(1);
+        assertThat(nested.edgeSet()).hasSize(2);
+    }
+
+    @Test
+    void shouldIndexMembersOfViewOverCsrGraphByPosition() {
+        Graph<Integer, DefaultEdge> grid = createGrid();
+        var csrGraph = CsrGraph.of(grid, VertexIndex.identity(grid.vertexSet().size())).asGraph();
+
+        var index = InducedSubgraphView.of(csrGraph, List.of(7, 2, 5)).vertexIndex();
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(IntStream.range(0, 3).mapToObj(index::vertex)).containsExactly(7, 2, 5);
+        assertThat(index.indexOf(5)).isEqualTo(2);
+        assertThat(index.indexOf(3)).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldTellMembersOfSparseView() {
+        Graph<Integer, DefaultEdge> grid = new SimpleGraph<>(SupplierUtil.createIntegerSupplier(),
+                SupplierUtil.createDefaultEdgeSupplier(), false);
+        new GridGraphGenerator<Integer, DefaultEdge>(100, 100).generateGraph(grid);
+        Set<Integer> members = grid.vertexSet().stream().filter(v -> v % 2 == 0).collect(Collectors.toSet());
+
+        var view = InducedSubgraphView.of(grid, members);
+
+        assertThat(grid.vertexSet()).allSatisfy(v -> assertThat(view.containsVertex(v)).isEqualTo(v % 2 == 0));
+        assertThat(view.edgeSet()).hasSize(50 * 99).allSatisfy(edge -> assertThat(members)
+                .contains(grid.getEdgeSource(edge), grid.getEdgeTarget(edge)));
+    }
+
+    /**
+     * Grid with rows {@code 0 1 2 3}, {@code 4 5 6 7} and {@code 8 9 10 11}
+     */
+    private static Graph<Integer, DefaultEdge> createGrid() {
+        Graph<Integer, DefaultEdge> grid = new SimpleGraph<>(SupplierUtil.createIntegerSupplier(),
+                SupplierUtil.createDefaultEdgeSupplier(), false);
+        new GridGraphGenerator<Integer, DefaultEdge>(3, 4).generateGraph(grid);
+        return grid;
+    }
+}
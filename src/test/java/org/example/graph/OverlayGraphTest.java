@@ -0,0 +1,86 @@
+package org.example.graph;
+
+import org.jgrapht.Graph;
+import org.jgrapht.generate.GridGraphGenerator;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.SimpleGraph;
+import org.jgrapht.util.SupplierUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OverlayGraphTest {
+
+    @Test
+    void shouldSeeUnionWithoutModifyingBase() {
+        Graph<Integer, DefaultEdge> grid = createGrid();
+        var overlay = new OverlayGraph<>(grid, SupplierUtil.createDefaultEdgeSupplier());
+
+        DefaultEdge diagonal = overlay.addEdge(0, 5);
+
+        assertThat(grid.containsEdge(0, 5)).isFalse();
+        assertThat(grid.edgeSet()).hasSize(24);
+        assertThat(overlay.edgeSet()).hasSize(25).contains(diagonal).containsAll(grid.edgeSet());
+        assertThat(overlay.getEdge(5, 0)).isSameAs(diagonal);
+        assertThat(overlay.getEdgeSource(diagonal)).isZero();
+        assertThat(overlay.getEdgeTarget(diagonal)).isEqualTo(5);
+        assertThat(overlay.degreeOf(0)).isEqualTo(3);
+        assertThat(overlay.edgesOf(0)).containsExactlyInAnyOrder(grid.getEdge(0, 1), grid.getEdge(0, 4), diagonal);
+        assertThat(overlay.getAddedEdges()).containsExactly(diagonal);
+    }
+
+    @Test
+    void shouldNotAddEdgeBetweenAdjacentVertices() {
+        Graph<Integer, DefaultEdge> grid = createGrid();
+        var overlay = new OverlayGraph<>(grid, SupplierUtil.createDefaultEdgeSupplier());
+        overlay.addEdge(1, 4);
+
+        assertThat(overlay.addEdge(0, 1)).isNull();
+        assertThat(overlay.addEdge(4, 1)).isNull();
+        assertThat(overlay.edgeSet()).hasSize(25);
+    }
+
+    @Test
+    void shouldOverlayViewWithOwnEdgeType() {
+        Graph<Integer, DefaultEdge> grid = createGrid();
+        var view = InducedSubgraphView.of(grid, Set.of(0, 1, 4, 5));
+        OverlayGraph<Integer, Object> overlay = new OverlayGraph<>(view, Object::new);
+
+        Object diagonal = overlay.addEdge(1, 4);
+
+        assertThat(overlay.edgeSet()).hasSize(5).contains(diagonal, grid.getEdge(0, 1));
+        assertThat(overlay.getEdgeSource(grid.getEdge(4, 5))).isEqualTo(4);
+        assertThatThrownBy(() -> overlay.addEdge(0, 2)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> overlay.removeEdge(diagonal)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void shouldNotPassForeignEdgesToBaseWithOtherEdgeType() {
+        Graph<Integer, DefaultEdge> grid = createGrid();
+        var csrGraph = CsrGraph.of(grid, VertexIndex.identity(grid.vertexSet().size())).asGraph();
+        OverlayGraph<Integer, Object> overlay = new OverlayGraph<>(InducedSubgraphView.of(csrGraph, Set.of(0, 1, 4, 5)),
+                Object::new);
+        Object diagonal = overlay.addEdge(1, 4);
+        Object foreign = new Object();
+
+        assertThat(overlay.containsEdge(foreign)).isFalse();
+        assertThat(overlay.edgeSet()).doesNotContain(foreign).contains(diagonal, csrGraph.getEdge(0, 1));
+        assertThat(overlay.edgesOf(1)).doesNotContain(foreign).contains(diagonal);
+        assertThat(overlay.addEdge(0, 5, foreign)).isTrue();
+        assertThat(overlay.getEdgeTarget(foreign)).isEqualTo(5);
+        assertThatThrownBy(() -> overlay.getEdgeSource(new Object())).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * 4x4 grid, vertex v has right neighbor v + 1 and lower neighbor v + 4
+     */
+    private static Graph<Integer, DefaultEdge> createGrid() {
+        Graph<Integer, DefaultEdge> grid = new SimpleGraph<>(SupplierUtil.createIntegerSupplier(),
+                SupplierUtil.createDefaultEdgeSupplier(), false);
+        new GridGraphGenerator<Integer, DefaultEdge>(4, 4).generateGraph(grid);
+        return grid;
+    }
+}